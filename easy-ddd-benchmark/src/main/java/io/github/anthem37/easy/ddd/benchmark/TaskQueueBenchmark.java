@@ -0,0 +1,130 @@
+package io.github.anthem37.easy.ddd.benchmark;
+
+import io.github.anthem37.easy.ddd.infrastructure.executor.MpmcArrayBlockingQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 执行器任务队列基准测试：链表阻塞队列与无锁 MPMC 队列对比
+ *
+ * <ul>
+ *   <li>{@code queue}：4个生产者线程 offer、4个消费者线程 poll，队列满或空时自旋重试，衡量队列本身的吞吐</li>
+ *   <li>{@code executor}：单个提交线程向线程池提交一批空任务并等待全部执行，衡量线程池中的端到端开销（含消费者挂起与唤醒）</li>
+ * </ul>
+ *
+ * <p>运行：{@code mvn -Pbenchmark -pl easy-ddd-benchmark -am package && java -jar easy-ddd-benchmark/target/benchmarks.jar TaskQueueBenchmark}</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 23:12:40
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class TaskQueueBenchmark {
+
+    private static final int CAPACITY = 1024;
+    private static final int EXECUTOR_BATCH = 1000;
+    private static final Runnable TASK = () -> {
+    };
+
+    @Param({"LINKED", "LOCK_FREE"})
+    private String queueType;
+
+    private BlockingQueue<Runnable> queue;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        queue = createQueue(queueType, CAPACITY);
+    }
+
+    static BlockingQueue<Runnable> createQueue(String queueType, int capacity) {
+        return "LOCK_FREE".equals(queueType) ? new MpmcArrayBlockingQueue(capacity) : new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Benchmark
+    @Group("queue")
+    @GroupThreads(4)
+    public boolean offer(Control control) {
+        while (!queue.offer(TASK)) {
+            if (control.stopMeasurement) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    @Benchmark
+    @Group("queue")
+    @GroupThreads(4)
+    public Runnable poll(Control control) {
+        Runnable task;
+        while ((task = queue.poll()) == null) {
+            if (control.stopMeasurement) {
+                return null;
+            }
+            Thread.onSpinWait();
+        }
+        return task;
+    }
+
+    /**
+     * 线程池端到端基准的状态，每个线程池4个线程
+     */
+    @State(Scope.Benchmark)
+    public static class ExecutorState {
+
+        @Param({"LINKED", "LOCK_FREE"})
+        private String queueType;
+
+        private ThreadPoolExecutor executor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            executor = new ThreadPoolExecutor(4, 4, 60, TimeUnit.SECONDS, createQueue(queueType, CAPACITY), new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.prestartAllCoreThreads();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Benchmark
+    @Group("executor")
+    @OperationsPerInvocation(EXECUTOR_BATCH)
+    public void submit(ExecutorState state) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(EXECUTOR_BATCH);
+        Runnable task = latch::countDown;
+        for (int i = 0; i < EXECUTOR_BATCH; i++) {
+            state.executor.execute(task);
+        }
+        latch.await();
+    }
+}
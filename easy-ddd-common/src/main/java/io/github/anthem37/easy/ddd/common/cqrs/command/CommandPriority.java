@@ -0,0 +1,23 @@
+package io.github.anthem37.easy.ddd.common.cqrs.command;
+
+/**
+ * 命令优先级
+ * 异步执行的命令在执行器中排队时按优先级出队，低优先级命令随等待时间逐步提升，不会被饿死
+ *
+ * @author anthem37
+ * @since 2026/10/19 21:55:30
+ */
+public enum CommandPriority {
+    /**
+     * 高优先级，如面向用户的交易类命令
+     */
+    HIGH,
+    /**
+     * 普通优先级
+     */
+    NORMAL,
+    /**
+     * 低优先级，如后台批量处理命令
+     */
+    LOW
+}
@@ -1,5 +1,7 @@
 package io.github.anthem37.easy.ddd.common.cqrs.command;
 
+import java.time.Instant;
+
 /**
  * 命令标记接口
  * 命令用于改变系统状态
@@ -19,4 +21,35 @@ public interface ICommand<R> {
     default boolean isValid() {
         return true;
     }
+
+    /**
+     * 是否允许在并发冲突时自动重试
+     * 只有幂等、且每次执行都会重新加载聚合的命令才应返回true
+     *
+     * @return true表示发生乐观锁冲突时由命令总线自动重试
+     */
+    default boolean isRetryable() {
+        return false;
+    }
+
+    /**
+     * 命令优先级
+     * 异步发送时决定命令在命令执行器队列中的出队顺序
+     *
+     * @return 命令优先级，默认为普通优先级
+     */
+    default CommandPriority getPriority() {
+        return CommandPriority.NORMAL;
+    }
+
+    /**
+     * 开始处理的截止时间
+     * 异步发送且执行器启用截止时间感知的准入控制时，排队超过该时间仍未开始的命令不再执行，
+     * 返回的 Future 以负载卸除异常完成
+     *
+     * @return 截止时间，默认为null，表示使用执行器的最大排队时间
+     */
+    default Instant getDeadline() {
+        return null;
+    }
 }
@@ -1,5 +1,7 @@
 package io.github.anthem37.easy.ddd.common.cqrs.command;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -27,6 +29,24 @@ public interface ICommandBus {
      */
     <R> CompletableFuture<R> sendAsync(ICommand<R> command);
 
+    /**
+     * 批量发送命令
+     *
+     * <p>每个命令对应一个结果 Future。默认逐个异步发送，实现类可按处理器合并为批量处理以减少分发开销；
+     * 处理器声明支持批量处理时，同一批次的命令整体成功或整体失败。</p>
+     *
+     * @param commands 命令列表
+     * @param <R>      命令执行结果类型
+     * @return 与命令列表一一对应的结果 Future
+     */
+    default <R> List<CompletableFuture<R>> sendBatch(List<? extends ICommand<? extends R>> commands) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(commands.size());
+        for (ICommand<? extends R> command : commands) {
+            futures.add(sendAsync(command).thenApply(result -> result));
+        }
+        return futures;
+    }
+
     /**
      * 获取已注册的处理器数量
      *
@@ -1,5 +1,8 @@
 package io.github.anthem37.easy.ddd.common.cqrs.command;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 命令处理器接口
  *
@@ -18,6 +21,35 @@ public interface ICommandHandler<C extends ICommand<R>, R> {
      */
     R handle(C command);
 
+    /**
+     * 是否支持批量处理
+     *
+     * <p>返回 true 时总线以 {@link #handleBatch(List)} 一次处理一批命令，
+     * 否则逐个调用 {@link #handle(ICommand)}，各命令的成败互不影响。</p>
+     *
+     * @return 是否支持批量处理
+     */
+    default boolean supportsBatch() {
+        return false;
+    }
+
+    /**
+     * 批量处理命令
+     *
+     * <p>覆写时应保证整批命令整体成功或整体失败（例如在同一事务中处理），
+     * 并按命令顺序返回结果。批量处理不参与并发冲突重试。</p>
+     *
+     * @param commands 要处理的命令
+     * @return 与命令一一对应的处理结果
+     */
+    default List<R> handleBatch(List<C> commands) {
+        List<R> results = new ArrayList<>(commands.size());
+        for (C command : commands) {
+            results.add(handle(command));
+        }
+        return results;
+    }
+
     /**
      * 获取支持的命令类型
      *
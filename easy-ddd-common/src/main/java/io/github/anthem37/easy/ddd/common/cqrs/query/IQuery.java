@@ -1,5 +1,7 @@
 package io.github.anthem37.easy.ddd.common.cqrs.query;
 
+import java.time.Instant;
+
 /**
  * 查询标记接口
  * 查询用于获取数据，不改变系统状态
@@ -19,4 +21,15 @@ public interface IQuery<R> {
     default boolean isValid() {
         return true;
     }
+
+    /**
+     * 开始处理的截止时间
+     * 异步发送且执行器启用截止时间感知的准入控制时，排队超过该时间仍未开始的查询不再执行，
+     * 返回的 Future 以负载卸除异常完成
+     *
+     * @return 截止时间，默认为null，表示使用执行器的最大排队时间
+     */
+    default Instant getDeadline() {
+        return null;
+    }
 }
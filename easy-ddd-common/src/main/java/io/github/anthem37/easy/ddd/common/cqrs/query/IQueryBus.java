@@ -1,5 +1,10 @@
 package io.github.anthem37.easy.ddd.common.cqrs.query;
 
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -29,6 +34,89 @@ public interface IQueryBus {
      */
     <R> CompletableFuture<R> sendAsync(IQuery<R> query);
 
+    /**
+     * 批量发送查询
+     *
+     * <p>每个查询对应一个结果 Future，单个查询失败不影响其他查询。
+     * 默认逐个异步发送，实现类可按处理器合并为批量处理以减少分发开销。</p>
+     *
+     * @param queries 查询列表
+     * @param <R>     查询结果类型
+     * @return 与查询列表一一对应的结果 Future
+     */
+    default <R> List<CompletableFuture<R>> sendBatch(List<? extends IQuery<? extends R>> queries) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(queries.size());
+        for (IQuery<? extends R> query : queries) {
+            futures.add(sendAsync(query).thenApply(result -> result));
+        }
+        return futures;
+    }
+
+    /**
+     * 并发发送多个相互独立的查询，在共享的截止时间内汇总结果（scatter-gather）
+     *
+     * <p>全部查询同时分发，截止时间从调用时开始计算；到达截止时间仍未完成的查询被取消并记为超时，
+     * 单个查询失败或超时不影响其他查询的结果。
+     * 默认通过 {@link #sendAsync(IQuery)} 分发，取消只放弃等待；实现类可在取消时中断正在执行的查询。</p>
+     *
+     * @param queries 查询列表
+     * @param timeout 截止时间
+     * @param <R>     查询结果类型
+     * @return 全部查询结束或到达截止时间后完成的汇总结果
+     */
+    default <R> CompletableFuture<QueryGatherResult<R>> sendAllAsync(List<? extends IQuery<? extends R>> queries, Duration timeout) {
+        Assert.notNull(queries, "查询列表不能为空");
+        List<CompletableFuture<R>> futures = new ArrayList<>(queries.size());
+        for (IQuery<? extends R> query : queries) {
+            try {
+                futures.add(sendAsync(query).thenApply(result -> result));
+            } catch (Exception e) {
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        return QueryGatherResult.gather(futures, timeout);
+    }
+
+    /**
+     * 并发发送多个相互独立的查询，阻塞到全部查询结束或到达截止时间
+     *
+     * @param queries 查询列表
+     * @param timeout 截止时间
+     * @param <R>     查询结果类型
+     * @return 汇总结果，包含成功查询的部分结果以及失败、超时查询的原因
+     * @see #sendAllAsync(List, Duration)
+     */
+    default <R> QueryGatherResult<R> sendAll(List<? extends IQuery<? extends R>> queries, Duration timeout) {
+        return this.<R>sendAllAsync(queries, timeout).join();
+    }
+
+    /**
+     * 并发发送两个不同类型的查询
+     *
+     * @param first   第一个查询
+     * @param second  第二个查询
+     * @param timeout 截止时间
+     * @return 按查询类型区分的结果
+     * @see #sendAllAsync(List, Duration)
+     */
+    default <A, B> QueryTuple2<A, B> sendAll(IQuery<A> first, IQuery<B> second, Duration timeout) {
+        return new QueryTuple2<>(this.<Object>sendAll(List.of(first, second), timeout));
+    }
+
+    /**
+     * 并发发送三个不同类型的查询
+     *
+     * @param first   第一个查询
+     * @param second  第二个查询
+     * @param third   第三个查询
+     * @param timeout 截止时间
+     * @return 按查询类型区分的结果
+     * @see #sendAllAsync(List, Duration)
+     */
+    default <A, B, C> QueryTuple3<A, B, C> sendAll(IQuery<A> first, IQuery<B> second, IQuery<C> third, Duration timeout) {
+        return new QueryTuple3<>(this.<Object>sendAll(List.of(first, second, third), timeout));
+    }
+
     /**
      * 获取已注册的处理器数量
      *
@@ -1,5 +1,8 @@
 package io.github.anthem37.easy.ddd.common.cqrs.query;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 查询处理器接口
  *
@@ -15,6 +18,32 @@ public interface IQueryHandler<Q extends IQuery<R>, R> {
      */
     R handle(Q query);
 
+    /**
+     * 是否支持批量处理
+     *
+     * <p>返回 true 时总线以 {@link #handleBatch(List)} 一次处理一批查询（例如合并为一条 IN 查询），
+     * 否则逐个调用 {@link #handle(IQuery)}。</p>
+     *
+     * @return 是否支持批量处理
+     */
+    default boolean supportsBatch() {
+        return false;
+    }
+
+    /**
+     * 批量处理查询
+     *
+     * @param queries 要处理的查询
+     * @return 与查询一一对应的查询结果
+     */
+    default List<R> handleBatch(List<Q> queries) {
+        List<R> results = new ArrayList<>(queries.size());
+        for (Q query : queries) {
+            results.add(handle(query));
+        }
+        return results;
+    }
+
     /**
      * 获取支持的命令类型
      *
@@ -0,0 +1,210 @@
+package io.github.anthem37.easy.ddd.common.cqrs.query;
+
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
+import io.github.anthem37.easy.ddd.common.exception.QueryGatherException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并发查询（scatter-gather）的汇总结果
+ *
+ * <p>与查询列表一一对应地记录每个查询的结果状态：成功、失败或在截止时间前未完成（已取消）。
+ * 部分查询失败时仍可读取其余查询的结果，需要全部成功时调用 {@link #getResultsOrThrow()}。</p>
+ *
+ * @param <R> 查询结果类型
+ * @author anthem37
+ * @since 2026/10/19 21:36:12
+ */
+public class QueryGatherResult<R> {
+
+    /**
+     * 单个查询的结果状态
+     */
+    public enum Status {
+        /**
+         * 执行成功
+         */
+        SUCCEEDED,
+        /**
+         * 执行失败
+         */
+        FAILED,
+        /**
+         * 截止时间前未完成，已取消
+         */
+        TIMED_OUT
+    }
+
+    private final List<R> results;
+    private final List<Throwable> errors;
+    private final List<Status> statuses;
+
+    private QueryGatherResult(List<R> results, List<Throwable> errors, List<Status> statuses) {
+        this.results = Collections.unmodifiableList(results);
+        this.errors = Collections.unmodifiableList(errors);
+        this.statuses = Collections.unmodifiableList(statuses);
+    }
+
+    /**
+     * 在共享的截止时间内等待全部查询，截止时仍未完成的查询被取消并记为超时
+     *
+     * @param futures 与查询一一对应的结果 Future
+     * @param timeout 从调用时开始计算的截止时间
+     * @param <R>     查询结果类型
+     * @return 全部查询结束或到达截止时间后完成的汇总结果
+     */
+    public static <R> CompletableFuture<QueryGatherResult<R>> gather(List<CompletableFuture<R>> futures, Duration timeout) {
+        Assert.notNull(futures, "查询结果列表不能为空");
+        Assert.notNull(timeout, "截止时间不能为空");
+        Assert.isFalse(timeout.isNegative(), "截止时间不能为负数");
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .handle((ignored, error) -> (Void) null)
+                .completeOnTimeout(null, timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .thenApply(ignored -> collect(futures));
+    }
+
+    private static <R> QueryGatherResult<R> collect(List<CompletableFuture<R>> futures) {
+        List<R> results = new ArrayList<>(futures.size());
+        List<Throwable> errors = new ArrayList<>(futures.size());
+        List<Status> statuses = new ArrayList<>(futures.size());
+        for (CompletableFuture<R> future : futures) {
+            // 先取消再读取状态：取消失败说明查询恰好已完成
+            future.cancel(true);
+            switch (future.state()) {
+                case SUCCESS -> {
+                    results.add(future.resultNow());
+                    errors.add(null);
+                    statuses.add(Status.SUCCEEDED);
+                }
+                case FAILED -> {
+                    results.add(null);
+                    errors.add(future.exceptionNow());
+                    statuses.add(Status.FAILED);
+                }
+                default -> {
+                    results.add(null);
+                    errors.add(new CancellationException("查询在截止时间前未完成，已取消"));
+                    statuses.add(Status.TIMED_OUT);
+                }
+            }
+        }
+        return new QueryGatherResult<>(results, errors, statuses);
+    }
+
+    /**
+     * 查询数量
+     */
+    public int size() {
+        return statuses.size();
+    }
+
+    /**
+     * 获取查询的结果状态
+     *
+     * @param index 查询在列表中的位置
+     */
+    public Status getStatus(int index) {
+        return statuses.get(index);
+    }
+
+    /**
+     * 查询是否成功
+     *
+     * @param index 查询在列表中的位置
+     */
+    public boolean isSucceeded(int index) {
+        return statuses.get(index) == Status.SUCCEEDED;
+    }
+
+    /**
+     * 是否全部查询都成功
+     */
+    public boolean isAllSucceeded() {
+        return !statuses.contains(Status.FAILED) && !statuses.contains(Status.TIMED_OUT);
+    }
+
+    /**
+     * 指定状态的查询数量
+     */
+    public int count(Status status) {
+        return Collections.frequency(statuses, status);
+    }
+
+    /**
+     * 获取成功查询的结果
+     *
+     * @param index 查询在列表中的位置
+     * @return 查询结果
+     * @throws QueryGatherException 该查询失败或超时
+     */
+    public R getResult(int index) {
+        if (!isSucceeded(index)) {
+            throw new QueryGatherException("第 " + index + " 个查询未成功: " + describe(index), this);
+        }
+        return results.get(index);
+    }
+
+    /**
+     * 获取查询结果，查询失败或超时时返回默认值
+     *
+     * @param index        查询在列表中的位置
+     * @param defaultValue 默认值
+     */
+    public R getResultOrDefault(int index, R defaultValue) {
+        return isSucceeded(index) ? results.get(index) : defaultValue;
+    }
+
+    /**
+     * 获取查询失败的原因，成功的查询返回null
+     *
+     * @param index 查询在列表中的位置
+     */
+    public Throwable getError(int index) {
+        return errors.get(index);
+    }
+
+    /**
+     * 获取部分结果：与查询一一对应，失败或超时的位置为null
+     */
+    public List<R> getResults() {
+        return results;
+    }
+
+    /**
+     * 获取全部结果，存在失败或超时的查询时抛出异常
+     *
+     * @return 与查询一一对应的结果
+     * @throws QueryGatherException 存在失败或超时的查询
+     */
+    public List<R> getResultsOrThrow() {
+        if (!isAllSucceeded()) {
+            throw new QueryGatherException("并发查询未全部成功: " + this, this);
+        }
+        return results;
+    }
+
+    private String describe(int index) {
+        Throwable error = errors.get(index);
+        return statuses.get(index) + (error == null ? "" : " - " + error.getMessage());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("成功 ").append(count(Status.SUCCEEDED))
+                .append(", 失败 ").append(count(Status.FAILED))
+                .append(", 超时 ").append(count(Status.TIMED_OUT));
+        for (int i = 0; i < statuses.size(); i++) {
+            if (!isSucceeded(i)) {
+                builder.append("; [").append(i).append("] ").append(describe(i));
+            }
+        }
+        return builder.toString();
+    }
+}
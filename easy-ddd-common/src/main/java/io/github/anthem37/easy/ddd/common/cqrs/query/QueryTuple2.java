@@ -0,0 +1,49 @@
+package io.github.anthem37.easy.ddd.common.cqrs.query;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 两个不同类型查询的并发结果
+ *
+ * @param <A> 第一个查询的结果类型
+ * @param <B> 第二个查询的结果类型
+ * @author anthem37
+ * @since 2026/10/19 21:41:27
+ */
+@RequiredArgsConstructor
+public class QueryTuple2<A, B> {
+
+    /**
+     * 汇总结果，可用于读取状态与失败原因
+     */
+    @Getter
+    private final QueryGatherResult<Object> gatherResult;
+
+    /**
+     * 第一个查询的结果
+     *
+     * @throws io.github.anthem37.easy.ddd.common.exception.QueryGatherException 该查询失败或超时
+     */
+    @SuppressWarnings("unchecked")
+    public A getFirst() {
+        return (A) gatherResult.getResult(0);
+    }
+
+    /**
+     * 第二个查询的结果
+     *
+     * @throws io.github.anthem37.easy.ddd.common.exception.QueryGatherException 该查询失败或超时
+     */
+    @SuppressWarnings("unchecked")
+    public B getSecond() {
+        return (B) gatherResult.getResult(1);
+    }
+
+    /**
+     * 是否全部查询都成功
+     */
+    public boolean isAllSucceeded() {
+        return gatherResult.isAllSucceeded();
+    }
+}
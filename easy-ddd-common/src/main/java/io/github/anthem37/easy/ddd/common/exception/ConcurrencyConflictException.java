@@ -0,0 +1,56 @@
+package io.github.anthem37.easy.ddd.common.exception;
+
+import lombok.Getter;
+
+import java.io.Serial;
+
+/**
+ * 并发冲突异常
+ * 用于表示乐观锁版本校验失败，即聚合在读取之后已被其他事务修改
+ *
+ * @author anthem37
+ * @since 2026/10/19 09:12:43
+ */
+@Getter
+public class ConcurrencyConflictException extends BusinessException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 错误码
+     */
+    public static final String ERROR_CODE = "CONCURRENCY_CONFLICT";
+
+    /**
+     * 发生冲突的聚合标识
+     */
+    private final transient Object aggregateId;
+
+    /**
+     * 更新时期望的版本号
+     */
+    private final Long expectedVersion;
+
+    /**
+     * 构造函数
+     *
+     * @param message 异常消息
+     */
+    public ConcurrencyConflictException(String message) {
+        this(message, null, null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param message         异常消息
+     * @param aggregateId     聚合标识
+     * @param expectedVersion 期望的版本号
+     */
+    public ConcurrencyConflictException(String message, Object aggregateId, Long expectedVersion) {
+        super(ERROR_CODE, message);
+        this.aggregateId = aggregateId;
+        this.expectedVersion = expectedVersion;
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.anthem37.easy.ddd.common.exception;
+
+import lombok.Getter;
+
+import java.io.Serial;
+
+/**
+ * 负载卸除异常
+ * 用于表示异步任务因过载被丢弃而未执行，调用方可据此快速失败或降级，而不是继续等待
+ *
+ * @author anthem37
+ * @since 2026/10/19 22:31:07
+ */
+@Getter
+public class LoadSheddingException extends BusinessException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 错误码
+     */
+    public static final String ERROR_CODE = "LOAD_SHED";
+
+    /**
+     * 丢弃原因
+     */
+    private final Reason reason;
+
+    /**
+     * 任务被丢弃前的排队时间（纳秒），提交时即被拒绝的任务为0
+     */
+    private final long queuedNanos;
+
+    /**
+     * 构造函数
+     *
+     * @param reason      丢弃原因
+     * @param queuedNanos 任务被丢弃前的排队时间（纳秒）
+     */
+    public LoadSheddingException(Reason reason, long queuedNanos) {
+        super(ERROR_CODE, "任务因过载被丢弃: " + reason + ", 排队 " + queuedNanos / 1_000_000 + "ms");
+        this.reason = reason;
+        this.queuedNanos = queuedNanos;
+    }
+
+    /**
+     * 丢弃原因
+     */
+    public enum Reason {
+        /**
+         * 排队超过任务的截止时间
+         */
+        DEADLINE_EXPIRED,
+        /**
+         * 队列持续积压，按排队时间目标主动丢弃
+         */
+        QUEUE_DELAY,
+        /**
+         * 队列已满，提交时被拒绝
+         */
+        QUEUE_FULL
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.anthem37.easy.ddd.common.exception;
+
+import io.github.anthem37.easy.ddd.common.cqrs.query.QueryGatherResult;
+import lombok.Getter;
+
+import java.io.Serial;
+
+/**
+ * 并发查询失败异常
+ * 用于表示并发查询中存在失败或超时的查询，携带完整的汇总结果以便读取部分结果
+ *
+ * @author anthem37
+ * @since 2026/10/19 21:38:50
+ */
+@Getter
+public class QueryGatherException extends BusinessException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 错误码
+     */
+    public static final String ERROR_CODE = "QUERY_GATHER_FAILED";
+
+    /**
+     * 并发查询的汇总结果
+     */
+    private final transient QueryGatherResult<?> result;
+
+    /**
+     * 构造函数
+     *
+     * @param message 异常消息
+     * @param result  并发查询的汇总结果
+     */
+    public QueryGatherException(String message, QueryGatherResult<?> result) {
+        super(ERROR_CODE, message);
+        this.result = result;
+    }
+}
@@ -0,0 +1,252 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import io.github.anthem37.easy.ddd.common.exception.BizFlowException;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Context;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.GenericNode;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Result;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 一个窗口内多个上下文的分层批量执行
+ *
+ * <p>按拓扑序逐个节点推进窗口内的全部上下文：</p>
+ * <ul>
+ *   <li>收集该节点被激活且尚未失败的上下文</li>
+ *   <li>命令与查询节点先为每个上下文构建消息，再通过总线 sendBatch 一次发送；
+ *   其余节点为每个上下文提交到虚拟线程并发执行，同时执行的数量不超过窗口大小，
+ *   不能批量发送的命令节点仍在调用线程逐个执行，保持在调用方的事务中</li>
+ *   <li>每个上下文独立记录结果、激活出边；单个上下文失败只影响它自己</li>
+ * </ul>
+ *
+ * <p>节点在全部前驱处理完后才会处理，激活规则与并行执行一致：至少一条入边条件成立即执行。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 18:12:40
+ */
+final class BatchFlowExecution {
+
+    private final BizFlowPlan plan;
+    private final List<Context> contexts;
+
+    /**
+     * 每个上下文本次运行的开始时刻，流程整体时限从该时刻起算
+     */
+    private final long[] startedAts;
+    private final LocalDateTime startTime;
+    private final ExecutionRecorder[] recorders;
+
+    /**
+     * 每个上下文中每个节点是否被激活
+     */
+    private final boolean[][] activated;
+
+    /**
+     * 每个上下文的失败信息，为null表示尚未失败
+     */
+    private final String[] errors;
+
+    /**
+     * 每个上下文的结果存活计数，未启用结果保留模式时为null
+     */
+    private final ResultRetention[] retentions;
+
+    BatchFlowExecution(BizFlowPlan plan, List<Context> contexts, long[] startedAts, ExecutionRecorder[] recorders) {
+        this.plan = plan;
+        this.contexts = contexts;
+        this.startedAts = startedAts;
+        this.startTime = LocalDateTime.now();
+        this.recorders = recorders;
+        this.activated = new boolean[contexts.size()][plan.getNodeCount()];
+        this.errors = new String[contexts.size()];
+        this.retentions = plan.isRetentionEnabled() ? new ResultRetention[contexts.size()] : null;
+        if (retentions != null) {
+            for (int c = 0; c < contexts.size(); c++) {
+                retentions[c] = plan.newRetention(contexts.get(c));
+            }
+        }
+    }
+
+    /**
+     * 执行窗口内的全部上下文
+     *
+     * @return 与上下文一一对应的执行结果
+     */
+    List<Result> run() {
+        for (boolean[] nodes : activated) {
+            for (int entry : plan.entryNodes()) {
+                nodes[entry] = true;
+            }
+        }
+        for (int index : plan.topologicalIndexes()) {
+            List<Integer> members = new ArrayList<>();
+            for (int c = 0; c < contexts.size(); c++) {
+                if (errors[c] == null && activated[c][index]) {
+                    members.add(c);
+                }
+            }
+            if (!members.isEmpty()) {
+                runNode(index, members);
+            }
+            if (retentions != null) {
+                // 按拓扑序推进，本节点此后不会再执行，执行过或被跳过都已结束
+                for (int c = 0; c < contexts.size(); c++) {
+                    if (errors[c] == null) {
+                        retentions[c].nodeResolved(index);
+                    }
+                }
+            }
+        }
+
+        List<Result> results = new ArrayList<>(contexts.size());
+        LocalDateTime endTime = LocalDateTime.now();
+        for (int c = 0; c < contexts.size(); c++) {
+            ExecutionRecorder recorder = recorders[c];
+            if (errors[c] == null) {
+                plan.finishCheckpoint(contexts.get(c));
+                results.add(Result.success(plan.getId(), startTime, endTime, plan.resultsOf(contexts.get(c)), recorder.nodeExecutions(), recorder.takenEdges()));
+            } else {
+                results.add(Result.failure(plan.getId(), errors[c], startTime, endTime, recorder.nodeExecutions(), recorder.takenEdges()));
+            }
+        }
+        return results;
+    }
+
+    private void runNode(int index, List<Integer> members) {
+        GenericNode node = plan.node(index);
+        int size = members.size();
+        long[] starts = new long[size];
+        long[] budgets = new long[size];
+        List<CompletableFuture<Object>> futures = new ArrayList<>(size);
+
+        if (node.isBatchable()) {
+            // 先逐个构建消息，构建失败的上下文不参与发送
+            List<Object> messages = new ArrayList<>(size);
+            List<Integer> sendSlots = new ArrayList<>(size);
+            for (int m = 0; m < size; m++) {
+                Context context = contexts.get(members.get(m));
+                starts[m] = recorders[members.get(m)].now();
+                budgets[m] = plan.budgetNanos(index, context, startedAts[members.get(m)]);
+                futures.add(null);
+                if (budgets[m] <= 0) {
+                    futures.set(m, CompletableFuture.failedFuture(new TimeoutException()));
+                    continue;
+                }
+                try {
+                    messages.add(node.buildMessage(context));
+                    sendSlots.add(m);
+                } catch (Exception e) {
+                    futures.set(m, CompletableFuture.failedFuture(e));
+                }
+            }
+            if (!messages.isEmpty()) {
+                List<CompletableFuture<Object>> sent;
+                try {
+                    sent = node.sendBatch(messages);
+                } catch (Exception e) {
+                    sent = new ArrayList<>(messages.size());
+                    for (int i = 0; i < messages.size(); i++) {
+                        sent.add(CompletableFuture.failedFuture(e));
+                    }
+                }
+                // 返回数量不符时只有缺少结果的上下文失败，已有结果的上下文照常推进
+                for (int i = 0; i < sendSlots.size(); i++) {
+                    CompletableFuture<Object> future = sent != null && i < sent.size() ? sent.get(i) : null;
+                    futures.set(sendSlots.get(i), future != null ? future : CompletableFuture.failedFuture(
+                            new BizFlowException("批量发送未返回该消息的结果: " + node.getId() + ", 消息数: " + messages.size() + ", 结果数: " + (sent == null ? 0 : sent.size()))));
+                }
+            }
+        } else {
+            for (int m = 0; m < size; m++) {
+                Context context = contexts.get(members.get(m));
+                starts[m] = recorders[members.get(m)].now();
+                budgets[m] = plan.budgetNanos(index, context, startedAts[members.get(m)]);
+                if (node.isAsync() || !node.isCommand()) {
+                    futures.add(plan.invokeAsync(node, context, budgets[m]));
+                    continue;
+                }
+                try {
+                    futures.add(CompletableFuture.completedFuture(plan.invoke(node, context, budgets[m])));
+                } catch (Exception e) {
+                    futures.add(CompletableFuture.failedFuture(e));
+                }
+            }
+        }
+
+        // 发送时刻作为时限起点，逐个等待；命令已发送后不再限时，等待其执行完
+        long dispatchedAt = System.nanoTime();
+        for (int m = 0; m < size; m++) {
+            long budget = node.isCommand() ? Long.MAX_VALUE : budgets[m];
+            complete(index, members.get(m), starts[m], await(futures.get(m), budget, dispatchedAt));
+        }
+    }
+
+    private Outcome await(CompletableFuture<Object> future, long budgetNanos, long dispatchedAt) {
+        try {
+            if (budgetNanos == Long.MAX_VALUE) {
+                return new Outcome(future.join(), null);
+            }
+            long remaining = budgetNanos - (System.nanoTime() - dispatchedAt);
+            return new Outcome(future.get(Math.max(0L, remaining), TimeUnit.NANOSECONDS), null);
+        } catch (CompletionException | ExecutionException e) {
+            return new Outcome(null, e.getCause() != null ? e.getCause() : e);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return new Outcome(null, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Outcome(null, e);
+        }
+    }
+
+    private void complete(int index, int c, long start, Outcome outcome) {
+        Context context = contexts.get(c);
+        ExecutionRecorder recorder = recorders[c];
+        GenericNode node = plan.node(index);
+
+        if (outcome.error instanceof TimeoutException) {
+            long elapsed = recorder.now() - start;
+            recorder.nodeFinished(index, start, true);
+            if (!plan.hasTimeoutEdges(index)) {
+                errors[c] = BizFlowPlan.timeoutMessage(node.getId(), elapsed);
+                return;
+            }
+            for (int edge : plan.outgoing(index)) {
+                if (plan.edge(edge).timeoutEdge) {
+                    recorder.edgeTaken(edge);
+                    activated[c][plan.edgeTarget(edge)] = true;
+                }
+            }
+            return;
+        }
+
+        try {
+            if (outcome.error != null) {
+                throw outcome.error;
+            }
+            context.setResultAt(index, outcome.value);
+            recorder.nodeFinished(index, start, false);
+            for (int edge : plan.outgoing(index)) {
+                if (plan.edge(edge).canExecute(context)) {
+                    recorder.edgeTaken(edge);
+                    plan.edgeTaken(context, edge);
+                    activated[c][plan.edgeTarget(edge)] = true;
+                }
+            }
+            plan.checkpoint(context, index);
+        } catch (Throwable e) {
+            recorder.nodeFailed(index, start);
+            errors[c] = "节点执行失败: " + node.getId() + ", 错误: " + e.getMessage();
+        }
+    }
+
+    private record Outcome(Object value, Throwable error) {
+    }
+}
@@ -6,14 +6,25 @@ import io.github.anthem37.easy.ddd.common.cqrs.command.ICommandBus;
 import io.github.anthem37.easy.ddd.common.cqrs.query.IQuery;
 import io.github.anthem37.easy.ddd.common.cqrs.query.IQueryBus;
 import io.github.anthem37.easy.ddd.common.exception.BizFlowException;
+import io.github.anthem37.easy.ddd.common.flow.checkpoint.FileFlowCheckpointStore;
+import io.github.anthem37.easy.ddd.common.flow.checkpoint.FlowCheckpointProgress;
+import io.github.anthem37.easy.ddd.common.flow.checkpoint.FlowCheckpointWriter;
+import io.github.anthem37.easy.ddd.common.flow.checkpoint.IFlowCheckpointStore;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.ToLongFunction;
 
 /**
  * 业务编排框架核心类
@@ -24,10 +35,37 @@ import java.util.stream.Collectors;
  *   <li>Query节点：执行查询操作</li>
  *   <li>Condition节点：条件判断和流程控制</li>
  *   <li>Generic节点：自定义逻辑执行</li>
+ *   <li>ForEach节点：对集合中的元素以有界并发发送命令、查询或执行子流程</li>
  *   <li>流程连接：定义节点间的执行顺序</li>
  *   <li>PlantUML导出：可视化流程图</li>
  * </ul>
  *
+ * <p>流程首次执行时编译为不可变的 {@link BizFlowPlan}，之后的执行直接复用编译结果。
+ * 服务中通常在启动时通过 {@link #define()} 生成共享的 {@link BizFlowDefinition}，
+ * 每次请求只创建轻量的 {@link BizFlowRun}，不再重复构建和校验流程图。
+ * 除顺序执行外，还支持互不依赖分支并发执行的 {@link #executeParallel(Context, Executor)}，
+ * 不阻塞调用线程的 {@link #executeAsync(Context)}，边执行边发布节点完成事件的 {@link #executeStreaming(Context)}，
+ * 以及对大量上下文分层推进、按节点合并总线分发的 {@link #executeBatch(List, int)}。</p>
+ *
+ * <p>可通过 {@link #timeout(String, Duration)} 为单个节点设置时限，通过 {@link #deadline(Duration)}
+ * 设置流程整体截止时间；节点超时后流程快速失败，或沿 {@link #connectOnTimeout(String, String)}
+ * 声明的降级连接继续执行。</p>
+ *
+ * <p>启用 {@link #checkpoint(FlowCheckpointWriter)} 后每个节点完成时异步保存检查点，
+ * 失败的运行可通过 {@link #resume(String)} 从检查点恢复，已完成的节点不再重复执行，
+ * 其出边按原运行经过的连接激活，可与结果保留模式同时启用。</p>
+ *
+ * <p>查询节点可通过 {@link #memoize(String, Duration, int)} 启用结果缓存，
+ * 相同查询在多次执行间复用结果；可通过 {@link #speculate(String, String...)} 启用预取，
+ * 在条件分支判断完成前提前发起查询。</p>
+ *
+ * <p>通过 {@link #outputs(String...)} 启用结果保留模式后，中间结果在不再被读取时即释放，
+ * 执行结果只返回声明的输出。</p>
+ *
+ * <p>执行结果携带执行轨迹（节点起止时间、经过的连接），可通过 {@link Result#getTrace()}
+ * 分析关键路径并导出为 Chrome trace，或通过 {@link #toPlantUML(Result)} 生成按耗时着色的流程图；
+ * 生产环境可通过 {@link #traceSampleRate(double)} 降低记录比例。</p>
+ *
  * @author anthem37
  * @since 2025/8/15 15:01:27
  */
@@ -41,10 +79,62 @@ public class BizFlow {
     private final String name;
 
     private final List<GenericNode> nodes = new ArrayList<>();
+    private final Set<String> nodeIds = new HashSet<>();
     private final List<Connection> connections = new ArrayList<>();
+    private final Map<String, Duration> nodeTimeouts = new HashMap<>();
+
+    /**
+     * 声明的变量名，编译时按声明顺序分配槽位
+     */
+    private final Set<String> variableNames = new LinkedHashSet<>();
+
+    /**
+     * 查询节点的查询构建函数，用于结果缓存
+     */
+    private final Map<String, Function<Context, IQuery<?>>> queryBuilders = new HashMap<>();
+
+    /**
+     * 查询节点结果缓存，流程重新编译时保留
+     */
+    private final Map<String, NodeResultCache> resultCaches = new LinkedHashMap<>();
+
+    /**
+     * 节点声明读取的结果（节点ID到被读取的节点ID），用于结果保留模式
+     */
+    private final Map<String, Set<String>> nodeReads = new HashMap<>();
+
+    /**
+     * 结果保留模式下作为输出返回的节点ID，为空表示不启用结果保留模式
+     */
+    private final Set<String> outputNodeIds = new LinkedHashSet<>();
+
+    /**
+     * 启用预取的查询节点及其统计，流程重新编译时保留
+     */
+    private final Map<String, SpeculationStats> speculations = new LinkedHashMap<>();
     private final ICommandBus commandBus;
     private final IQueryBus queryBus;
 
+    /**
+     * 编译后的执行计划缓存，流程结构变更时失效
+     */
+    private volatile BizFlowPlan compiledPlan;
+
+    /**
+     * 流程整体时限，为null表示不限时
+     */
+    private Duration flowTimeout;
+
+    /**
+     * 检查点写入器，为null表示不启用检查点
+     */
+    private FlowCheckpointWriter checkpointWriter;
+
+    /**
+     * 执行轨迹采样率
+     */
+    private double traceSampleRate = 1.0;
+
     // ========== 流程构建方法 ==========
 
     /**
@@ -61,8 +151,8 @@ public class BizFlow {
 
         // 创建执行器：直接发送预定义的命令
         Function<Context, Object> executor = ctx -> commandBus.send(command);
-        nodes.add(new GenericNode(nodeId, nodeName, "<<command>>", executor));
-        return this;
+        Function<Context, CompletableFuture<Object>> asyncExecutor = ctx -> commandBus.sendAsync(command).thenApply(r -> r);
+        return addNode(new GenericNode(nodeId, nodeName, "<<command>>", executor, asyncExecutor, ctx -> command, commandBatchSender()));
     }
 
     /**
@@ -83,8 +173,12 @@ public class BizFlow {
             Assert.orchestrationNotNull(command, "构建的命令不能为空");
             return commandBus.send(command);
         };
-        nodes.add(new GenericNode(nodeId, nodeName, "<<command>>", executor));
-        return this;
+        Function<Context, CompletableFuture<Object>> asyncExecutor = ctx -> {
+            ICommand<?> command = commandBuilder.apply(ctx);
+            Assert.orchestrationNotNull(command, "构建的命令不能为空");
+            return commandBus.sendAsync(command).thenApply(r -> r);
+        };
+        return addNode(new GenericNode(nodeId, nodeName, "<<command>>", executor, asyncExecutor, commandBuilder, commandBatchSender()));
     }
 
     /**
@@ -101,8 +195,9 @@ public class BizFlow {
 
         // 创建执行器：直接发送预定义的查询
         Function<Context, Object> executor = ctx -> queryBus.send(query);
-        nodes.add(new GenericNode(nodeId, nodeName, "<<query>>", executor));
-        return this;
+        Function<Context, CompletableFuture<Object>> asyncExecutor = ctx -> queryBus.sendAsync(query).thenApply(r -> r);
+        queryBuilders.put(nodeId, ctx -> query);
+        return addNode(new GenericNode(nodeId, nodeName, "<<query>>", executor, asyncExecutor, ctx -> query, queryBatchSender()));
     }
 
     /**
@@ -123,8 +218,13 @@ public class BizFlow {
             Assert.orchestrationNotNull(query, "构建的查询不能为空");
             return queryBus.send(query);
         };
-        nodes.add(new GenericNode(nodeId, nodeName, "<<query>>", executor));
-        return this;
+        Function<Context, CompletableFuture<Object>> asyncExecutor = ctx -> {
+            IQuery<?> query = queryBuilder.apply(ctx);
+            Assert.orchestrationNotNull(query, "构建的查询不能为空");
+            return queryBus.sendAsync(query).thenApply(r -> r);
+        };
+        queryBuilders.put(nodeId, queryBuilder);
+        return addNode(new GenericNode(nodeId, nodeName, "<<query>>", executor, asyncExecutor, queryBuilder, queryBatchSender()));
     }
 
     /**
@@ -141,8 +241,7 @@ public class BizFlow {
 
         // 创建执行器：执行条件判断逻辑
         Function<Context, Object> executor = condition::apply;
-        nodes.add(new GenericNode(nodeId, nodeName, "<<choice>>", executor));
-        return this;
+        return addNode(new GenericNode(nodeId, nodeName, "<<choice>>", executor));
     }
 
     /**
@@ -163,8 +262,7 @@ public class BizFlow {
             Object actualValue = ctx.getVariable(variableName, Object.class);
             return Objects.equals(actualValue, expectedValue);
         };
-        nodes.add(new GenericNode(nodeId, nodeName, "<<choice>>", executor));
-        return this;
+        return addNode(new GenericNode(nodeId, nodeName, "<<choice>>", executor));
     }
 
     /**
@@ -185,8 +283,7 @@ public class BizFlow {
             Object actualResult = ctx.getResult(sourceNodeId, Object.class);
             return Objects.equals(actualResult, expectedResult);
         };
-        nodes.add(new GenericNode(nodeId, nodeName, "<<choice>>", executor));
-        return this;
+        return addNode(new GenericNode(nodeId, nodeName, "<<choice>>", executor));
     }
 
     /**
@@ -201,8 +298,66 @@ public class BizFlow {
         validateNode(nodeId, nodeName);
         Assert.orchestrationNotNull(executor, "执行函数不能为空");
 
-        nodes.add(new GenericNode(nodeId, nodeName, "<<generic>>", executor));
-        return this;
+        return addNode(new GenericNode(nodeId, nodeName, "<<generic>>", executor));
+    }
+
+    /**
+     * 添加结果为 long 的通用节点
+     *
+     * <p>不限时的顺序与并行执行中，结果直接写入上下文的 long 槽位，
+     * 下游通过 {@link Context#getLong(ResultKey)} 读取，全程不装箱；
+     * 其他执行方式（限时、异步、批量）按普通节点处理，结果装箱为 {@link Long}。</p>
+     *
+     * @param nodeId   节点唯一标识
+     * @param nodeName 节点显示名称
+     * @param executor 自定义执行逻辑
+     * @return 当前编排实例，支持链式调用
+     */
+    public BizFlow addLongGeneric(String nodeId, String nodeName, ToLongFunction<Context> executor) {
+        validateNode(nodeId, nodeName);
+        Assert.orchestrationNotNull(executor, "执行函数不能为空");
+
+        return addNode(new GenericNode(nodeId, nodeName, "<<generic>>", executor::applyAsLong, null, null, null, executor));
+    }
+
+    /**
+     * 添加遍历节点
+     *
+     * <p>从上下文取出集合，对每个元素发送命令、查询或执行子流程，
+     * 以有界并发执行并按元素顺序收集结果，节点结果为 {@link List}。
+     * 命令与查询通过总线 sendAsync 发送，等待期间不占用线程。</p>
+     *
+     * @param nodeId   节点唯一标识
+     * @param nodeName 节点显示名称
+     * @param forEach  遍历配置
+     * @param <E>      元素类型
+     * @return 当前编排实例，支持链式调用
+     * @see ForEach
+     */
+    public <E> BizFlow addForEach(String nodeId, String nodeName, ForEach<E> forEach) {
+        validateNode(nodeId, nodeName);
+        Assert.orchestrationNotNull(forEach, "遍历配置不能为空");
+
+        // 在添加时固定配置，之后修改遍历配置不影响已添加的节点
+        Function<Context, ? extends Collection<? extends E>> items = forEach.getItems();
+        int maxConcurrency = forEach.getMaxConcurrency();
+        boolean failFast = forEach.isFailFast();
+        Function<Context, CompletableFuture<Object>> asyncExecutor = ctx -> {
+            Collection<? extends E> collection = items.apply(ctx);
+            Assert.orchestrationNotNull(collection, "遍历的集合不能为空");
+            return new ForEachExecution(new ArrayList<>(collection), forEachRunner(forEach, ctx), maxConcurrency, failFast).start();
+        };
+        Function<Context, Object> executor = ctx -> {
+            try {
+                return asyncExecutor.apply(ctx).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        };
+        return addNode(new GenericNode(nodeId, nodeName, "<<forEach>>", executor, asyncExecutor));
     }
 
     /**
@@ -214,8 +369,7 @@ public class BizFlow {
      */
     public BizFlow connect(String from, String to) {
         validateConnect(from, to);
-        connections.add(new Connection(from, to, null, null));
-        return this;
+        return addConnection(new Connection(from, to, null, null));
     }
 
     /**
@@ -232,8 +386,7 @@ public class BizFlow {
         Assert.orchestrationHasText(conditionName, "条件名称不能为空");
         Assert.orchestrationNotNull(conditionCheck, "条件检查函数不能为空");
 
-        connections.add(new Connection(from, to, conditionName, conditionCheck));
-        return this;
+        return addConnection(new Connection(from, to, conditionName, conditionCheck));
     }
 
     /**
@@ -254,8 +407,7 @@ public class BizFlow {
                 return false; // 异常时返回 false
             }
         };
-        connections.add(new Connection(from, to, "true", condition));
-        return this;
+        return addConnection(new Connection(from, to, "true", condition));
     }
 
     /**
@@ -276,156 +428,814 @@ public class BizFlow {
                 return true; // 异常时走默认路径
             }
         };
-        connections.add(new Connection(from, to, "false", condition));
-        return this;
+        return addConnection(new Connection(from, to, "false", condition));
     }
 
-    // ========== 流程执行方法 ==========
-
-    public Result execute() {
-        return execute(new Context(id));
+    /**
+     * 源节点超时时连接到目标节点（降级路径）
+     *
+     * <p>源节点超时后不再激活其普通出边，只激活超时连接；
+     * 没有声明超时连接的节点超时时整个流程失败。</p>
+     *
+     * @param from 源节点ID
+     * @param to   目标节点ID（降级节点）
+     * @return 当前编排实例，支持链式调用
+     */
+    public BizFlow connectOnTimeout(String from, String to) {
+        validateConnect(from, to);
+        return addConnection(new Connection(from, to, "timeout", null, true));
     }
 
-    public Result execute(Context context) {
-        LocalDateTime startTime = LocalDateTime.now();
+    // ========== 时限设置 ==========
 
-        try {
-            validate();
-            runNodes(context);
-            return Result.success(id, startTime, LocalDateTime.now(), context.getAllResults());
-        } catch (Exception e) {
-            return Result.failure(id, e.getMessage(), startTime, LocalDateTime.now());
-        }
+    /**
+     * 设置节点执行时限
+     *
+     * <p>节点实际可用时间为该时限与流程剩余时间中的较小者。
+     * 命令节点不会被中途打断，时限只在命令开始前检查，已开始的命令总会执行完。</p>
+     *
+     * @param nodeId  节点ID
+     * @param timeout 时限，必须为正
+     * @return 当前编排实例，支持链式调用
+     */
+    public BizFlow timeout(String nodeId, Duration timeout) {
+        Assert.orchestrationIsTrue(nodeExists(nodeId), "节点不存在: " + nodeId);
+        validateTimeout(timeout);
+        nodeTimeouts.put(nodeId, timeout);
+        compiledPlan = null;
+        return this;
     }
 
     /**
-     * 简化的节点执行逻辑
+     * 设置流程整体时限
+     *
+     * <p>从每次执行开始时计时，只约束本次执行的节点，不写入上下文；
+     * 上下文自身的截止时间（{@link Context#setDeadline(Duration)}）更早时以上下文为准。</p>
+     *
+     * @param timeout 时限，必须为正
+     * @return 当前编排实例，支持链式调用
      */
-    private void runNodes(Context context) {
-        Map<String, GenericNode> nodeMap = nodes.stream().collect(Collectors.toMap(GenericNode::getId, n -> n));
-        Set<String> executed = new HashSet<>();
-        Queue<String> toExecute = new LinkedList<>();
+    public BizFlow deadline(Duration timeout) {
+        validateTimeout(timeout);
+        this.flowTimeout = timeout;
+        compiledPlan = null;
+        return this;
+    }
 
-        // 找到入口节点
-        Set<String> targets = connections.stream().map(c -> c.to).collect(Collectors.toSet());
-        nodes.stream().filter(node -> !targets.contains(node.getId())).forEach(node -> toExecute.offer(node.getId()));
+    // ========== 检查点设置 ==========
 
-        Assert.orchestrationIsFalse(toExecute.isEmpty() && !nodes.isEmpty(), "没有找到入口节点");
+    /**
+     * 启用检查点，保存到本地文件目录
+     *
+     * @param directory 检查点目录
+     * @return 当前编排实例，支持链式调用
+     */
+    public BizFlow checkpoint(Path directory) {
+        return checkpoint(new FlowCheckpointWriter(new FileFlowCheckpointStore(directory)));
+    }
 
-        // 执行节点 - 简化的循环检测：执行次数不能超过节点总数的2倍
-        int executionCount = 0;
-        int maxExecutions = nodes.size() * 2;
-        while (!toExecute.isEmpty()) {
-            Assert.orchestrationIsFalse(++executionCount > maxExecutions, "检测到循环依赖");
+    /**
+     * 启用检查点，使用指定存储
+     *
+     * @param store 检查点存储
+     * @return 当前编排实例，支持链式调用
+     */
+    public BizFlow checkpoint(IFlowCheckpointStore store) {
+        return checkpoint(new FlowCheckpointWriter(store));
+    }
 
-            String nodeId = toExecute.poll();
-            if (executed.contains(nodeId)) {
-                continue;
-            }
+    /**
+     * 启用检查点，使用指定写入器（可在多个编排间共享）
+     *
+     * @param writer 检查点写入器
+     * @return 当前编排实例，支持链式调用
+     */
+    public BizFlow checkpoint(FlowCheckpointWriter writer) {
+        Assert.orchestrationNotNull(writer, "检查点写入器不能为空");
+        this.checkpointWriter = writer;
+        compiledPlan = null;
+        return this;
+    }
 
-            GenericNode node = nodeMap.get(nodeId);
-            Assert.orchestrationNotNull(node, "节点不存在: " + nodeId);
+    // ========== 结果缓存 ==========
 
-            try {
-                Object result = node.execute(context);
-                context.setResult(nodeId, result);
-                executed.add(nodeId);
+    /**
+     * 声明上下文变量
+     *
+     * <p>声明的变量在编译时分配槽位，可通过 {@link #variableKey(String, Class)} 获取类型化键，
+     * 按键或按名称读写都不再经过哈希映射；未声明的变量照常按名称读写。</p>
+     *
+     * @param names 变量名
+     * @return 当前编排实例，支持链式调用
+     */
+    public BizFlow declareVariables(String... names) {
+        Assert.orchestrationNotNull(names, "变量名不能为空");
+        for (String name : names) {
+            Assert.orchestrationHasText(name, "变量名不能为空");
+            variableNames.add(name);
+        }
+        compiledPlan = null;
+        return this;
+    }
 
-                // 添加后续节点
-                connections.stream().filter(conn -> conn.from.equals(nodeId) && conn.canExecute(context)).filter(conn -> !executed.contains(conn.to)).forEach(conn -> toExecute.offer(conn.to));
+    /**
+     * 为查询节点启用结果缓存
+     *
+     * <p>以构建出的查询对象为键（需正确实现 equals/hashCode），缓存在本编排的所有执行间共享，
+     * 重复调用会以新的配置替换原缓存。</p>
+     *
+     * @param nodeId  查询节点ID
+     * @param ttl     缓存有效期
+     * @param maxSize 最大条目数
+     * @return 当前编排实例，支持链式调用
+     */
+    public BizFlow memoize(String nodeId, Duration ttl, int maxSize) {
+        Assert.orchestrationIsTrue(queryBuilders.containsKey(nodeId), "只有查询节点可以启用结果缓存: " + nodeId);
+        validateTimeout(ttl);
+        resultCaches.put(nodeId, new NodeResultCache(nodeId, ttl, maxSize));
+        compiledPlan = null;
+        return this;
+    }
 
-            } catch (Exception e) {
-                Assert.orchestrationFail("节点执行失败: " + nodeId + ", 错误: " + e.getMessage());
-            }
-        }
+    /**
+     * 声明节点读取的结果
+     *
+     * <p>声明节点的执行逻辑及其出边条件会读取哪些节点的结果，供结果保留模式判断结果何时不再被使用。
+     * 节点自身的结果无需声明；未声明的节点视为可能读取任何结果，在它结束前所有结果都会保留。</p>
+     *
+     * @param nodeId       节点ID
+     * @param inputNodeIds 被读取结果的节点ID
+     * @return 当前编排实例，支持链式调用
+     * @see #outputs(String...)
+     */
+    public BizFlow reads(String nodeId, String... inputNodeIds) {
+        Assert.orchestrationIsTrue(nodeIds.contains(nodeId), "节点不存在: " + nodeId);
+        Assert.orchestrationNotNull(inputNodeIds, "依赖节点不能为空");
+        nodeReads.computeIfAbsent(nodeId, key -> new LinkedHashSet<>()).addAll(Arrays.asList(inputNodeIds));
+        compiledPlan = null;
+        return this;
     }
 
-    // ========== PlantUML导出 ==========
+    /**
+     * 启用结果保留模式并声明输出节点
+     *
+     * <p>启用后，编译期根据 {@link #reads(String, String...)} 的声明计算每个结果的读取者，
+     * 运行中一个结果的节点与全部读取者都已结束（或被跳过）后立即释放该结果，
+     * 执行成功的 {@link Result} 只包含输出节点的结果，从而降低大中间结果占用的堆内存。</p>
+     *
+     * @param nodeIds 输出节点ID
+     * @return 当前编排实例，支持链式调用
+     */
+    public BizFlow outputs(String... nodeIds) {
+        Assert.orchestrationNotNull(nodeIds, "输出节点不能为空");
+        Assert.orchestrationIsTrue(nodeIds.length > 0, "至少需要一个输出节点");
+        outputNodeIds.addAll(Arrays.asList(nodeIds));
+        compiledPlan = null;
+        return this;
+    }
 
-    public String toPlantUML() {
-        StringBuilder uml = new StringBuilder();
-        uml.append("@startuml\n");
-        uml.append("!theme plain\n");
-        uml.append("title ").append(name).append("\n\n");
+    /**
+     * 为查询节点启用预取
+     *
+     * <p>查询节点按约定没有副作用，启用预取后，只要 inputNodeIds 中的节点都已有结果，
+     * 就立即通过 sendAsync 发起查询，而不必等待通往它的条件分支判断完成；
+     * 节点被激活时直接使用预取结果，所在分支未被执行时预取结果被丢弃。</p>
+     *
+     * <p>inputNodeIds 必须包含查询构建函数读取的全部节点结果（变量总是可用），
+     * 为空表示查询只依赖变量，运行开始时即可预取。预取失败的节点被激活后会重新执行。
+     * 预取在顺序、并行、异步与流式执行中生效，批量执行不预取。</p>
+     *
+     * @param nodeId       查询节点ID
+     * @param inputNodeIds 查询依赖的节点ID
+     * @return 当前编排实例，支持链式调用
+     */
+    public BizFlow speculate(String nodeId, String... inputNodeIds) {
+        Assert.orchestrationIsTrue(queryBuilders.containsKey(nodeId), "只有查询节点可以启用预取: " + nodeId);
+        Assert.orchestrationNotNull(inputNodeIds, "依赖节点不能为空");
+        Set<String> inputs = new LinkedHashSet<>(Arrays.asList(inputNodeIds));
+        Assert.orchestrationIsFalse(inputs.contains(nodeId), "预取节点不能依赖自身: " + nodeId);
+        speculations.put(nodeId, new SpeculationStats(nodeId, new ArrayList<>(inputs)));
+        compiledPlan = null;
+        return this;
+    }
 
-        // 节点定义
-        for (GenericNode node : nodes) {
-            uml.append("state \"").append(node.getName()).append("\" as ").append(node.getId()).append(" ").append(node.getShape()).append("\n");
-        }
+    /**
+     * 获取各查询节点的预取统计
+     *
+     * @return 节点ID到预取统计的映射
+     */
+    public Map<String, SpeculationStats> getSpeculationStats() {
+        return Collections.unmodifiableMap(speculations);
+    }
 
-        uml.append("\n");
+    /**
+     * 获取各节点的结果缓存（含命中率统计）
+     *
+     * @return 节点ID到结果缓存的映射
+     */
+    public Map<String, NodeResultCache> getResultCaches() {
+        return Collections.unmodifiableMap(resultCaches);
+    }
 
-        // 连接关系
-        for (Connection conn : connections) {
-            uml.append(conn.from).append(" --> ").append(conn.to);
-            if (conn.condition != null) {
-                uml.append(" : ").append(conn.condition);
-            }
-            uml.append("\n");
-        }
+    // ========== 执行轨迹 ==========
 
-        uml.append("\n@enduml");
-        return uml.toString();
+    /**
+     * 设置执行轨迹采样率
+     *
+     * <p>未被采样的运行不记录节点执行记录与经过的连接（超时节点仍会记录），默认全部记录。</p>
+     *
+     * @param rate 采样率，取值 0~1
+     * @return 当前编排实例，支持链式调用
+     */
+    public BizFlow traceSampleRate(double rate) {
+        Assert.orchestrationIsTrue(rate >= 0.0 && rate <= 1.0, "采样率必须在0到1之间");
+        this.traceSampleRate = rate;
+        compiledPlan = null;
+        return this;
     }
 
-    // ========== 私有辅助方法 ==========
+    // ========== 流程执行方法 ==========
 
-    private void validateNode(String nodeId, String nodeName) {
-        Assert.orchestrationHasText(nodeId, "节点ID不能为空");
-        Assert.orchestrationHasText(nodeName, "节点名称不能为空");
-        Assert.orchestrationIsFalse(nodeExists(nodeId), "节点ID已存在: " + nodeId);
+    /**
+     * 编译流程为不可变的执行计划
+     *
+     * <p>编译时完成结构校验、节点索引化、邻接表构建、入口节点计算和循环检测，
+     * 结果会被缓存，直到流程结构再次变更。</p>
+     *
+     * @return 执行计划
+     * @throws BizFlowException 当流程结构非法时
+     */
+    public BizFlowPlan compile() {
+        BizFlowPlan plan = compiledPlan;
+        if (plan == null) {
+            validate();
+            plan = new BizFlowPlan(id, name, compileNodes(), connections, variableNames, nodeTimeouts, speculations.values(),
+                    nodeReads, outputNodeIds, flowTimeout, checkpointWriter, traceSampleRate);
+            compiledPlan = plan;
+        }
+        return plan;
     }
 
-    private boolean nodeExists(String nodeId) {
-        return nodes.stream().anyMatch(node -> node.getId().equals(nodeId));
+    /**
+     * 生成不可变的流程定义
+     *
+     * <p>校验并编译当前流程，得到可在线程间共享的 {@link BizFlowDefinition}，
+     * 适合在启动时构建一次并注册为单例，每次请求通过 {@link BizFlowDefinition#newRun()} 执行。</p>
+     *
+     * @return 流程定义
+     * @throws BizFlowException 当流程结构非法时
+     */
+    public BizFlowDefinition define() {
+        return new BizFlowDefinition(compile(), toPlantUML());
     }
 
-    private void validateConnect(String from, String to) {
-        Assert.orchestrationHasText(from, "源节点ID不能为空");
-        Assert.orchestrationHasText(to, "目标节点ID不能为空");
-        Assert.orchestrationIsFalse(from.equals(to), "不能连接节点到自身");
+    /**
+     * 获取节点结果的类型化键
+     *
+     * @see BizFlowPlan#resultKey(String, Class)
+     */
+    public <T> ResultKey<T> resultKey(String nodeId, Class<T> type) {
+        return compile().resultKey(nodeId, type);
     }
 
-    private void validate() {
-        Assert.orchestrationIsFalse(nodes.isEmpty(), "编排中没有定义任何节点");
+    /**
+     * 获取已声明变量的类型化键
+     *
+     * @see BizFlowPlan#variableKey(String, Class)
+     */
+    public <T> VariableKey<T> variableKey(String name, Class<T> type) {
+        return compile().variableKey(name, type);
+    }
 
-        Set<String> nodeIds = nodes.stream().map(GenericNode::getId).collect(Collectors.toSet());
-        for (Connection conn : connections) {
-            Assert.orchestrationIsTrue(nodeIds.contains(conn.from), "连接中的源节点不存在: " + conn.from);
-            Assert.orchestrationIsTrue(nodeIds.contains(conn.to), "连接中的目标节点不存在: " + conn.to);
-        }
+    public Result execute() {
+        return execute(new Context(id));
     }
 
-    // ========== 内部类定义 ==========
+    public Result execute(Context context) {
+        BizFlowPlan plan;
+        try {
+            plan = compile();
+        } catch (Exception e) {
+            LocalDateTime now = LocalDateTime.now();
+            return Result.failure(id, e.getMessage(), now, now);
+        }
+        return plan.execute(context);
+    }
 
     /**
-     * 编排执行上下文
+     * 从检查点恢复执行
      *
-     * <p>用于在节点执行过程中传递数据，包括：</p>
-     * <ul>
-     *   <li>变量：外部传入或节点间共享的数据</li>
-     *   <li>结果：各节点的执行结果</li>
-     * </ul>
+     * @see BizFlowPlan#resume(String)
+     */
+    public Result resume(String runId) {
+        BizFlowPlan plan;
+        try {
+            plan = compile();
+        } catch (Exception e) {
+            LocalDateTime now = LocalDateTime.now();
+            return Result.failure(id, e.getMessage(), now, now);
+        }
+        return plan.resume(runId);
+    }
+
+    /**
+     * 使用虚拟线程并行执行
      *
-     * <p>线程安全：使用 ConcurrentHashMap 确保多线程环境下的安全性</p>
+     * @see BizFlowPlan#executeParallel(Context)
+     */
+    public Result executeParallel(Context context) {
+        return executeParallel(context, null);
+    }
+
+    /**
+     * 在指定执行器上并行执行，执行器为null时使用虚拟线程
+     *
+     * @see BizFlowPlan#executeParallel(Context, Executor)
+     */
+    public Result executeParallel(Context context, Executor executor) {
+        BizFlowPlan plan;
+        try {
+            plan = compile();
+        } catch (Exception e) {
+            LocalDateTime now = LocalDateTime.now();
+            return Result.failure(id, e.getMessage(), now, now);
+        }
+        return executor == null ? plan.executeParallel(context) : plan.executeParallel(context, executor);
+    }
+
+    /**
+     * 异步执行，命令与查询节点通过总线的 sendAsync 非阻塞执行
+     *
+     * @see BizFlowPlan#executeAsync(Context)
+     */
+    public CompletableFuture<Result> executeAsync(Context context) {
+        return executeAsync(context, null);
+    }
+
+    /**
+     * 异步执行，其余节点在指定执行器上执行，执行器为null时使用虚拟线程
+     *
+     * @see BizFlowPlan#executeAsync(Context, Executor)
+     */
+    public CompletableFuture<Result> executeAsync(Context context, Executor executor) {
+        BizFlowPlan plan;
+        try {
+            plan = compile();
+        } catch (Exception e) {
+            LocalDateTime now = LocalDateTime.now();
+            return CompletableFuture.completedFuture(Result.failure(id, e.getMessage(), now, now));
+        }
+        return plan.executeAsync(context, executor);
+    }
+
+    /**
+     * 流式执行，其余节点在虚拟线程中执行
+     *
+     * @see BizFlowPlan#executeStreaming(Context)
+     */
+    public BizFlowStream executeStreaming(Context context) {
+        return executeStreaming(context, null);
+    }
+
+    /**
+     * 流式执行，节点完成时发布事件，流程结束时完成
+     *
+     * @see BizFlowPlan#executeStreaming(Context, Executor)
+     */
+    public BizFlowStream executeStreaming(Context context, Executor executor) {
+        BizFlowPlan plan;
+        try {
+            plan = compile();
+        } catch (Exception e) {
+            LocalDateTime now = LocalDateTime.now();
+            BizFlowStream stream = new BizFlowStream(context, 0, BizFlowPlan.defaultExecutor());
+            stream.finish(Result.failure(id, e.getMessage(), now, now));
+            return stream;
+        }
+        return plan.executeStreaming(context, executor);
+    }
+
+    /**
+     * 以默认并发上限批量执行
+     *
+     * @see BizFlowPlan#executeBatch(List)
+     */
+    public List<Result> executeBatch(List<Context> contexts) {
+        return executeBatch(contexts, BizFlowPlan.DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    /**
+     * 批量执行，命令与查询节点按节点合并为总线批量发送
+     *
+     * @see BizFlowPlan#executeBatch(List, int)
+     */
+    public List<Result> executeBatch(List<Context> contexts, int maxConcurrency) {
+        BizFlowPlan plan;
+        try {
+            plan = compile();
+        } catch (Exception e) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Result> failures = new ArrayList<>(contexts.size());
+            for (int i = 0; i < contexts.size(); i++) {
+                failures.add(Result.failure(id, e.getMessage(), now, now));
+            }
+            return failures;
+        }
+        return plan.executeBatch(contexts, maxConcurrency);
+    }
+
+    // ========== PlantUML导出 ==========
+
+    public String toPlantUML() {
+        StringBuilder uml = new StringBuilder();
+        uml.append("@startuml\n");
+        uml.append("!theme plain\n");
+        uml.append("title ").append(name).append("\n\n");
+
+        // 节点定义
+        for (GenericNode node : nodes) {
+            uml.append("state \"").append(node.getName()).append("\" as ").append(node.getId()).append(" ").append(node.getShape()).append("\n");
+        }
+
+        uml.append("\n");
+
+        // 连接关系
+        for (Connection conn : connections) {
+            uml.append(conn.from).append(" --> ").append(conn.to);
+            if (conn.timeoutEdge) {
+                uml.append(" #line.dashed : ").append(conn.condition);
+            } else if (conn.condition != null) {
+                uml.append(" : ").append(conn.condition);
+            }
+            uml.append("\n");
+        }
+
+        uml.append("\n@enduml");
+        return uml.toString();
+    }
+
+    /**
+     * 导出带执行信息的流程图
+     *
+     * <p>节点标注耗时并按耗时占最慢节点的比例着色（绿、黄、红），未执行的节点为灰色；
+     * 经过的连接为实线，关键路径上的连接加粗标红，未经过的连接为灰色虚线。</p>
+     *
+     * @param result 本流程的执行结果
+     * @return PlantUML 文本
+     */
+    public String toPlantUML(Result result) {
+        Assert.orchestrationNotNull(result, "执行结果不能为空");
+        FlowTrace trace = result.getTrace();
+        Map<String, NodeExecution> executions = new HashMap<>();
+        long slowest = 1;
+        for (NodeExecution execution : trace.getNodeExecutions()) {
+            executions.put(execution.getNodeId(), execution);
+            slowest = Math.max(slowest, execution.getDurationNanos());
+        }
+        Set<String> critical = trace.getCriticalPathNodeIds();
+        Set<String> taken = new HashSet<>();
+        for (TakenEdge edge : trace.getTakenEdges()) {
+            taken.add(edge.getFrom() + "->" + edge.getTo());
+        }
+
+        StringBuilder uml = new StringBuilder();
+        uml.append("@startuml\n");
+        uml.append("!theme plain\n");
+        uml.append("title ").append(name).append(result.isSuccess() ? "" : " (失败)").append("\n\n");
+
+        // 节点定义：耗时标注与着色
+        for (GenericNode node : nodes) {
+            NodeExecution execution = executions.get(node.getId());
+            uml.append("state \"").append(node.getName());
+            if (execution != null) {
+                uml.append("\\n").append(String.format("%.3f", execution.getDurationMillis())).append("ms");
+                if (execution.isTimedOut()) {
+                    uml.append(" (超时)");
+                }
+            }
+            uml.append("\" as ").append(node.getId()).append(" ").append(node.getShape()).append(" ")
+                    .append(latencyColor(execution, slowest)).append("\n");
+        }
+
+        uml.append("\n");
+
+        // 连接关系：经过、关键路径、未经过
+        for (Connection conn : connections) {
+            boolean edgeTaken = taken.contains(conn.from + "->" + conn.to);
+            String arrow;
+            if (edgeTaken && critical.contains(conn.from) && critical.contains(conn.to)) {
+                arrow = " -[#red,bold]-> ";
+            } else if (edgeTaken) {
+                arrow = " --> ";
+            } else {
+                arrow = " -[#gray,dashed]-> ";
+            }
+            uml.append(conn.from).append(arrow).append(conn.to);
+            if (conn.condition != null) {
+                uml.append(" : ").append(conn.condition);
+            }
+            uml.append("\n");
+        }
+
+        uml.append("\n@enduml");
+        return uml.toString();
+    }
+
+    // ========== 私有辅助方法 ==========
+
+    private void validateNode(String nodeId, String nodeName) {
+        Assert.orchestrationHasText(nodeId, "节点ID不能为空");
+        Assert.orchestrationHasText(nodeName, "节点名称不能为空");
+        Assert.orchestrationIsFalse(nodeExists(nodeId), "节点ID已存在: " + nodeId);
+    }
+
+    private boolean nodeExists(String nodeId) {
+        return nodeIds.contains(nodeId);
+    }
+
+    private BizFlow addNode(GenericNode node) {
+        nodes.add(node);
+        nodeIds.add(node.getId());
+        compiledPlan = null;
+        return this;
+    }
+
+    private BizFlow addConnection(Connection connection) {
+        connections.add(connection);
+        compiledPlan = null;
+        return this;
+    }
+
+    private void validateConnect(String from, String to) {
+        Assert.orchestrationHasText(from, "源节点ID不能为空");
+        Assert.orchestrationHasText(to, "目标节点ID不能为空");
+        Assert.orchestrationIsFalse(from.equals(to), "不能连接节点到自身");
+    }
+
+    /**
+     * 命令节点的批量发送函数
+     */
+    @SuppressWarnings("unchecked")
+    private Function<List<?>, List<CompletableFuture<Object>>> commandBatchSender() {
+        return messages -> commandBus.sendBatch((List<ICommand<?>>) messages);
+    }
+
+    /**
+     * 查询节点的批量发送函数
+     */
+    @SuppressWarnings("unchecked")
+    private Function<List<?>, List<CompletableFuture<Object>>> queryBatchSender() {
+        return messages -> queryBus.sendBatch((List<IQuery<?>>) messages);
+    }
+
+    private static String latencyColor(NodeExecution execution, long slowestNanos) {
+        if (execution == null) {
+            return "#lightgray";
+        }
+        if (execution.isTimedOut()) {
+            return "#red";
+        }
+        double ratio = (double) execution.getDurationNanos() / slowestNanos;
+        if (ratio >= 0.6) {
+            return "#salmon";
+        }
+        return ratio >= 0.25 ? "#khaki" : "#palegreen";
+    }
+
+    /**
+     * 编译用的节点列表：启用结果缓存的查询节点替换为带缓存的版本
+     */
+    private List<GenericNode> compileNodes() {
+        if (resultCaches.isEmpty()) {
+            return nodes;
+        }
+        List<GenericNode> compiled = new ArrayList<>(nodes.size());
+        for (GenericNode node : nodes) {
+            NodeResultCache cache = resultCaches.get(node.getId());
+            compiled.add(cache == null ? node : memoizedQueryNode(node, queryBuilders.get(node.getId()), cache));
+        }
+        return compiled;
+    }
+
+    private GenericNode memoizedQueryNode(GenericNode node, Function<Context, IQuery<?>> queryBuilder, NodeResultCache cache) {
+        Function<Context, Object> executor = ctx -> {
+            IQuery<?> query = queryBuilder.apply(ctx);
+            Assert.orchestrationNotNull(query, "构建的查询不能为空");
+            return cache.get(query, () -> queryBus.send(query));
+        };
+        Function<Context, CompletableFuture<Object>> asyncExecutor = ctx -> {
+            IQuery<?> query = queryBuilder.apply(ctx);
+            Assert.orchestrationNotNull(query, "构建的查询不能为空");
+            return cache.getAsync(query, () -> queryBus.sendAsync(query));
+        };
+        return new GenericNode(node.getId(), node.getName(), node.getShape(), executor, asyncExecutor,
+                node.getMessageBuilder(), memoizedBatchSender(cache));
+    }
+
+    /**
+     * 带缓存的批量发送函数：命中缓存的查询直接复用，其余查询合并为一次 sendBatch
+     */
+    private Function<List<?>, List<CompletableFuture<Object>>> memoizedBatchSender(NodeResultCache cache) {
+        Function<List<?>, List<CompletableFuture<Object>>> batchSender = queryBatchSender();
+        return messages -> {
+            List<CompletableFuture<Object>> results = new ArrayList<>(messages.size());
+            List<Object> missed = new ArrayList<>();
+            List<CompletableFuture<Object>> loads = new ArrayList<>();
+            for (Object message : messages) {
+                results.add(cache.getAsync(message, () -> {
+                    CompletableFuture<Object> load = new CompletableFuture<>();
+                    missed.add(message);
+                    loads.add(load);
+                    return load;
+                }));
+            }
+            if (!missed.isEmpty()) {
+                try {
+                    List<CompletableFuture<Object>> sent = batchSender.apply(missed);
+                    for (int i = 0; i < loads.size(); i++) {
+                        CompletableFuture<Object> load = loads.get(i);
+                        sent.get(i).whenComplete((value, error) -> {
+                            if (error != null) {
+                                load.completeExceptionally(error);
+                            } else {
+                                load.complete(value);
+                            }
+                        });
+                    }
+                } catch (Throwable e) {
+                    loads.forEach(load -> load.completeExceptionally(e));
+                }
+            }
+            return results;
+        };
+    }
+
+    /**
+     * 遍历节点处理单个元素的函数
+     */
+    @SuppressWarnings("unchecked")
+    private <E> Function<Object, CompletableFuture<Object>> forEachRunner(ForEach<E> forEach, Context ctx) {
+        switch (forEach.getKind()) {
+            case COMMAND:
+                Function<? super E, ? extends ICommand<?>> commandBuilder = forEach.getCommandBuilder();
+                return element -> {
+                    ICommand<?> command = commandBuilder.apply((E) element);
+                    Assert.orchestrationNotNull(command, "构建的命令不能为空");
+                    return commandBus.sendAsync(command).thenApply(r -> r);
+                };
+            case QUERY:
+                Function<? super E, ? extends IQuery<?>> queryBuilder = forEach.getQueryBuilder();
+                return element -> {
+                    IQuery<?> query = queryBuilder.apply((E) element);
+                    Assert.orchestrationNotNull(query, "构建的查询不能为空");
+                    return queryBus.sendAsync(query).thenApply(r -> r);
+                };
+            default:
+                BizFlowDefinition subFlow = forEach.getSubFlow();
+                String itemVariable = forEach.getItemVariable();
+                return element -> {
+                    BizFlowRun run = subFlow.newRun().variable(itemVariable, element);
+                    if (ctx.hasDeadline()) {
+                        run.deadline(ctx.getRemaining());
+                    }
+                    return run.executeAsync(BizFlowPlan.defaultExecutor()).thenApply(result -> {
+                        Assert.orchestrationIsTrue(result.isSuccess(), "子流程执行失败: " + result.getErrorMessage());
+                        return result.getResults();
+                    });
+                };
+        }
+    }
+
+    private void validateTimeout(Duration timeout) {
+        Assert.orchestrationNotNull(timeout, "时限不能为空");
+        Assert.orchestrationIsTrue(!timeout.isNegative() && !timeout.isZero(), "时限必须为正");
+    }
+
+    private void validate() {
+        Assert.orchestrationIsFalse(nodes.isEmpty(), "编排中没有定义任何节点");
+
+        for (Connection conn : connections) {
+            Assert.orchestrationIsTrue(nodeIds.contains(conn.from), "连接中的源节点不存在: " + conn.from);
+            Assert.orchestrationIsTrue(nodeIds.contains(conn.to), "连接中的目标节点不存在: " + conn.to);
+        }
+    }
+
+    // ========== 内部类定义 ==========
+
+    /**
+     * 编排执行上下文
+     *
+     * <p>用于在节点执行过程中传递数据，包括：</p>
+     * <ul>
+     *   <li>变量：外部传入或节点间共享的数据</li>
+     *   <li>结果：各节点的执行结果</li>
+     * </ul>
+     *
+     * <p>上下文在执行开始时绑定到编译后的计划：节点结果存放在按节点编号分配的数组槽位中，
+     * 声明过的变量同样存放在槽位中。通过 {@link ResultKey}、{@link VariableKey} 读写是一次数组访问，
+     * 按名称读写先经计划换算为槽位；不属于计划的名称（未声明的变量、非节点的结果）存放在附加映射中。
+     * 原始类型节点的结果存放在 long 槽位，通过 {@link #getLong(ResultKey)} 读取时不装箱。</p>
+     *
+     * <p>线程安全：槽位使用原子数组，附加映射使用 ConcurrentHashMap，并行执行时可安全读写；
+     * 计划与槽位作为一个整体发布，重新绑定到其他计划时并发的写入不会写错槽位或丢失。
+     * 结果与变量允许为 null。</p>
+     *
+     * <p>启用结果保留模式（{@link BizFlow#outputs(String...)}）时，不再被读取的中间结果会在运行中释放，
+     * 读取已释放的结果会失败；结果视图中已释放的结果值为 null。</p>
+     *
+     * <p>上下文可携带截止时间，节点可通过 {@link #getRemaining()} 获取剩余时间，
+     * 并据此设置下游调用的超时。</p>
+     *
+     * <p>每个上下文对应一次运行，运行ID用于检查点保存与恢复。</p>
      */
-    @RequiredArgsConstructor
-    @Getter
     public static class Context {
+        /**
+         * 槽位中表示显式 null 的标记
+         */
+        private static final Object NULL_VALUE = new Object();
+
+        /**
+         * 槽位中表示值位于 long 槽位的标记
+         */
+        private static final Object LONG_VALUE = new Object();
+
+        /**
+         * 槽位中表示结果已按存活分析释放的标记
+         */
+        private static final Object RELEASED = new Object();
+
         /**
          * 编排实例ID
          */
+        @Getter
         private final String orchestrationId;
 
         /**
-         * 变量存储：用于存储外部传入或节点间共享的变量
+         * 运行ID
+         */
+        @Getter
+        private final String runId;
+
+        /**
+         * 检查点进度，仅在启用检查点时创建
+         */
+        private volatile FlowCheckpointProgress checkpointProgress;
+
+        /**
+         * 变量版本，每次写入变量后递增；检查点据此判断是否需要重新复制变量
+         */
+        private final AtomicLong variableVersion = new AtomicLong();
+
+        /**
+         * 截止时间（System.nanoTime 基准），仅在 hasDeadline 为 true 时有效
+         */
+        private volatile long deadlineNanos;
+
+        private volatile boolean hasDeadline;
+
+        /**
+         * 绑定的执行计划及其槽位，为null表示尚未绑定；计划与槽位整体发布，一次读取即得到相互对应的两者
+         */
+        private volatile Binding binding;
+
+        /**
+         * 绑定序号，重新绑定期间为奇数；写入前后序号不变说明写入没有与迁移并发，不会被迁移遗漏
+         */
+        private volatile int bindSequence;
+
+        /**
+         * 不属于计划的变量（绑定前写入的变量在绑定时迁入槽位）
+         */
+        private final Map<String, Object> extraVariables = new ConcurrentHashMap<>();
+
+        /**
+         * 不属于计划的结果（绑定前写入的结果在绑定时迁入槽位）
          */
-        private final Map<String, Object> variables = new ConcurrentHashMap<>();
+        private final Map<String, Object> extraResults = new ConcurrentHashMap<>();
+
+        private final Map<String, Object> variablesView = new SlotMapView(false);
+        private final Map<String, Object> resultsView = new SlotMapView(true);
 
         /**
-         * 结果存储：用于存储各节点的执行结果
+         * 创建上下文，运行ID随机生成
+         *
+         * @param orchestrationId 编排实例ID
          */
-        private final Map<String, Object> results = new ConcurrentHashMap<>();
+        public Context(String orchestrationId) {
+            this(orchestrationId, UUID.randomUUID().toString());
+        }
+
+        /**
+         * 创建指定运行ID的上下文
+         *
+         * @param orchestrationId 编排实例ID
+         * @param runId           运行ID
+         */
+        public Context(String orchestrationId, String runId) {
+            Assert.orchestrationHasText(runId, "运行ID不能为空");
+            this.orchestrationId = orchestrationId;
+            this.runId = runId;
+        }
 
         /**
          * 设置变量
@@ -434,7 +1244,7 @@ public class BizFlow {
          * @param value 变量值
          */
         public void setVariable(String key, Object value) {
-            variables.put(key, value);
+            write(false, key, wrap(value));
         }
 
         /**
@@ -446,7 +1256,51 @@ public class BizFlow {
          * @return 变量值，如果不存在则返回 null
          */
         public <T> T getVariable(String key, Class<T> type) {
-            return type.cast(variables.get(key));
+            Binding bound = binding;
+            int slot = bound == null ? -1 : bound.plan.variableIndexOf(key);
+            return type.cast(unwrap(slot >= 0 ? bound.variableSlots.get(slot) : extraVariables.get(key)));
+        }
+
+        /**
+         * 通过类型化键设置变量
+         *
+         * @param key   变量键
+         * @param value 变量值
+         * @param <T>   变量类型
+         */
+        public <T> void setVariable(VariableKey<T> key, T value) {
+            bindTo(key.plan);
+            int sequence = bindSequence;
+            Binding bound = binding;
+            if ((sequence & 1) == 0 && bound.plan == key.plan) {
+                bound.variableSlots.set(key.slot, wrap(value));
+                if (bindSequence == sequence) {
+                    variableVersion.incrementAndGet();
+                    return;
+                }
+            }
+            write(false, key.getName(), wrap(value));
+        }
+
+        /**
+         * 通过类型化键获取变量
+         *
+         * @param key 变量键
+         * @param <T> 变量类型
+         * @return 变量值，如果不存在则返回 null
+         */
+        public <T> T getVariable(VariableKey<T> key) {
+            return key.getType().cast(unwrap(bindTo(key.plan).variableSlots.get(key.slot)));
+        }
+
+        /**
+         * 获取全部变量
+         *
+         * @return 变量视图，反映上下文的最新状态；通过视图写入、删除等同于 {@link #setVariable(String, Object)}
+         * 与删除变量
+         */
+        public Map<String, Object> getVariables() {
+            return variablesView;
         }
 
         /**
@@ -456,7 +1310,7 @@ public class BizFlow {
          * @param result 执行结果
          */
         public void setResult(String nodeId, Object result) {
-            results.put(nodeId, result);
+            write(true, nodeId, wrap(result));
         }
 
         /**
@@ -469,7 +1323,9 @@ public class BizFlow {
          * @throws BizFlowException 当类型不匹配时
          */
         public <T> T getResult(String nodeId, Class<T> type) {
-            Object result = results.get(nodeId);
+            Binding bound = binding;
+            int slot = bound == null ? -1 : bound.plan.indexOf(nodeId);
+            Object result = slot >= 0 ? bound.readResult(slot) : unwrap(extraResults.get(nodeId));
             if (result == null) {
                 return null;
             }
@@ -477,13 +1333,490 @@ public class BizFlow {
             return type.cast(result);
         }
 
+        /**
+         * 通过类型化键获取节点执行结果
+         *
+         * @param key 结果键
+         * @param <T> 结果类型
+         * @return 执行结果，如果不存在则返回 null
+         * @throws ClassCastException 当结果类型与键的类型不符时
+         */
+        public <T> T getResult(ResultKey<T> key) {
+            return key.getType().cast(bindTo(key.plan).readResult(key.slot));
+        }
+
+        /**
+         * 读取原始类型结果，由 {@link BizFlow#addLongGeneric} 节点产生时不装箱
+         *
+         * @param key 结果键
+         * @return 结果值
+         * @throws BizFlowException 当结果不存在时
+         */
+        public long getLong(ResultKey<Long> key) {
+            Binding bound = bindTo(key.plan);
+            if (bound.resultSlots.get(key.slot) == LONG_VALUE) {
+                return bound.longSlots[key.slot];
+            }
+            Object value = bound.readResult(key.slot);
+            Assert.orchestrationNotNull(value, "结果不存在: " + key.getNodeId());
+            return key.getType().cast(value);
+        }
+
+        /**
+         * 是否已有节点执行结果（包括 null 结果）
+         *
+         * @param key 结果键
+         * @return 节点已执行并写入结果时返回 true
+         */
+        public boolean hasResult(ResultKey<?> key) {
+            return bindTo(key.plan).resultSlots.get(key.slot) != null;
+        }
+
         /**
          * 获取所有节点的执行结果
          *
-         * @return 所有执行结果的副本
+         * @return 执行结果的只读视图，反映上下文的最新状态
          */
         public Map<String, Object> getAllResults() {
-            return new HashMap<>(results);
+            return resultsView;
+        }
+
+        /**
+         * 获取所有节点的执行结果
+         *
+         * @return 执行结果的只读视图
+         * @see #getAllResults()
+         */
+        public Map<String, Object> getResults() {
+            return resultsView;
+        }
+
+        /**
+         * 设置截止时间为当前时刻之后的指定时长
+         *
+         * @param timeout 时长
+         */
+        public void setDeadline(Duration timeout) {
+            Assert.orchestrationNotNull(timeout, "时限不能为空");
+            deadlineNanos = System.nanoTime() + timeout.toNanos();
+            hasDeadline = true;
+        }
+
+        /**
+         * 是否设置了截止时间
+         */
+        public boolean hasDeadline() {
+            return hasDeadline;
+        }
+
+        /**
+         * 获取剩余时间
+         *
+         * @return 剩余时间（已过截止时间时为0），未设置截止时间时返回 null
+         */
+        public Duration getRemaining() {
+            return hasDeadline ? Duration.ofNanos(Math.max(0L, deadlineNanos - System.nanoTime())) : null;
+        }
+
+        /**
+         * 是否已过截止时间
+         */
+        public boolean isDeadlineExceeded() {
+            return hasDeadline && deadlineNanos - System.nanoTime() <= 0;
+        }
+
+        /**
+         * 剩余纳秒数，未设置截止时间时返回 Long.MAX_VALUE
+         */
+        long remainingNanos() {
+            return hasDeadline ? deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+        }
+
+        /**
+         * 检查点进度，首次调用时创建
+         */
+        FlowCheckpointProgress checkpointProgress(String flowId) {
+            FlowCheckpointProgress progress = checkpointProgress;
+            if (progress == null) {
+                synchronized (this) {
+                    progress = checkpointProgress;
+                    if (progress == null) {
+                        progress = new FlowCheckpointProgress(flowId, runId);
+                        checkpointProgress = progress;
+                    }
+                }
+            }
+            return progress;
+        }
+
+        void restoreCheckpointProgress(FlowCheckpointProgress progress) {
+            checkpointProgress = progress;
+        }
+
+        long variableVersion() {
+            return variableVersion.get();
+        }
+
+        // ========== 槽位绑定 ==========
+
+        /**
+         * 绑定到执行计划，已绑定同一计划时直接返回
+         *
+         * @return 绑定到目标计划的槽位
+         */
+        Binding bindTo(BizFlowPlan target) {
+            Binding bound = binding;
+            return bound != null && bound.plan == target ? bound : bind(target);
+        }
+
+        /**
+         * 按计划分配槽位，并把已有数据（附加映射中的，以及此前绑定的其他计划槽位中的）按名称迁入
+         */
+        private synchronized Binding bind(BizFlowPlan target) {
+            Binding previous = binding;
+            if (previous != null && previous.plan == target) {
+                return previous;
+            }
+            bindSequence++;
+            try {
+                if (previous != null) {
+                    for (int i = 0; i < previous.resultSlots.length(); i++) {
+                        if (previous.resultSlots.get(i) != null) {
+                            extraResults.put(previous.plan.nodeIdAt(i), wrap(previous.peekResult(i)));
+                        }
+                    }
+                    for (int i = 0; i < previous.variableSlots.length(); i++) {
+                        Object value = previous.variableSlots.get(i);
+                        if (value != null) {
+                            extraVariables.put(previous.plan.variableNameAt(i), value);
+                        }
+                    }
+                }
+
+                Binding next = new Binding(target);
+                extraResults.entrySet().removeIf(entry -> {
+                    int slot = target.indexOf(entry.getKey());
+                    if (slot >= 0) {
+                        next.resultSlots.set(slot, entry.getValue());
+                    }
+                    return slot >= 0;
+                });
+                extraVariables.entrySet().removeIf(entry -> {
+                    int slot = target.variableIndexOf(entry.getKey());
+                    if (slot >= 0) {
+                        next.variableSlots.set(slot, entry.getValue());
+                    }
+                    return slot >= 0;
+                });
+                binding = next;
+                return next;
+            } finally {
+                bindSequence++;
+            }
+        }
+
+        /**
+         * 按名称写入结果或变量，wrapped 为null表示删除
+         *
+         * <p>写入期间开始了重新绑定时，迁移可能已错过本次写入，等待绑定完成后按新的槽位重写。</p>
+         */
+        private void write(boolean result, String name, Object wrapped) {
+            Map<String, Object> extras = result ? extraResults : extraVariables;
+            while (true) {
+                int sequence = bindSequence;
+                if ((sequence & 1) != 0) {
+                    awaitBind();
+                    continue;
+                }
+                Binding bound = binding;
+                int slot = bound == null ? -1 : result ? bound.plan.indexOf(name) : bound.plan.variableIndexOf(name);
+                if (slot >= 0) {
+                    (result ? bound.resultSlots : bound.variableSlots).set(slot, wrapped);
+                } else if (wrapped == null) {
+                    extras.remove(name);
+                } else {
+                    extras.put(name, wrapped);
+                }
+                if (bindSequence == sequence) {
+                    if (!result) {
+                        variableVersion.incrementAndGet();
+                    }
+                    return;
+                }
+                if (slot < 0 && wrapped != null) {
+                    extras.remove(name, wrapped);
+                }
+            }
+        }
+
+        /**
+         * 等待进行中的绑定完成（绑定持有上下文的监视器）
+         */
+        private synchronized void awaitBind() {
+        }
+
+        /**
+         * 按节点编号写入结果，调用方保证上下文已绑定
+         */
+        void setResultAt(int slot, Object result) {
+            int sequence = bindSequence;
+            Binding bound = binding;
+            if ((sequence & 1) == 0) {
+                bound.resultSlots.set(slot, wrap(result));
+                if (bindSequence == sequence) {
+                    return;
+                }
+            }
+            write(true, bound.plan.nodeIdAt(slot), wrap(result));
+        }
+
+        /**
+         * 节点是否已有结果，调用方保证上下文已绑定
+         */
+        boolean hasResultAt(int slot) {
+            return binding.resultSlots.get(slot) != null;
+        }
+
+        /**
+         * 按节点编号读取结果，调用方保证上下文已绑定
+         */
+        Object resultAt(int slot) {
+            return binding.peekResult(slot);
+        }
+
+        /**
+         * 释放节点结果：已写入的结果替换为释放标记，未写入（节点被跳过）时保持不变；
+         * 与重新绑定并发时迁移读到原值或释放标记均可，释放只是节省内存
+         */
+        void releaseResultAt(int slot) {
+            AtomicReferenceArray<Object> slots = binding.resultSlots;
+            if (slots.get(slot) != null) {
+                slots.set(slot, RELEASED);
+            }
+        }
+
+        /**
+         * 按节点编号写入原始类型结果，先写值再发布标记
+         */
+        void setLongResultAt(int slot, long result) {
+            int sequence = bindSequence;
+            Binding bound = binding;
+            if ((sequence & 1) == 0) {
+                bound.longSlots[slot] = result;
+                bound.resultSlots.set(slot, LONG_VALUE);
+                if (bindSequence == sequence) {
+                    return;
+                }
+            }
+            write(true, bound.plan.nodeIdAt(slot), result);
+        }
+
+        /**
+         * 执行计划与按其分配的槽位
+         */
+        private static final class Binding {
+
+            final BizFlowPlan plan;
+
+            /**
+             * 结果槽位，下标为节点编号
+             */
+            final AtomicReferenceArray<Object> resultSlots;
+
+            /**
+             * 原始类型结果槽位，对应结果槽位为 LONG_VALUE 时有效
+             */
+            final long[] longSlots;
+
+            /**
+             * 已声明变量的槽位
+             */
+            final AtomicReferenceArray<Object> variableSlots;
+
+            Binding(BizFlowPlan plan) {
+                this.plan = plan;
+                this.resultSlots = new AtomicReferenceArray<>(plan.getNodeCount());
+                this.longSlots = new long[plan.getNodeCount()];
+                this.variableSlots = new AtomicReferenceArray<>(plan.getVariableCount());
+            }
+
+            /**
+             * 读取结果，结果已释放时失败
+             */
+            Object readResult(int slot) {
+                Object value = resultSlots.get(slot);
+                Assert.orchestrationIsFalse(value == RELEASED, "节点结果已释放: " + plan.nodeIdAt(slot) + ", 读取它的节点需要通过 reads 声明依赖");
+                return value == LONG_VALUE ? Long.valueOf(longSlots[slot]) : unwrap(value);
+            }
+
+            /**
+             * 读取结果，已释放的结果视为 null
+             */
+            Object peekResult(int slot) {
+                Object value = resultSlots.get(slot);
+                if (value == RELEASED) {
+                    return null;
+                }
+                return value == LONG_VALUE ? Long.valueOf(longSlots[slot]) : unwrap(value);
+            }
+        }
+
+        private static Object wrap(Object value) {
+            return value == null ? NULL_VALUE : value;
+        }
+
+        private static Object unwrap(Object value) {
+            return value == NULL_VALUE ? null : value;
+        }
+
+        /**
+         * 槽位与附加映射合并而成的视图，不复制数据；结果视图只读，变量视图可写
+         */
+        private final class SlotMapView extends AbstractMap<String, Object> {
+
+            private final boolean results;
+
+            SlotMapView(boolean results) {
+                this.results = results;
+            }
+
+            @Override
+            public Object get(Object key) {
+                if (!(key instanceof String name)) {
+                    return null;
+                }
+                Binding bound = binding;
+                int slot = slotOf(bound, name);
+                return slot >= 0 ? read(bound, slot) : unwrap(extras().get(name));
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                if (!(key instanceof String name)) {
+                    return false;
+                }
+                Binding bound = binding;
+                int slot = slotOf(bound, name);
+                return slot >= 0 ? slots(bound).get(slot) != null : extras().containsKey(name);
+            }
+
+            @Override
+            public Object put(String key, Object value) {
+                if (results) {
+                    throw new UnsupportedOperationException("结果视图只读");
+                }
+                Object previous = get(key);
+                setVariable(key, value);
+                return previous;
+            }
+
+            @Override
+            public Object remove(Object key) {
+                if (results) {
+                    throw new UnsupportedOperationException("结果视图只读");
+                }
+                if (!(key instanceof String name)) {
+                    return null;
+                }
+                Object previous = get(name);
+                write(false, name, null);
+                return previous;
+            }
+
+            @Override
+            public Set<Entry<String, Object>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<String, Object>> iterator() {
+                        return new SlotIterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        int size = extras().size();
+                        Binding bound = binding;
+                        AtomicReferenceArray<Object> slots = bound == null ? null : slots(bound);
+                        for (int i = 0; slots != null && i < slots.length(); i++) {
+                            if (slots.get(i) != null) {
+                                size++;
+                            }
+                        }
+                        return size;
+                    }
+                };
+            }
+
+            private int slotOf(Binding bound, String name) {
+                if (bound == null) {
+                    return -1;
+                }
+                return results ? bound.plan.indexOf(name) : bound.plan.variableIndexOf(name);
+            }
+
+            private AtomicReferenceArray<Object> slots(Binding bound) {
+                return results ? bound.resultSlots : bound.variableSlots;
+            }
+
+            private Map<String, Object> extras() {
+                return results ? extraResults : extraVariables;
+            }
+
+            private Object read(Binding bound, int slot) {
+                return results ? bound.peekResult(slot) : unwrap(bound.variableSlots.get(slot));
+            }
+
+            /**
+             * 先遍历非空槽位，再遍历附加映射
+             */
+            private final class SlotIterator implements Iterator<Entry<String, Object>> {
+
+                private final Binding bound = binding;
+                private final AtomicReferenceArray<Object> slots = bound == null ? null : slots(bound);
+                private final Iterator<Entry<String, Object>> extraIterator = extras().entrySet().iterator();
+                private int next = advance(0);
+                private String last;
+
+                private int advance(int from) {
+                    int slot = from;
+                    while (slots != null && slot < slots.length() && slots.get(slot) == null) {
+                        slot++;
+                    }
+                    return slot;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return (slots != null && next < slots.length()) || extraIterator.hasNext();
+                }
+
+                @Override
+                public Entry<String, Object> next() {
+                    Entry<String, Object> entry;
+                    if (slots != null && next < slots.length()) {
+                        int slot = next;
+                        next = advance(slot + 1);
+                        String name = results ? bound.plan.nodeIdAt(slot) : bound.plan.variableNameAt(slot);
+                        entry = new SimpleImmutableEntry<>(name, read(bound, slot));
+                    } else {
+                        Entry<String, Object> extra = extraIterator.next();
+                        entry = new SimpleImmutableEntry<>(extra.getKey(), unwrap(extra.getValue()));
+                    }
+                    last = entry.getKey();
+                    return entry;
+                }
+
+                @Override
+                public void remove() {
+                    if (results) {
+                        throw new UnsupportedOperationException("结果视图只读");
+                    }
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    write(false, last, null);
+                    last = null;
+                }
+            }
         }
     }
 
@@ -525,6 +1858,16 @@ public class BizFlow {
          */
         private final Map<String, Object> results;
 
+        /**
+         * 各节点的执行记录（按开始时间排序，失败时包含失败前已执行的节点）
+         */
+        private final List<NodeExecution> nodeExecutions;
+
+        /**
+         * 执行中经过的连接（按声明顺序，未采样时为空）
+         */
+        private final List<TakenEdge> takenEdges;
+
         /**
          * 创建成功结果
          *
@@ -535,7 +1878,37 @@ public class BizFlow {
          * @return 成功结果实例
          */
         public static Result success(String id, LocalDateTime start, LocalDateTime end, Map<String, Object> results) {
-            return new Result(id, true, null, start, end, results);
+            return success(id, start, end, results, Collections.emptyList());
+        }
+
+        /**
+         * 创建带节点执行记录的成功结果
+         *
+         * @param id             编排ID
+         * @param start          开始时间
+         * @param end            结束时间
+         * @param results        执行结果
+         * @param nodeExecutions 节点执行记录
+         * @return 成功结果实例
+         */
+        public static Result success(String id, LocalDateTime start, LocalDateTime end, Map<String, Object> results, List<NodeExecution> nodeExecutions) {
+            return success(id, start, end, results, nodeExecutions, Collections.emptyList());
+        }
+
+        /**
+         * 创建带执行轨迹的成功结果
+         *
+         * @param id             编排ID
+         * @param start          开始时间
+         * @param end            结束时间
+         * @param results        执行结果
+         * @param nodeExecutions 节点执行记录
+         * @param takenEdges     经过的连接
+         * @return 成功结果实例
+         */
+        public static Result success(String id, LocalDateTime start, LocalDateTime end, Map<String, Object> results,
+                                     List<NodeExecution> nodeExecutions, List<TakenEdge> takenEdges) {
+            return new Result(id, true, null, start, end, results, Collections.unmodifiableList(nodeExecutions), Collections.unmodifiableList(takenEdges));
         }
 
         /**
@@ -548,7 +1921,37 @@ public class BizFlow {
          * @return 失败结果实例
          */
         public static Result failure(String id, String error, LocalDateTime start, LocalDateTime end) {
-            return new Result(id, false, error, start, end, null);
+            return failure(id, error, start, end, Collections.emptyList());
+        }
+
+        /**
+         * 创建带节点执行记录的失败结果
+         *
+         * @param id             编排ID
+         * @param error          错误信息
+         * @param start          开始时间
+         * @param end            结束时间
+         * @param nodeExecutions 失败前已执行节点的执行记录
+         * @return 失败结果实例
+         */
+        public static Result failure(String id, String error, LocalDateTime start, LocalDateTime end, List<NodeExecution> nodeExecutions) {
+            return failure(id, error, start, end, nodeExecutions, Collections.emptyList());
+        }
+
+        /**
+         * 创建带执行轨迹的失败结果
+         *
+         * @param id             编排ID
+         * @param error          错误信息
+         * @param start          开始时间
+         * @param end            结束时间
+         * @param nodeExecutions 失败前已执行节点的执行记录
+         * @param takenEdges     失败前经过的连接
+         * @return 失败结果实例
+         */
+        public static Result failure(String id, String error, LocalDateTime start, LocalDateTime end,
+                                     List<NodeExecution> nodeExecutions, List<TakenEdge> takenEdges) {
+            return new Result(id, false, error, start, end, null, Collections.unmodifiableList(nodeExecutions), Collections.unmodifiableList(takenEdges));
         }
 
         /**
@@ -557,7 +1960,31 @@ public class BizFlow {
          * @return 执行耗时
          */
         public long getExecutionTimeMillis() {
-            return java.time.Duration.between(startTime, endTime).toMillis();
+            return Duration.between(startTime, endTime).toMillis();
+        }
+
+        /**
+         * 获取执行轨迹（关键路径分析与导出）
+         *
+         * @return 执行轨迹
+         */
+        public FlowTrace getTrace() {
+            return new FlowTrace(this);
+        }
+
+        /**
+         * 获取超时节点ID
+         *
+         * @return 执行超时的节点ID（包括走了降级路径的节点）
+         */
+        public List<String> getTimedOutNodeIds() {
+            List<String> ids = new ArrayList<>();
+            for (NodeExecution execution : nodeExecutions) {
+                if (execution.isTimedOut()) {
+                    ids.add(execution.getNodeId());
+                }
+            }
+            return ids;
         }
     }
 
@@ -567,7 +1994,7 @@ public class BizFlow {
      * <p>定义节点间的执行顺序和条件</p>
      */
     @RequiredArgsConstructor
-    private static class Connection {
+    static class Connection {
         /**
          * 源节点ID
          */
@@ -589,13 +2016,22 @@ public class BizFlow {
         final Function<Context, Boolean> conditionCheck;
 
         /**
-         * 判断是否应该执行此连接
+         * 是否为超时降级连接（仅在源节点超时时激活）
+         */
+        final boolean timeoutEdge;
+
+        Connection(String from, String to, String condition, Function<Context, Boolean> conditionCheck) {
+            this(from, to, condition, conditionCheck, false);
+        }
+
+        /**
+         * 判断源节点正常完成后是否应该执行此连接
          *
          * @param context 执行上下文
          * @return 如果应该执行返回 true，否则返回 false
          */
         boolean canExecute(Context context) {
-            return conditionCheck == null || conditionCheck.apply(context);
+            return !timeoutEdge && (conditionCheck == null || conditionCheck.apply(context));
         }
     }
 
@@ -608,11 +2044,15 @@ public class BizFlow {
      *   <li>Query节点：执行查询操作</li>
      *   <li>Condition节点：执行条件判断</li>
      *   <li>Generic节点：执行自定义逻辑</li>
+     *   <li>ForEach节点：对集合元素执行命令、查询或子流程</li>
      * </ul>
+     *
+     * <p>命令与查询节点额外提供基于总线 sendAsync 的非阻塞执行逻辑，
+     * 以及批量执行时按节点合并发送的 sendBatch 逻辑。</p>
      */
     @RequiredArgsConstructor
     @Getter
-    private static class GenericNode {
+    static class GenericNode {
         /**
          * 节点唯一标识
          */
@@ -633,6 +2073,41 @@ public class BizFlow {
          */
         private final Function<Context, Object> executor;
 
+        /**
+         * 节点非阻塞执行逻辑（仅命令与查询节点有值）
+         */
+        private final Function<Context, CompletableFuture<Object>> asyncExecutor;
+
+        /**
+         * 批量执行时构建节点消息（命令或查询）的函数（仅命令与查询节点有值）
+         */
+        private final Function<Context, ?> messageBuilder;
+
+        /**
+         * 批量发送消息的函数（仅命令与查询节点有值）
+         */
+        private final Function<List<?>, List<CompletableFuture<Object>>> batchSender;
+
+        /**
+         * 不装箱的 long 执行逻辑（仅 long 通用节点有值）
+         */
+        private final ToLongFunction<Context> longExecutor;
+
+        GenericNode(String id, String name, String shape, Function<Context, Object> executor) {
+            this(id, name, shape, executor, null);
+        }
+
+        GenericNode(String id, String name, String shape, Function<Context, Object> executor,
+                    Function<Context, CompletableFuture<Object>> asyncExecutor) {
+            this(id, name, shape, executor, asyncExecutor, null, null);
+        }
+
+        GenericNode(String id, String name, String shape, Function<Context, Object> executor,
+                    Function<Context, CompletableFuture<Object>> asyncExecutor, Function<Context, ?> messageBuilder,
+                    Function<List<?>, List<CompletableFuture<Object>>> batchSender) {
+            this(id, name, shape, executor, asyncExecutor, messageBuilder, batchSender, null);
+        }
+
         /**
          * 执行节点逻辑
          *
@@ -642,5 +2117,75 @@ public class BizFlow {
         Object execute(Context context) {
             return executor.apply(context);
         }
+
+        /**
+         * 是否产生原始 long 结果
+         */
+        boolean isLongValued() {
+            return longExecutor != null;
+        }
+
+        /**
+         * 执行节点逻辑并返回原始 long 结果
+         *
+         * @param context 执行上下文
+         * @return 执行结果
+         */
+        long executeLong(Context context) {
+            return longExecutor.applyAsLong(context);
+        }
+
+        /**
+         * 是否为命令节点
+         */
+        boolean isCommand() {
+            return "<<command>>".equals(shape);
+        }
+
+        /**
+         * 是否支持非阻塞执行
+         */
+        boolean isAsync() {
+            return asyncExecutor != null;
+        }
+
+        /**
+         * 非阻塞执行节点逻辑
+         *
+         * @param context 执行上下文
+         * @return 执行结果的 Future
+         */
+        CompletableFuture<Object> executeAsync(Context context) {
+            return asyncExecutor.apply(context);
+        }
+
+        /**
+         * 是否支持批量发送
+         */
+        boolean isBatchable() {
+            return batchSender != null;
+        }
+
+        /**
+         * 构建节点消息
+         *
+         * @param context 执行上下文
+         * @return 命令或查询
+         */
+        Object buildMessage(Context context) {
+            Object message = messageBuilder.apply(context);
+            Assert.orchestrationNotNull(message, "构建的" + (isCommand() ? "命令" : "查询") + "不能为空");
+            return message;
+        }
+
+        /**
+         * 批量发送节点消息
+         *
+         * @param messages 命令或查询列表
+         * @return 与消息一一对应的结果 Future
+         */
+        List<CompletableFuture<Object>> sendBatch(List<?> messages) {
+            return batchSender.apply(messages);
+        }
     }
 }
\ No newline at end of file
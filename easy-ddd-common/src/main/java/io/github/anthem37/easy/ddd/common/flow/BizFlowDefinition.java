@@ -0,0 +1,140 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Context;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Result;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 业务编排定义
+ *
+ * <p>由 {@link BizFlow#define()} 生成，节点、连接、总线与时限等配置在生成时校验并编译完成，
+ * 之后不可变且线程安全，可作为单例（例如 Spring Bean）在所有请求间共享：</p>
+ * <pre>{@code
+ * @Bean
+ * public BizFlowDefinition orderFlow(ICommandBus commandBus, IQueryBus queryBus) {
+ *     return new BizFlow("order", "下单", commandBus, queryBus)
+ *             .addQuery("stock", "查询库存", ctx -> new StockQuery(ctx.getVariable("skuId", Long.class)))
+ *             .addCommand("create", "创建订单", ctx -> new CreateOrderCommand(...))
+ *             .connect("stock", "create")
+ *             .define();
+ * }
+ *
+ * Result result = orderFlow.newRun().variable("skuId", skuId).execute();
+ * }</pre>
+ *
+ * <p>每次请求通过 {@link #newRun()} 创建轻量的 {@link BizFlowRun}，只分配本次运行的上下文，
+ * 不再重复构建与校验流程图。生成定义后继续修改原 {@link BizFlow} 不影响已生成的定义。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 18:05:33
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class BizFlowDefinition {
+
+    /**
+     * 编译后的执行计划
+     */
+    @Getter
+    private final BizFlowPlan plan;
+
+    /**
+     * 生成定义时渲染的 PlantUML 流程图
+     */
+    private final String plantUml;
+
+    /**
+     * 编排ID
+     */
+    public String getId() {
+        return plan.getId();
+    }
+
+    /**
+     * 编排名称
+     */
+    public String getName() {
+        return plan.getName();
+    }
+
+    /**
+     * 创建一次运行，运行ID随机生成
+     *
+     * @return 运行
+     */
+    public BizFlowRun newRun() {
+        return new BizFlowRun(plan, plan.newContext());
+    }
+
+    /**
+     * 创建指定运行ID的运行
+     *
+     * @param runId 运行ID
+     * @return 运行
+     */
+    public BizFlowRun newRun(String runId) {
+        return new BizFlowRun(plan, plan.newContext(runId));
+    }
+
+    /**
+     * 从检查点恢复执行
+     *
+     * @see BizFlowPlan#resume(String)
+     */
+    public Result resume(String runId) {
+        return plan.resume(runId);
+    }
+
+    /**
+     * 以默认并发上限批量执行
+     *
+     * @see BizFlowPlan#executeBatch(List)
+     */
+    public List<Result> executeBatch(List<Context> contexts) {
+        return plan.executeBatch(contexts);
+    }
+
+    /**
+     * 批量执行
+     *
+     * @see BizFlowPlan#executeBatch(List, int)
+     */
+    public List<Result> executeBatch(List<Context> contexts, int maxConcurrency) {
+        return plan.executeBatch(contexts, maxConcurrency);
+    }
+
+    /**
+     * 获取节点结果的类型化键
+     *
+     * @see BizFlowPlan#resultKey(String, Class)
+     */
+    public <T> ResultKey<T> resultKey(String nodeId, Class<T> type) {
+        return plan.resultKey(nodeId, type);
+    }
+
+    /**
+     * 获取已声明变量的类型化键
+     *
+     * @see BizFlowPlan#variableKey(String, Class)
+     */
+    public <T> VariableKey<T> variableKey(String name, Class<T> type) {
+        return plan.variableKey(name, type);
+    }
+
+    /**
+     * 导出 PlantUML 流程图
+     *
+     * @return PlantUML 格式的流程图
+     */
+    public String toPlantUML() {
+        return plantUml;
+    }
+
+    @Override
+    public String toString() {
+        return "BizFlowDefinition[" + plan.getId() + ": " + plan.getName() + ", 节点: " + plan.getNodeCount() + "]";
+    }
+}
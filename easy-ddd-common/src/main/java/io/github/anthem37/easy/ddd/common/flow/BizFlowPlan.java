@@ -0,0 +1,1220 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
+import io.github.anthem37.easy.ddd.common.exception.BizFlowException;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Connection;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Context;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.GenericNode;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Result;
+import io.github.anthem37.easy.ddd.common.flow.checkpoint.FlowCheckpoint;
+import io.github.anthem37.easy.ddd.common.flow.checkpoint.FlowCheckpointProgress;
+import io.github.anthem37.easy.ddd.common.flow.checkpoint.FlowCheckpointWriter;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 编译后的业务编排执行计划
+ *
+ * <p>由 {@link BizFlow#compile()} 生成，创建后不可变且线程安全：</p>
+ * <ul>
+ *   <li>节点按添加顺序编号为整数下标</li>
+ *   <li>每个节点的出边预先整理为数组，执行时无需扫描全部连接</li>
+ *   <li>入口节点与拓扑序在编译期计算</li>
+ *   <li>编译期检测循环依赖，执行期不再做次数估算</li>
+ * </ul>
+ *
+ * <p>执行时只分配本次运行所需的状态（待执行队列与入队标记）。</p>
+ *
+ * <p>节点编号同时是结果槽位：执行开始时上下文按计划分配结果数组与已声明变量的数组，
+ * 通过 {@link #resultKey(String, Class)}、{@link #variableKey(String, Class)} 解析出的键直接按下标读写。</p>
+ *
+ * <p>支持以下执行模式：</p>
+ * <ul>
+ *   <li>顺序执行 {@link #execute(Context)}：在调用线程中按广度优先顺序逐个执行</li>
+ *   <li>并行执行 {@link #executeParallel(Context, Executor)}：就绪节点并发执行，
+ *   有多个前驱的节点等待全部前驱结束后再执行</li>
+ *   <li>异步执行 {@link #executeAsync(Context, Executor)}：调度规则与并行执行相同，
+ *   命令与查询节点通过总线 sendAsync 非阻塞执行，立即返回结果 Future</li>
+ *   <li>流式执行 {@link #executeStreaming(Context, Executor)}：以异步模式执行，
+ *   同时把每个节点的完成事件发布为 {@link java.util.concurrent.Flow.Publisher}</li>
+ *   <li>批量执行 {@link #executeBatch(List, int)}：多个上下文按节点分层推进，
+ *   命令与查询节点对整批上下文调用一次总线 sendBatch</li>
+ * </ul>
+ *
+ * <p>三种模式遵循相同的时限规则：节点可用时间为节点时限与上下文剩余时间中的较小者，
+ * 超时节点若声明了超时连接则只激活超时连接，否则流程失败并在 {@link Result} 中标记超时节点。
+ * 阻塞模式下限时节点在虚拟线程中执行，超时后尝试中断。</p>
+ *
+ * <p>启用检查点时，每个节点完成后提交检查点（异步写入），运行成功后删除检查点；
+ * {@link #resume(String)} 从检查点恢复上下文并跳过已完成的节点。</p>
+ *
+ * <p>声明了输出节点时启用结果保留模式：编译期按 {@code reads} 声明计算每个结果的读取者数量，
+ * 运行中结果的全部读取者结束后即释放该结果，成功的 {@link Result} 只包含输出节点的结果。</p>
+ *
+ * <p>每次运行按采样率决定是否记录执行轨迹（各节点起止时间与经过的连接），
+ * 记录为预分配数组上的单次写入，关键路径与导出在读取 {@link Result#getTrace()} 时才计算。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 14:02:37
+ */
+public final class BizFlowPlan {
+
+    private static final int[] NO_EDGES = new int[0];
+
+    /**
+     * 批量执行时默认同时推进的上下文数量
+     */
+    public static final int DEFAULT_BATCH_CONCURRENCY = 1000;
+
+    /**
+     * 未指定执行器时并行模式使用的虚拟线程执行器
+     */
+    private static final ExecutorService VIRTUAL_THREAD_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Getter
+    private final String id;
+
+    @Getter
+    private final String name;
+
+    /**
+     * 节点，下标即节点编号
+     */
+    private final GenericNode[] nodes;
+
+    /**
+     * 连接，下标即边编号
+     */
+    private final Connection[] edges;
+
+    /**
+     * 每条边的目标节点编号
+     */
+    private final int[] edgeTargets;
+
+    /**
+     * 每个节点的出边编号
+     */
+    private final int[][] outgoing;
+
+    /**
+     * 每个节点的入边数量
+     */
+    private final int[] inDegrees;
+
+    /**
+     * 入口节点编号（没有入边的节点）
+     */
+    private final int[] entryNodes;
+
+    /**
+     * 拓扑序
+     */
+    private final int[] topologicalOrder;
+
+    /**
+     * 节点ID到编号的映射
+     */
+    private final Map<String, Integer> indexById;
+
+    /**
+     * 已声明的变量名，下标即变量槽位
+     */
+    private final String[] variableNames;
+
+    /**
+     * 变量名到槽位的映射
+     */
+    private final Map<String, Integer> variableIndexByName;
+
+    /**
+     * 每个节点的时限（纳秒），0表示不限时
+     */
+    private final long[] timeoutNanos;
+
+    /**
+     * 每个节点是否声明了超时连接
+     */
+    private final boolean[] hasTimeoutEdges;
+
+    /**
+     * 启用预取的节点编号
+     */
+    private final int[] speculativeNodes;
+
+    /**
+     * 每个预取节点的输入节点编号，非预取节点为null
+     */
+    private final int[][] speculationInputs;
+
+    /**
+     * 每个节点作为输入的预取节点编号
+     */
+    private final int[][] speculationDependents;
+
+    /**
+     * 每个预取节点的统计，非预取节点为null
+     */
+    private final SpeculationStats[] speculationStats;
+
+    /**
+     * 是否启用结果保留模式
+     */
+    private final boolean retention;
+
+    /**
+     * 每个节点是否为输出节点（未启用结果保留模式时为null）
+     */
+    private final boolean[] outputs;
+
+    /**
+     * 输出节点编号（按声明顺序）
+     */
+    private final int[] outputIndexes;
+
+    /**
+     * 每个节点读取的结果（节点编号），未声明的节点视为读取全部其他节点
+     */
+    private final int[][] reads;
+
+    /**
+     * 每个结果的初始存活计数：1 + 读取者数量
+     */
+    private final int[] liveCounts;
+
+    /**
+     * 流程整体时限（纳秒），0表示不限时
+     */
+    private final long flowTimeoutNanos;
+
+    /**
+     * 检查点写入器，为null表示不启用检查点
+     */
+    private final FlowCheckpointWriter checkpointWriter;
+
+    /**
+     * 执行轨迹采样率（0~1）
+     */
+    @Getter
+    private final double traceSampleRate;
+
+    BizFlowPlan(String id, String name, List<GenericNode> nodeList, List<Connection> connectionList,
+                Collection<String> declaredVariables, Map<String, Duration> nodeTimeouts, Collection<SpeculationStats> speculations,
+                Map<String, ? extends Collection<String>> nodeReads, Collection<String> outputNodeIds, Duration flowTimeout, FlowCheckpointWriter checkpointWriter,
+                double traceSampleRate) {
+        this.id = id;
+        this.name = name;
+        this.nodes = nodeList.toArray(new GenericNode[0]);
+        this.edges = connectionList.toArray(new Connection[0]);
+
+        Map<String, Integer> indexes = new HashMap<>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            indexes.put(nodes[i].getId(), i);
+        }
+        this.indexById = Collections.unmodifiableMap(indexes);
+
+        this.variableNames = declaredVariables.toArray(new String[0]);
+        Map<String, Integer> variableIndexes = new HashMap<>(variableNames.length * 2);
+        for (int i = 0; i < variableNames.length; i++) {
+            variableIndexes.put(variableNames[i], i);
+        }
+        this.variableIndexByName = Collections.unmodifiableMap(variableIndexes);
+
+        int n = nodes.length;
+        this.edgeTargets = new int[edges.length];
+        this.inDegrees = new int[n];
+        int[] outCounts = new int[n];
+        int[] edgeSources = new int[edges.length];
+        for (int e = 0; e < edges.length; e++) {
+            Integer from = indexes.get(edges[e].from);
+            Integer to = indexes.get(edges[e].to);
+            Assert.orchestrationNotNull(from, "连接中的源节点不存在: " + edges[e].from);
+            Assert.orchestrationNotNull(to, "连接中的目标节点不存在: " + edges[e].to);
+            edgeSources[e] = from;
+            edgeTargets[e] = to;
+            outCounts[from]++;
+            inDegrees[to]++;
+        }
+
+        // 出边邻接数组，保持连接声明顺序
+        this.outgoing = new int[n][];
+        int[] filled = new int[n];
+        for (int i = 0; i < n; i++) {
+            outgoing[i] = outCounts[i] == 0 ? NO_EDGES : new int[outCounts[i]];
+        }
+        for (int e = 0; e < edges.length; e++) {
+            int from = edgeSources[e];
+            outgoing[from][filled[from]++] = e;
+        }
+
+        int entryCount = 0;
+        int[] entries = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (inDegrees[i] == 0) {
+                entries[entryCount++] = i;
+            }
+        }
+        this.entryNodes = Arrays.copyOf(entries, entryCount);
+        Assert.orchestrationIsFalse(entryNodes.length == 0 && n > 0, "没有找到入口节点");
+        this.topologicalOrder = topologicalSort();
+
+        this.timeoutNanos = new long[n];
+        nodeTimeouts.forEach((nodeId, timeout) -> {
+            Integer index = indexes.get(nodeId);
+            Assert.orchestrationNotNull(index, "时限对应的节点不存在: " + nodeId);
+            timeoutNanos[index] = timeout.toNanos();
+        });
+        this.hasTimeoutEdges = new boolean[n];
+        for (int e = 0; e < edges.length; e++) {
+            if (edges[e].timeoutEdge) {
+                hasTimeoutEdges[edgeSources[e]] = true;
+            }
+        }
+
+        this.speculativeNodes = new int[speculations.size()];
+        this.speculationInputs = new int[n][];
+        this.speculationStats = new SpeculationStats[n];
+        int[] dependentCounts = new int[n];
+        int speculative = 0;
+        for (SpeculationStats stats : speculations) {
+            Integer index = indexes.get(stats.getNodeId());
+            Assert.orchestrationNotNull(index, "预取对应的节点不存在: " + stats.getNodeId());
+            int[] inputs = new int[stats.getInputNodeIds().size()];
+            for (int i = 0; i < inputs.length; i++) {
+                Integer input = indexes.get(stats.getInputNodeIds().get(i));
+                Assert.orchestrationNotNull(input, "预取依赖的节点不存在: " + stats.getInputNodeIds().get(i));
+                inputs[i] = input;
+                dependentCounts[input]++;
+            }
+            speculativeNodes[speculative++] = index;
+            speculationInputs[index] = inputs;
+            speculationStats[index] = stats;
+        }
+        this.speculationDependents = new int[n][];
+        for (int i = 0; i < n; i++) {
+            speculationDependents[i] = dependentCounts[i] == 0 ? NO_EDGES : new int[dependentCounts[i]];
+            dependentCounts[i] = 0;
+        }
+        for (int node : speculativeNodes) {
+            for (int input : speculationInputs[node]) {
+                speculationDependents[input][dependentCounts[input]++] = node;
+            }
+        }
+
+        this.retention = !outputNodeIds.isEmpty();
+        this.outputIndexes = new int[outputNodeIds.size()];
+        this.outputs = retention ? new boolean[n] : null;
+        this.reads = new int[n][];
+        this.liveCounts = new int[n];
+        if (retention) {
+            int output = 0;
+            for (String outputNodeId : outputNodeIds) {
+                Integer index = indexes.get(outputNodeId);
+                Assert.orchestrationNotNull(index, "输出节点不存在: " + outputNodeId);
+                outputIndexes[output++] = index;
+                outputs[index] = true;
+            }
+            int[] allOthers = new int[Math.max(0, n - 1)];
+            for (int i = 0; i < n; i++) {
+                Collection<String> declared = nodeReads.get(nodes[i].getId());
+                if (declared == null) {
+                    int size = 0;
+                    for (int other = 0; other < n; other++) {
+                        if (other != i) {
+                            allOthers[size++] = other;
+                        }
+                    }
+                    reads[i] = allOthers.clone();
+                } else {
+                    int[] inputs = new int[declared.size()];
+                    int size = 0;
+                    for (String input : declared) {
+                        Integer index = indexes.get(input);
+                        Assert.orchestrationNotNull(index, "节点 " + nodes[i].getId() + " 声明读取的节点不存在: " + input);
+                        if (index != i) {
+                            inputs[size++] = index;
+                        }
+                    }
+                    reads[i] = Arrays.copyOf(inputs, size);
+                }
+                liveCounts[i]++;
+                for (int input : reads[i]) {
+                    liveCounts[input]++;
+                }
+            }
+        } else {
+            Arrays.fill(reads, NO_EDGES);
+        }
+
+        this.flowTimeoutNanos = flowTimeout == null ? 0L : flowTimeout.toNanos();
+        this.checkpointWriter = checkpointWriter;
+        this.traceSampleRate = traceSampleRate;
+    }
+
+    // ========== 执行 ==========
+
+    /**
+     * 使用新的上下文执行
+     */
+    public Result execute() {
+        return execute(newContext());
+    }
+
+    /**
+     * 创建已绑定本计划的上下文
+     *
+     * @return 执行上下文
+     */
+    public Context newContext() {
+        Context context = new Context(id);
+        context.bindTo(this);
+        return context;
+    }
+
+    /**
+     * 创建指定运行ID、已绑定本计划的上下文
+     *
+     * @param runId 运行ID
+     * @return 执行上下文
+     */
+    public Context newContext(String runId) {
+        Context context = new Context(id, runId);
+        context.bindTo(this);
+        return context;
+    }
+
+    /**
+     * 执行计划
+     *
+     * <p>从入口节点开始按广度优先顺序执行，节点执行后沿满足条件的出边激活后续节点，
+     * 每个节点至多执行一次。</p>
+     *
+     * @param context 执行上下文
+     * @return 执行结果
+     */
+    public Result execute(Context context) {
+        return execute(context, Collections.emptySet(), null);
+    }
+
+    /**
+     * 从检查点恢复执行
+     *
+     * <p>按运行ID读取最新检查点，恢复上下文变量与节点结果，
+     * 检查点中已完成的节点不再执行，只激活原运行中经过的出边，不重新判断连接条件
+     * （未记录连接的旧检查点按恢复的结果重新判断）。
+     * 恢复后的运行沿用原运行ID，继续写入检查点。</p>
+     *
+     * @param runId 运行ID
+     * @return 执行结果
+     */
+    public Result resume(String runId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (checkpointWriter == null) {
+            return Result.failure(id, "编排未启用检查点: " + id, now, now);
+        }
+        Optional<FlowCheckpoint> checkpoint;
+        try {
+            checkpoint = checkpointWriter.load(id, runId);
+        } catch (Exception e) {
+            return Result.failure(id, e.getMessage(), now, now);
+        }
+        if (checkpoint.isEmpty()) {
+            return Result.failure(id, "未找到检查点: " + id + "/" + runId, now, now);
+        }
+
+        FlowCheckpoint restored = checkpoint.get();
+        Context context = newContext(runId);
+        restored.getVariables().forEach(context::setVariable);
+        restored.getResults().forEach(context::setResult);
+        context.restoreCheckpointProgress(new FlowCheckpointProgress(restored));
+        return execute(context, restored.getCompletedNodeIds(), restored.getTakenEdges());
+    }
+
+    private Result execute(Context context, Set<String> completedNodeIds, Set<String> takenEdges) {
+        long startedAt = prepare(context);
+        LocalDateTime startTime = LocalDateTime.now();
+        ExecutionRecorder recorder = newRecorder();
+
+        try {
+            runNodes(context, completedNodeIds, takenEdges, recorder, startedAt);
+            finishCheckpoint(context);
+            return success(context, startTime, recorder);
+        } catch (Exception e) {
+            return failure(e.getMessage(), startTime, recorder);
+        }
+    }
+
+    /**
+     * 使用虚拟线程并行执行
+     *
+     * @param context 执行上下文
+     * @return 执行结果
+     */
+    public Result executeParallel(Context context) {
+        return executeParallel(context, VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    /**
+     * 并行执行计划
+     *
+     * <p>互不依赖的分支在执行器上并发执行；有多个前驱的节点等待全部前驱结束
+     * （执行完成，或因条件不成立被跳过）后，只要有一条入边条件成立就执行。
+     * 调用线程阻塞至流程结束，{@link Context} 与 {@link Result} 的约定与顺序执行一致。</p>
+     *
+     * @param context  执行上下文
+     * @param executor 节点执行器
+     * @return 执行结果
+     */
+    public Result executeParallel(Context context, Executor executor) {
+        Assert.orchestrationNotNull(executor, "执行器不能为空");
+        long startedAt = prepare(context);
+        LocalDateTime startTime = LocalDateTime.now();
+        ExecutionRecorder recorder = newRecorder();
+        ParallelFlowExecution execution = new ParallelFlowExecution(this, context, startedAt, executor, recorder);
+
+        try {
+            execution.start().join();
+            finishCheckpoint(context);
+            return success(context, startTime, recorder);
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return failure(cause.getMessage(), startTime, recorder);
+        } catch (Exception e) {
+            return failure(e.getMessage(), startTime, recorder);
+        }
+    }
+
+    /**
+     * 异步执行，其余节点在虚拟线程中执行
+     *
+     * @param context 执行上下文
+     * @return 执行结果的 Future
+     */
+    public CompletableFuture<Result> executeAsync(Context context) {
+        return executeAsync(context, null);
+    }
+
+    /**
+     * 异步执行计划
+     *
+     * <p>调度规则与 {@link #executeParallel(Context, Executor)} 相同，区别在于：</p>
+     * <ul>
+     *   <li>命令与查询节点调用总线的 sendAsync，等待结果期间不占用任何线程</li>
+     *   <li>其余节点与节点完成后的后续调度提交到指定执行器，执行器为null时使用虚拟线程，
+     *   调用线程与总线的工作线程不会执行流程中的用户代码</li>
+     *   <li>调用线程不等待流程结束，流程失败时返回的 Future 以失败的 {@link Result} 正常完成</li>
+     * </ul>
+     *
+     * @param context  执行上下文
+     * @param executor 非命令、查询节点的执行器，可为null
+     * @return 执行结果的 Future
+     */
+    public CompletableFuture<Result> executeAsync(Context context, Executor executor) {
+        return executeAsync(context, executor, null);
+    }
+
+    /**
+     * 流式执行，其余节点在虚拟线程中执行
+     *
+     * @param context 执行上下文
+     * @return 节点完成事件的发布者
+     */
+    public BizFlowStream executeStreaming(Context context) {
+        return executeStreaming(context, null);
+    }
+
+    /**
+     * 流式执行计划
+     *
+     * <p>按 {@link #executeAsync(Context, Executor)} 的规则执行，立即返回 {@link BizFlowStream}；
+     * 每个节点完成时发布携带节点ID、结果与耗时的 {@link NodeCompletion}，
+     * 可在流程尾部的慢节点结束前就开始向调用方输出先完成的结果。</p>
+     *
+     * @param context  执行上下文
+     * @param executor 非命令、查询节点的执行器，可为null
+     * @return 节点完成事件的发布者
+     */
+    public BizFlowStream executeStreaming(Context context, Executor executor) {
+        BizFlowStream stream = new BizFlowStream(context, nodes.length, VIRTUAL_THREAD_EXECUTOR);
+        executeAsync(context, executor, stream::nodeFinished).thenAccept(stream::finish);
+        return stream;
+    }
+
+    private CompletableFuture<Result> executeAsync(Context context, Executor executor, ExecutionRecorder.NodeListener listener) {
+        long startedAt = prepare(context);
+        LocalDateTime startTime = LocalDateTime.now();
+        ExecutionRecorder recorder = newRecorder(listener);
+        ParallelFlowExecution execution = new ParallelFlowExecution(this, context, startedAt, executor, true, recorder);
+
+        CompletableFuture<Void> completion;
+        try {
+            completion = execution.start();
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(failure(e.getMessage(), startTime, recorder));
+        }
+        return completion.handle((ignored, error) -> {
+            if (error == null) {
+                finishCheckpoint(context);
+                return success(context, startTime, recorder);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            return failure(cause.getMessage(), startTime, recorder);
+        });
+    }
+
+    /**
+     * 以默认并发上限批量执行
+     *
+     * @param contexts 执行上下文列表
+     * @return 与上下文一一对应的执行结果
+     */
+    public List<Result> executeBatch(List<Context> contexts) {
+        return executeBatch(contexts, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    /**
+     * 批量执行计划
+     *
+     * <p>同一流程对大量上下文执行时，逐个 {@link #execute(Context)} 会产生上下文数 × 节点数次单条总线分发。
+     * 批量执行把上下文按 maxConcurrency 切分为窗口，窗口内按拓扑序逐个节点推进全部上下文，
+     * 命令与查询节点通过总线的 sendBatch 一次发送整个窗口的消息（总线可再按处理器合并为批量处理），
+     * 其余节点在虚拟线程上为窗口内的上下文并发执行（不能批量发送的命令节点仍在调用线程执行）。
+     * 因此 maxConcurrency 同时是窗口大小与单个节点同时执行的上下文数量上限；
+     * 窗口之间依次执行，上一个窗口结束后才开始下一个窗口。</p>
+     *
+     * <p>每个上下文得到独立的 {@link Result}，单个上下文失败不影响其他上下文；
+     * 时限、检查点与执行轨迹的规则与单次执行一致。</p>
+     *
+     * @param contexts       执行上下文列表
+     * @param maxConcurrency 窗口大小，即同时推进、同时执行的上下文数量上限
+     * @return 与上下文一一对应的执行结果
+     */
+    public List<Result> executeBatch(List<Context> contexts, int maxConcurrency) {
+        Assert.orchestrationNotNull(contexts, "上下文列表不能为空");
+        Assert.orchestrationIsTrue(maxConcurrency > 0, "并发上限必须为正");
+
+        List<Result> results = new ArrayList<>(contexts.size());
+        for (int from = 0; from < contexts.size(); from += maxConcurrency) {
+            List<Context> window = contexts.subList(from, Math.min(from + maxConcurrency, contexts.size()));
+            ExecutionRecorder[] recorders = new ExecutionRecorder[window.size()];
+            long[] startedAts = new long[window.size()];
+            for (int i = 0; i < window.size(); i++) {
+                startedAts[i] = prepare(window.get(i));
+                recorders[i] = newRecorder();
+            }
+            LocalDateTime startTime = LocalDateTime.now();
+            try {
+                results.addAll(new BatchFlowExecution(this, window, startedAts, recorders).run());
+            } catch (Exception e) {
+                for (ExecutionRecorder recorder : recorders) {
+                    results.add(failure(e.getMessage(), startTime, recorder));
+                }
+            }
+        }
+        return results;
+    }
+
+    private void runNodes(Context context, Set<String> completedNodeIds, Set<String> takenEdges, ExecutionRecorder recorder, long startedAt) {
+        SpeculativePrefetch prefetch = newPrefetch(context);
+        try {
+            runNodes(context, completedNodeIds, takenEdges, recorder, startedAt, prefetch);
+        } finally {
+            if (prefetch != null) {
+                prefetch.finish();
+            }
+        }
+    }
+
+    /**
+     * 顺序执行节点；completedNodeIds 中的节点为检查点恢复的已完成节点，不再执行，
+     * 其出边按 takenEdges 激活（为null时按恢复的结果重新判断条件）
+     */
+    private void runNodes(Context context, Set<String> completedNodeIds, Set<String> takenEdges, ExecutionRecorder recorder, long startedAt, SpeculativePrefetch prefetch) {
+        int[] queue = new int[nodes.length];
+        boolean[] enqueued = new boolean[nodes.length];
+        ResultRetention retention = newRetention(context);
+        int[] unresolvedIn = retention == null ? null : inDegrees.clone();
+        int[] skipStack = retention == null ? null : new int[nodes.length];
+        int head = 0;
+        int tail = 0;
+        for (int entry : entryNodes) {
+            queue[tail++] = entry;
+            enqueued[entry] = true;
+        }
+
+        while (head < tail) {
+            int index = queue[head++];
+            GenericNode node = nodes[index];
+            long nodeStart = recorder.now();
+            try {
+                boolean restored = completedNodeIds.contains(node.getId());
+                if (!restored) {
+                    runAndStore(index, context, startedAt, prefetch);
+                    recorder.nodeFinished(index, nodeStart, false);
+                    if (prefetch != null) {
+                        prefetch.nodeCompleted(index);
+                    }
+                }
+
+                // 激活后续节点：恢复的节点按原运行经过的连接激活，结果可能已释放，不重新判断条件
+                for (int edge : outgoing[index]) {
+                    boolean taken = restored && takenEdges != null ? takenEdges.contains(edgeKey(edge)) : edges[edge].canExecute(context);
+                    if (taken) {
+                        recorder.edgeTaken(edge);
+                        if (!restored) {
+                            edgeTaken(context, edge);
+                        }
+                        int target = edgeTargets[edge];
+                        if (!enqueued[target]) {
+                            enqueued[target] = true;
+                            queue[tail++] = target;
+                        }
+                    }
+                }
+                if (!restored) {
+                    checkpoint(context, index);
+                }
+            } catch (TimeoutException e) {
+                long elapsed = recorder.now() - nodeStart;
+                recorder.nodeFinished(index, nodeStart, true);
+                Assert.orchestrationIsTrue(hasTimeoutEdges[index], timeoutMessage(node.getId(), elapsed));
+
+                // 只激活超时连接
+                for (int edge : outgoing[index]) {
+                    if (edges[edge].timeoutEdge) {
+                        recorder.edgeTaken(edge);
+                        int target = edgeTargets[edge];
+                        if (!enqueued[target]) {
+                            enqueued[target] = true;
+                            queue[tail++] = target;
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                recorder.nodeFailed(index, nodeStart);
+                Assert.orchestrationFail("节点执行失败: " + node.getId() + ", 错误: " + e.getMessage());
+            }
+
+            if (retention != null) {
+                retention.nodeResolved(index);
+                resolveSkipped(index, enqueued, unresolvedIn, skipStack, retention);
+            }
+        }
+    }
+
+    /**
+     * 顺序执行中识别被跳过的节点：全部入边都已判断过且未被激活的节点不会再执行，沿其出边继续传播
+     */
+    private void resolveSkipped(int index, boolean[] enqueued, int[] unresolvedIn, int[] stack, ResultRetention retention) {
+        int size = 0;
+        stack[size++] = index;
+        while (size > 0) {
+            int resolved = stack[--size];
+            for (int edge : outgoing[resolved]) {
+                int target = edgeTargets[edge];
+                if (--unresolvedIn[target] == 0 && !enqueued[target]) {
+                    // 不会再被激活，标记后不再入队
+                    enqueued[target] = true;
+                    retention.nodeResolved(target);
+                    stack[size++] = target;
+                }
+            }
+        }
+    }
+
+    // ========== 执行记录 ==========
+
+    /**
+     * 为本次运行创建执行记录，按采样率决定是否记录完整轨迹
+     */
+    private ExecutionRecorder newRecorder() {
+        return newRecorder(null);
+    }
+
+    private ExecutionRecorder newRecorder(ExecutionRecorder.NodeListener listener) {
+        boolean traced = traceSampleRate >= 1.0 || (traceSampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < traceSampleRate);
+        return new ExecutionRecorder(this, traced, System.nanoTime(), listener);
+    }
+
+    private Result success(Context context, LocalDateTime startTime, ExecutionRecorder recorder) {
+        return Result.success(id, startTime, LocalDateTime.now(), resultsOf(context), recorder.nodeExecutions(), recorder.takenEdges());
+    }
+
+    // ========== 结果保留 ==========
+
+    /**
+     * 创建本次运行的结果存活计数，未启用结果保留模式时返回null
+     */
+    ResultRetention newRetention(Context context) {
+        return retention ? new ResultRetention(this, context) : null;
+    }
+
+    /**
+     * 执行成功后返回的结果：结果保留模式下只包含输出节点的结果，否则为上下文的结果视图
+     */
+    Map<String, Object> resultsOf(Context context) {
+        if (!retention) {
+            return context.getAllResults();
+        }
+        Map<String, Object> results = new LinkedHashMap<>(outputIndexes.length * 2);
+        for (int output : outputIndexes) {
+            if (context.hasResultAt(output)) {
+                results.put(nodes[output].getId(), context.resultAt(output));
+            }
+        }
+        return Collections.unmodifiableMap(results);
+    }
+
+    /**
+     * 节点读取的结果编号（内部数组，调用方不得修改）
+     */
+    int[] readsOf(int index) {
+        return reads[index];
+    }
+
+    boolean isOutput(int index) {
+        return outputs[index];
+    }
+
+    int[] initialLiveCounts() {
+        return liveCounts.clone();
+    }
+
+    /**
+     * 是否启用结果保留模式
+     */
+    public boolean isRetentionEnabled() {
+        return retention;
+    }
+
+    private Result failure(String error, LocalDateTime startTime, ExecutionRecorder recorder) {
+        return Result.failure(id, error, startTime, LocalDateTime.now(), recorder.nodeExecutions(), recorder.takenEdges());
+    }
+
+    // ========== 检查点 ==========
+
+    /**
+     * 记录节点正常完成后经过的连接，恢复执行时按记录激活后续节点
+     */
+    void edgeTaken(Context context, int edge) {
+        if (checkpointWriter != null) {
+            context.checkpointProgress(id).edgeTaken(edgeKey(edge));
+        }
+    }
+
+    /**
+     * 节点完成且出边判断完毕后提交检查点
+     *
+     * <p>只登记本节点的结果，变量自上次复制后有写入时才复制变量；
+     * 完整检查点由写入线程在写出时生成，节点线程的开销不随已完成节点数与结果数量增长。</p>
+     */
+    void checkpoint(Context context, int index) {
+        if (checkpointWriter != null) {
+            FlowCheckpointProgress progress = context.checkpointProgress(id);
+            // 先读版本再复制：复制期间的写入会使下一次检查点重新复制
+            long version = context.variableVersion();
+            Map<String, Object> variables = progress.variablesOutdated(version) ? new HashMap<>(context.getVariables()) : null;
+            long sequence = progress.nodeCompleted(nodes[index].getId(), context.resultAt(index), version, variables);
+            checkpointWriter.submit(progress, sequence);
+        }
+    }
+
+    private String edgeKey(int edge) {
+        return edges[edge].from + "->" + edges[edge].to;
+    }
+
+    /**
+     * 运行成功结束后删除检查点
+     */
+    void finishCheckpoint(Context context) {
+        if (checkpointWriter != null) {
+            checkpointWriter.finish(id, context.getRunId());
+        }
+    }
+
+    // ========== 时限 ==========
+
+    /**
+     * 运行前准备上下文：绑定结果槽位
+     *
+     * <p>流程整体时限只约束本次运行，不写入上下文，同一上下文的其他运行不受影响。</p>
+     *
+     * @return 本次运行的开始时刻（System.nanoTime 基准），流程整体时限从该时刻起算
+     */
+    private long prepare(Context context) {
+        Assert.orchestrationNotNull(context, "上下文不能为空");
+        context.bindTo(this);
+        return System.nanoTime();
+    }
+
+    /**
+     * 节点可用时间：节点时限、本次运行剩余时间与上下文剩余时间中的最小者，不限时返回 Long.MAX_VALUE
+     *
+     * @param startedAt 本次运行的开始时刻
+     */
+    long budgetNanos(int index, Context context, long startedAt) {
+        long budget = context.remainingNanos();
+        if (flowTimeoutNanos > 0) {
+            budget = Math.min(budget, flowTimeoutNanos - (System.nanoTime() - startedAt));
+        }
+        if (timeoutNanos[index] > 0 && timeoutNanos[index] < budget) {
+            budget = timeoutNanos[index];
+        }
+        return budget;
+    }
+
+    boolean hasTimeoutEdges(int index) {
+        return hasTimeoutEdges[index];
+    }
+
+    /**
+     * 在可用时间内阻塞执行节点
+     *
+     * <p>不限时的节点与命令节点直接在当前线程执行，命令因此始终处于调用方的事务与线程上下文中；
+     * 其余限时节点的异步形式直接等待其 Future，否则提交到虚拟线程执行，超时后取消（中断）。</p>
+     *
+     * <p>命令节点不会被中途打断：时限只在开始前检查，已开始的命令总会执行完并保留结果，
+     * 超出的时间由后续节点开始前的检查体现。这样超时连接与流程失败都不会与仍在执行的命令并存。</p>
+     *
+     * @throws TimeoutException 超出可用时间时
+     */
+    Object invoke(GenericNode node, Context context, long budgetNanos) throws Exception {
+        if (budgetNanos == Long.MAX_VALUE) {
+            return node.execute(context);
+        }
+        if (budgetNanos <= 0) {
+            throw new TimeoutException();
+        }
+        if (node.isCommand()) {
+            return node.execute(context);
+        }
+        Future<Object> future = node.isAsync() ? node.executeAsync(context) : VIRTUAL_THREAD_EXECUTOR.submit(() -> node.execute(context));
+        try {
+            return future.get(budgetNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw e;
+        }
+    }
+
+    /**
+     * 在可用时间内阻塞执行节点并写入结果槽位，不限时的 long 节点不装箱
+     *
+     * @throws TimeoutException 超出可用时间时
+     */
+    void invokeAndStore(int index, Context context, long budgetNanos) throws Exception {
+        GenericNode node = nodes[index];
+        if (budgetNanos == Long.MAX_VALUE && node.isLongValued()) {
+            context.setLongResultAt(index, node.executeLong(context));
+        } else {
+            context.setResultAt(index, invoke(node, context, budgetNanos));
+        }
+    }
+
+    /**
+     * 在可用时间内执行节点并写入结果槽位：有预取时等待预取结果，预取失败时重新执行
+     *
+     * @throws TimeoutException 超出可用时间时
+     */
+    void runAndStore(int index, Context context, long startedAt, SpeculativePrefetch prefetch) throws Exception {
+        long budgetNanos = budgetNanos(index, context, startedAt);
+        CompletableFuture<Object> prefetched = prefetch == null ? null : prefetch.take(index);
+        if (prefetched != null) {
+            try {
+                Object result = budgetNanos == Long.MAX_VALUE ? prefetched.get() : prefetched.get(Math.max(0L, budgetNanos), TimeUnit.NANOSECONDS);
+                context.setResultAt(index, result);
+                return;
+            } catch (TimeoutException e) {
+                prefetched.cancel(true);
+                throw e;
+            } catch (ExecutionException e) {
+                prefetch.failed(index);
+                budgetNanos = budgetNanos(index, context, startedAt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                prefetched.cancel(true);
+                throw e;
+            }
+        }
+        invokeAndStore(index, context, budgetNanos);
+    }
+
+    /**
+     * 在可用时间内非阻塞执行节点，超时时返回的 Future 以 {@link TimeoutException} 失败
+     *
+     * <p>命令节点只在发送前检查时限，不附带超时；其余节点超时后不再等待，
+     * 尚在排队的消息不会再处理，提交到虚拟线程的节点被中断。</p>
+     */
+    CompletableFuture<Object> invokeAsync(GenericNode node, Context context, long budgetNanos) {
+        if (budgetNanos <= 0) {
+            return CompletableFuture.failedFuture(new TimeoutException());
+        }
+        if (node.isAsync()) {
+            CompletableFuture<Object> future = node.executeAsync(context);
+            return budgetNanos == Long.MAX_VALUE || node.isCommand() ? future : future.orTimeout(budgetNanos, TimeUnit.NANOSECONDS);
+        }
+        if (budgetNanos == Long.MAX_VALUE) {
+            return CompletableFuture.supplyAsync(() -> node.execute(context), VIRTUAL_THREAD_EXECUTOR);
+        }
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        Future<?> task = VIRTUAL_THREAD_EXECUTOR.submit(() -> {
+            try {
+                future.complete(node.execute(context));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        future.orTimeout(budgetNanos, TimeUnit.NANOSECONDS).whenComplete((ignored, error) -> {
+            if (error instanceof TimeoutException) {
+                task.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    static Executor defaultExecutor() {
+        return VIRTUAL_THREAD_EXECUTOR;
+    }
+
+    static String timeoutMessage(String nodeId, long elapsedNanos) {
+        return "节点执行超时: " + nodeId + ", 已执行: " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + "ms";
+    }
+
+    // ========== 计划信息 ==========
+
+    /**
+     * 节点数量
+     */
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * 连接数量
+     */
+    public int getEdgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * 获取节点编号
+     *
+     * @param nodeId 节点ID
+     * @return 节点编号，不存在时返回-1
+     */
+    public int indexOf(String nodeId) {
+        Integer index = indexById.get(nodeId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 获取节点ID
+     *
+     * @param index 节点编号
+     * @return 节点ID
+     */
+    public String nodeIdAt(int index) {
+        return nodes[index].getId();
+    }
+
+    /**
+     * 已声明变量数量
+     */
+    public int getVariableCount() {
+        return variableNames.length;
+    }
+
+    /**
+     * 获取变量槽位
+     *
+     * @param name 变量名
+     * @return 变量槽位，未声明时返回-1
+     */
+    public int variableIndexOf(String name) {
+        Integer index = variableIndexByName.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 获取变量名
+     *
+     * @param index 变量槽位
+     * @return 变量名
+     */
+    public String variableNameAt(int index) {
+        return variableNames[index];
+    }
+
+    /**
+     * 解析节点结果的类型化键
+     *
+     * @param nodeId 节点ID
+     * @param type   结果类型
+     * @param <T>    结果类型
+     * @return 结果键
+     * @throws BizFlowException 当节点不存在时
+     */
+    public <T> ResultKey<T> resultKey(String nodeId, Class<T> type) {
+        Assert.orchestrationNotNull(type, "结果类型不能为空");
+        int index = indexOf(nodeId);
+        Assert.orchestrationIsTrue(index >= 0, "节点不存在: " + nodeId);
+        return new ResultKey<>(this, nodeId, type, index);
+    }
+
+    /**
+     * 解析已声明变量的类型化键
+     *
+     * @param name 变量名
+     * @param type 变量类型
+     * @param <T>  变量类型
+     * @return 变量键
+     * @throws BizFlowException 当变量未声明时
+     */
+    public <T> VariableKey<T> variableKey(String name, Class<T> type) {
+        Assert.orchestrationNotNull(type, "变量类型不能为空");
+        int index = variableIndexOf(name);
+        Assert.orchestrationIsTrue(index >= 0, "变量未声明: " + name);
+        return new VariableKey<>(this, name, type, index);
+    }
+
+    /**
+     * 入口节点ID（按添加顺序）
+     */
+    public List<String> getEntryNodeIds() {
+        return nodeIds(entryNodes);
+    }
+
+    /**
+     * 拓扑序排列的节点ID
+     */
+    public List<String> getTopologicalOrder() {
+        return nodeIds(topologicalOrder);
+    }
+
+    // ========== 包内访问 ==========
+
+    /**
+     * 创建本次运行的预取状态并启动输入已就绪的预取，没有预取节点时返回null
+     */
+    SpeculativePrefetch newPrefetch(Context context) {
+        if (speculativeNodes.length == 0) {
+            return null;
+        }
+        SpeculativePrefetch prefetch = new SpeculativePrefetch(this, context);
+        prefetch.start();
+        return prefetch;
+    }
+
+    /**
+     * 预取节点编号（内部数组，调用方不得修改）
+     */
+    int[] speculativeNodes() {
+        return speculativeNodes;
+    }
+
+    int[] speculationInputs(int index) {
+        return speculationInputs[index];
+    }
+
+    int[] speculationDependents(int index) {
+        return speculationDependents[index];
+    }
+
+    SpeculationStats speculationStats(int index) {
+        return speculationStats[index];
+    }
+
+    GenericNode node(int index) {
+        return nodes[index];
+    }
+
+    Connection edge(int edge) {
+        return edges[edge];
+    }
+
+    int edgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
+    /**
+     * 节点出边编号（内部数组，调用方不得修改）
+     */
+    int[] outgoing(int index) {
+        return outgoing[index];
+    }
+
+    /**
+     * 入口节点编号（内部数组，调用方不得修改）
+     */
+    int[] entryNodes() {
+        return entryNodes;
+    }
+
+    /**
+     * 拓扑序节点编号（内部数组，调用方不得修改）
+     */
+    int[] topologicalIndexes() {
+        return topologicalOrder;
+    }
+
+    int[] inDegrees() {
+        return inDegrees.clone();
+    }
+
+    // ========== 编译辅助方法 ==========
+
+    /**
+     * Kahn 算法拓扑排序，存在环时报告环上（及被环阻塞）的节点
+     */
+    private int[] topologicalSort() {
+        int n = nodes.length;
+        int[] remaining = inDegrees.clone();
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int entry : entryNodes) {
+            order[tail++] = entry;
+        }
+        while (head < tail) {
+            int index = order[head++];
+            for (int edge : outgoing[index]) {
+                int target = edgeTargets[edge];
+                if (--remaining[target] == 0) {
+                    order[tail++] = target;
+                }
+            }
+        }
+        if (tail < n) {
+            List<String> blocked = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (remaining[i] > 0) {
+                    blocked.add(nodes[i].getId());
+                }
+            }
+            Assert.orchestrationFail("检测到循环依赖: " + blocked);
+        }
+        return order;
+    }
+
+    private List<String> nodeIds(int[] indexes) {
+        List<String> ids = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            ids.add(nodes[index].getId());
+        }
+        return Collections.unmodifiableList(ids);
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Context;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Result;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 业务编排的一次运行
+ *
+ * <p>由 {@link BizFlowDefinition#newRun()} 创建，只持有共享的执行计划与本次运行的 {@link Context}，
+ * 创建开销为一次上下文分配。先设置变量与截止时间，再以任一方式执行一次：</p>
+ * <pre>{@code
+ * Result result = definition.newRun()
+ *         .variable("orderId", orderId)
+ *         .deadline(Duration.ofSeconds(2))
+ *         .execute();
+ * }</pre>
+ *
+ * <p>运行对象不是线程安全的，应在单个请求内使用；执行方法只能调用一次。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 18:05:33
+ */
+public final class BizFlowRun {
+
+    private final BizFlowPlan plan;
+
+    /**
+     * 本次运行的上下文
+     */
+    @Getter
+    private final Context context;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    BizFlowRun(BizFlowPlan plan, Context context) {
+        this.plan = plan;
+        this.context = context;
+    }
+
+    /**
+     * 运行ID
+     */
+    public String getRunId() {
+        return context.getRunId();
+    }
+
+    /**
+     * 设置变量
+     *
+     * @param name  变量名
+     * @param value 变量值
+     * @return 当前运行，支持链式调用
+     */
+    public BizFlowRun variable(String name, Object value) {
+        context.setVariable(name, value);
+        return this;
+    }
+
+    /**
+     * 通过类型化键设置变量
+     *
+     * @param key   变量键
+     * @param value 变量值
+     * @param <T>   变量类型
+     * @return 当前运行，支持链式调用
+     */
+    public <T> BizFlowRun variable(VariableKey<T> key, T value) {
+        context.setVariable(key, value);
+        return this;
+    }
+
+    /**
+     * 设置本次运行的截止时间
+     *
+     * @param timeout 距当前时刻的时长
+     * @return 当前运行，支持链式调用
+     */
+    public BizFlowRun deadline(Duration timeout) {
+        context.setDeadline(timeout);
+        return this;
+    }
+
+    /**
+     * 顺序执行
+     *
+     * @see BizFlowPlan#execute(Context)
+     */
+    public Result execute() {
+        markStarted();
+        return plan.execute(context);
+    }
+
+    /**
+     * 使用虚拟线程并行执行
+     *
+     * @see BizFlowPlan#executeParallel(Context)
+     */
+    public Result executeParallel() {
+        markStarted();
+        return plan.executeParallel(context);
+    }
+
+    /**
+     * 并行执行
+     *
+     * @see BizFlowPlan#executeParallel(Context, Executor)
+     */
+    public Result executeParallel(Executor executor) {
+        markStarted();
+        return plan.executeParallel(context, executor);
+    }
+
+    /**
+     * 异步执行
+     *
+     * @see BizFlowPlan#executeAsync(Context)
+     */
+    public CompletableFuture<Result> executeAsync() {
+        markStarted();
+        return plan.executeAsync(context);
+    }
+
+    /**
+     * 异步执行
+     *
+     * @see BizFlowPlan#executeAsync(Context, Executor)
+     */
+    public CompletableFuture<Result> executeAsync(Executor executor) {
+        markStarted();
+        return plan.executeAsync(context, executor);
+    }
+
+    /**
+     * 流式执行
+     *
+     * @see BizFlowPlan#executeStreaming(Context)
+     */
+    public BizFlowStream executeStreaming() {
+        markStarted();
+        return plan.executeStreaming(context);
+    }
+
+    /**
+     * 流式执行
+     *
+     * @see BizFlowPlan#executeStreaming(Context, Executor)
+     */
+    public BizFlowStream executeStreaming(Executor executor) {
+        markStarted();
+        return plan.executeStreaming(context, executor);
+    }
+
+    /**
+     * 通过类型化键读取节点结果
+     *
+     * @param key 结果键
+     * @param <T> 结果类型
+     * @return 执行结果，如果不存在则返回 null
+     */
+    public <T> T getResult(ResultKey<T> key) {
+        return context.getResult(key);
+    }
+
+    private void markStarted() {
+        Assert.orchestrationIsFalse(started.getAndSet(true), "运行已执行过: " + context.getRunId());
+    }
+}
@@ -0,0 +1,243 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import io.github.anthem37.easy.ddd.common.exception.BizFlowException;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Context;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Result;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 流式执行的节点完成事件发布者
+ *
+ * <p>由 {@link BizFlowPlan#executeStreaming(Context, Executor)} 返回，流程以异步模式继续运行，
+ * 每个节点完成（正常结束或超时）时发布一个 {@link NodeCompletion}，调用方无需等待整个流程结束即可开始输出。</p>
+ *
+ * <p>发布规则：</p>
+ * <ul>
+ *   <li>事件按节点完成顺序缓存（至多节点数个），订阅者无论何时订阅都从第一个事件开始接收</li>
+ *   <li>每个订阅者独立计算需求，只投递已请求数量的事件，未请求的事件留在缓存中，流程本身不受订阅者速度影响</li>
+ *   <li>投递在虚拟线程中进行，订阅者的处理不会阻塞节点执行线程</li>
+ *   <li>流程成功时 onComplete，失败时以 {@link BizFlowException} onError；
+ *   完整的 {@link Result} 可通过 {@link #getResult()} 获取</li>
+ * </ul>
+ *
+ * @author anthem37
+ * @since 2026/10/19 18:31:40
+ */
+public final class BizFlowStream implements Flow.Publisher<NodeCompletion> {
+
+    private final Context context;
+    private final Executor deliveryExecutor;
+
+    /**
+     * 已发布的事件，published 之前的元素对读取方可见
+     */
+    private final NodeCompletion[] events;
+    private volatile int published;
+
+    /**
+     * 流程是否已结束，结束后不再接收事件
+     */
+    private volatile boolean terminated;
+
+    /**
+     * 流程失败的原因，成功时为null
+     */
+    private volatile Throwable error;
+
+    private final CompletableFuture<Result> result = new CompletableFuture<>();
+    private final List<StreamSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    BizFlowStream(Context context, int capacity, Executor deliveryExecutor) {
+        this.context = context;
+        this.events = new NodeCompletion[capacity];
+        this.deliveryExecutor = deliveryExecutor;
+    }
+
+    /**
+     * 流程执行结果，流程结束时完成（失败时以失败的 {@link Result} 正常完成）
+     */
+    public CompletableFuture<Result> getResult() {
+        return result;
+    }
+
+    /**
+     * 已发布的事件数量
+     */
+    public int getPublishedCount() {
+        return published;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super NodeCompletion> subscriber) {
+        Objects.requireNonNull(subscriber, "订阅者不能为空");
+        StreamSubscription subscription = new StreamSubscription(subscriber);
+        subscriptions.add(subscription);
+        try {
+            subscriber.onSubscribe(subscription);
+        } catch (Throwable e) {
+            // 订阅者抛出异常视为取消
+            subscription.cancel();
+            return;
+        }
+        // onSubscribe 期间的请求与事件只累计信号，返回后才开始投递，保证信号串行
+        subscription.schedule();
+    }
+
+    // ========== 执行回调 ==========
+
+    /**
+     * 节点完成，在完成节点的线程中调用
+     */
+    void nodeFinished(int index, NodeExecution execution) {
+        NodeCompletion event = new NodeCompletion(execution.getNodeId(), execution.getStartNanos(), execution.getEndNanos(),
+                execution.getThreadName(), execution.isTimedOut(), execution.isTimedOut() ? null : context.resultAt(index));
+        synchronized (events) {
+            if (terminated || published == events.length) {
+                return;
+            }
+            events[published] = event;
+            published = published + 1;
+        }
+        signalAll();
+    }
+
+    /**
+     * 流程结束
+     */
+    void finish(Result flowResult) {
+        if (!flowResult.isSuccess()) {
+            error = new BizFlowException(flowResult.getErrorMessage());
+        }
+        synchronized (events) {
+            terminated = true;
+        }
+        result.complete(flowResult);
+        signalAll();
+    }
+
+    private void signalAll() {
+        for (StreamSubscription subscription : subscriptions) {
+            subscription.signal();
+        }
+    }
+
+    /**
+     * 单个订阅者的订阅：独立的读取位置与需求，投递任务串行执行
+     */
+    private final class StreamSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super NodeCompletion> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+
+        /**
+         * 投递任务的待处理信号数，从0变为正数时提交投递任务；
+         * 初始为1，在 onSubscribe 返回前占住投递权
+         */
+        private final AtomicInteger wip = new AtomicInteger(1);
+
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidRequest;
+
+        /**
+         * 下一个待投递事件的下标，只在投递任务中访问
+         */
+        private int cursor;
+        private boolean done;
+
+        StreamSubscription(Flow.Subscriber<? super NodeCompletion> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("请求数量必须为正: " + n);
+            } else {
+                requested.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        void signal() {
+            if (wip.getAndIncrement() == 0) {
+                schedule();
+            }
+        }
+
+        /**
+         * 提交投递任务，调用方须持有投递权（wip 由本次调用从0变为正数，或为初始占用）
+         */
+        void schedule() {
+            try {
+                deliveryExecutor.execute(this);
+            } catch (RejectedExecutionException e) {
+                run();
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            if (cancelled || done) {
+                return;
+            }
+            if (invalidRequest != null) {
+                terminate(invalidRequest);
+                return;
+            }
+            // 先读结束标记再读事件数量：结束后事件数量不再变化
+            boolean finished = terminated;
+            int available = published;
+            long demand = requested.get();
+            long emitted = 0;
+            try {
+                while (cursor < available && emitted < demand && !cancelled) {
+                    subscriber.onNext(events[cursor++]);
+                    emitted++;
+                }
+            } catch (Throwable e) {
+                // 订阅者抛出异常视为取消
+                cancel();
+                return;
+            }
+            if (emitted > 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+            if (finished && cursor == available && !cancelled) {
+                terminate(error);
+            }
+        }
+
+        private void terminate(Throwable cause) {
+            done = true;
+            subscriptions.remove(this);
+            if (cause == null) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Connection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 一次运行的执行记录
+ *
+ * <p>按节点与连接编号预分配数组，记录只是一次数组写入。
+ * 未被采样的运行只记录超时节点（用于 {@link BizFlow.Result#getTimedOutNodeIds()}），不记录经过的连接。</p>
+ *
+ * <p>设置了监听器时，每个节点完成（正常结束或超时）都会生成执行记录并通知监听器，与是否采样无关；
+ * 失败的节点只记录，不通知。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 17:23:05
+ */
+final class ExecutionRecorder {
+
+    private final BizFlowPlan plan;
+    private final boolean traced;
+    private final long flowStartNanos;
+    private final AtomicReferenceArray<NodeExecution> executions;
+
+    /**
+     * 每条连接是否被经过（1为经过），未采样时为null
+     */
+    private final AtomicIntegerArray takenEdges;
+
+    /**
+     * 节点完成监听器，可为null
+     */
+    private final NodeListener listener;
+
+    ExecutionRecorder(BizFlowPlan plan, boolean traced, long flowStartNanos) {
+        this(plan, traced, flowStartNanos, null);
+    }
+
+    ExecutionRecorder(BizFlowPlan plan, boolean traced, long flowStartNanos, NodeListener listener) {
+        this.plan = plan;
+        this.traced = traced;
+        this.flowStartNanos = flowStartNanos;
+        this.listener = listener;
+        this.executions = new AtomicReferenceArray<>(plan.getNodeCount());
+        this.takenEdges = traced ? new AtomicIntegerArray(plan.getEdgeCount()) : null;
+    }
+
+    /**
+     * 当前时刻相对流程开始的纳秒偏移
+     */
+    long now() {
+        return System.nanoTime() - flowStartNanos;
+    }
+
+    /**
+     * 记录节点执行结束（结果已写入上下文，或已超时）
+     *
+     * @param index    节点编号
+     * @param start    开始时间偏移
+     * @param timedOut 是否超时
+     */
+    void nodeFinished(int index, long start, boolean timedOut) {
+        if (traced || timedOut || listener != null) {
+            NodeExecution execution = new NodeExecution(plan.nodeIdAt(index), start, now(), NodeExecution.currentThreadName(), timedOut);
+            if (traced || timedOut) {
+                executions.set(index, execution);
+            }
+            if (listener != null) {
+                listener.nodeFinished(index, execution);
+            }
+        }
+    }
+
+    /**
+     * 记录节点执行失败
+     *
+     * @param index 节点编号
+     * @param start 开始时间偏移
+     */
+    void nodeFailed(int index, long start) {
+        if (traced) {
+            executions.set(index, new NodeExecution(plan.nodeIdAt(index), start, now(), NodeExecution.currentThreadName(), false));
+        }
+    }
+
+    /**
+     * 记录经过的连接
+     *
+     * @param edge 连接编号
+     */
+    void edgeTaken(int edge) {
+        if (takenEdges != null) {
+            takenEdges.set(edge, 1);
+        }
+    }
+
+    /**
+     * 按开始时间排序的节点执行记录
+     */
+    List<NodeExecution> nodeExecutions() {
+        List<NodeExecution> list = new ArrayList<>(executions.length());
+        for (int i = 0; i < executions.length(); i++) {
+            NodeExecution execution = executions.get(i);
+            if (execution != null) {
+                list.add(execution);
+            }
+        }
+        list.sort((a, b) -> Long.compare(a.getStartNanos(), b.getStartNanos()));
+        return list;
+    }
+
+    /**
+     * 按连接声明顺序排列的经过连接
+     */
+    List<TakenEdge> takenEdges() {
+        if (takenEdges == null) {
+            return Collections.emptyList();
+        }
+        List<TakenEdge> list = new ArrayList<>();
+        for (int e = 0; e < takenEdges.length(); e++) {
+            if (takenEdges.get(e) == 1) {
+                Connection connection = plan.edge(e);
+                list.add(new TakenEdge(connection.from, connection.to, connection.condition));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * 节点完成监听器，在完成节点的线程中同步调用
+     */
+    interface NodeListener {
+
+        /**
+         * 节点完成
+         *
+         * @param index     节点编号
+         * @param execution 执行记录
+         */
+        void nodeFinished(int index, NodeExecution execution);
+    }
+}
@@ -0,0 +1,194 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Result;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * 一次运行的执行轨迹
+ *
+ * <p>由 {@link Result#getTrace()} 按需创建，基于节点执行记录与经过的连接：</p>
+ * <ul>
+ *   <li>关键路径：从最后结束的节点出发，沿经过的入边反复选择结束最晚的前驱，
+ *   得到决定整体耗时的节点链</li>
+ *   <li>导出为 Chrome trace-event JSON，可在 chrome://tracing 或 Perfetto 中查看</li>
+ * </ul>
+ *
+ * @author anthem37
+ * @since 2026/10/19 17:36:44
+ */
+public class FlowTrace {
+
+    @Getter
+    private final String orchestrationId;
+
+    @Getter
+    private final List<NodeExecution> nodeExecutions;
+
+    @Getter
+    private final List<TakenEdge> takenEdges;
+
+    private List<NodeExecution> criticalPath;
+
+    FlowTrace(Result result) {
+        this.orchestrationId = result.getOrchestrationId();
+        this.nodeExecutions = result.getNodeExecutions();
+        this.takenEdges = result.getTakenEdges();
+    }
+
+    /**
+     * 获取关键路径
+     *
+     * @return 按执行先后排列的关键路径节点
+     */
+    public synchronized List<NodeExecution> getCriticalPath() {
+        if (criticalPath == null) {
+            criticalPath = Collections.unmodifiableList(computeCriticalPath());
+        }
+        return criticalPath;
+    }
+
+    /**
+     * 关键路径节点ID
+     */
+    public Set<String> getCriticalPathNodeIds() {
+        Set<String> ids = new LinkedHashSet<>();
+        for (NodeExecution execution : getCriticalPath()) {
+            ids.add(execution.getNodeId());
+        }
+        return ids;
+    }
+
+    /**
+     * 关键路径上节点的耗时之和（纳秒）
+     */
+    public long getCriticalPathNanos() {
+        long total = 0;
+        for (NodeExecution execution : getCriticalPath()) {
+            total += execution.getDurationNanos();
+        }
+        return total;
+    }
+
+    /**
+     * 耗时最长的节点
+     *
+     * @return 节点执行记录，没有记录时返回null
+     */
+    public NodeExecution getSlowestNode() {
+        NodeExecution slowest = null;
+        for (NodeExecution execution : nodeExecutions) {
+            if (slowest == null || execution.getDurationNanos() > slowest.getDurationNanos()) {
+                slowest = execution;
+            }
+        }
+        return slowest;
+    }
+
+    /**
+     * 导出为 Chrome trace-event JSON
+     *
+     * <p>每个节点为一个完整事件（ph=X），时间单位为微秒，同一线程上的节点位于同一行，
+     * 关键路径上的节点在 args 中标记 critical=true。</p>
+     *
+     * @return JSON 字符串
+     */
+    public String toChromeTrace() {
+        Set<String> critical = getCriticalPathNodeIds();
+        Map<String, Integer> threadIds = new LinkedHashMap<>();
+        for (NodeExecution execution : nodeExecutions) {
+            threadIds.putIfAbsent(execution.getThreadName(), threadIds.size() + 1);
+        }
+
+        StringBuilder json = new StringBuilder(128 + nodeExecutions.size() * 160);
+        json.append("{\"traceEvents\":[");
+        boolean first = true;
+        for (Map.Entry<String, Integer> thread : threadIds.entrySet()) {
+            first = appendSeparator(json, first);
+            json.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(thread.getValue())
+                    .append(",\"args\":{\"name\":\"").append(escape(thread.getKey())).append("\"}}");
+        }
+        for (NodeExecution execution : nodeExecutions) {
+            first = appendSeparator(json, first);
+            json.append("{\"name\":\"").append(escape(execution.getNodeId()))
+                    .append("\",\"cat\":\"").append(escape(orchestrationId))
+                    .append("\",\"ph\":\"X\",\"ts\":").append(micros(execution.getStartNanos()))
+                    .append(",\"dur\":").append(micros(execution.getDurationNanos()))
+                    .append(",\"pid\":1,\"tid\":").append(threadIds.get(execution.getThreadName()))
+                    .append(",\"args\":{\"critical\":").append(critical.contains(execution.getNodeId()))
+                    .append(",\"timedOut\":").append(execution.isTimedOut())
+                    .append("}}");
+        }
+        json.append("],\"displayTimeUnit\":\"ms\"}");
+        return json.toString();
+    }
+
+    private List<NodeExecution> computeCriticalPath() {
+        if (nodeExecutions.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, NodeExecution> byId = new HashMap<>(nodeExecutions.size() * 2);
+        NodeExecution last = null;
+        for (NodeExecution execution : nodeExecutions) {
+            byId.put(execution.getNodeId(), execution);
+            if (last == null || execution.getEndNanos() > last.getEndNanos()) {
+                last = execution;
+            }
+        }
+        Map<String, List<String>> predecessors = new HashMap<>();
+        for (TakenEdge edge : takenEdges) {
+            predecessors.computeIfAbsent(edge.getTo(), k -> new ArrayList<>()).add(edge.getFrom());
+        }
+
+        LinkedList<NodeExecution> path = new LinkedList<>();
+        Set<String> visited = new HashSet<>();
+        NodeExecution current = last;
+        while (current != null && visited.add(current.getNodeId())) {
+            path.addFirst(current);
+            NodeExecution gating = null;
+            for (String from : predecessors.getOrDefault(current.getNodeId(), Collections.emptyList())) {
+                NodeExecution candidate = byId.get(from);
+                if (candidate != null && candidate.getEndNanos() <= current.getStartNanos()
+                        && (gating == null || candidate.getEndNanos() > gating.getEndNanos())) {
+                    gating = candidate;
+                }
+            }
+            current = gating;
+        }
+        return new ArrayList<>(path);
+    }
+
+    private static boolean appendSeparator(StringBuilder json, boolean first) {
+        if (!first) {
+            json.append(',');
+        }
+        return false;
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000.0);
+    }
+
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
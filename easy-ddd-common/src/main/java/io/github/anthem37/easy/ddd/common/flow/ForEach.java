@@ -0,0 +1,135 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
+import io.github.anthem37.easy.ddd.common.cqrs.command.ICommand;
+import io.github.anthem37.easy.ddd.common.cqrs.query.IQuery;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Context;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * 遍历节点的配置
+ *
+ * <p>供 {@link BizFlow#addForEach(String, String, ForEach)} 使用：从上下文取出集合，
+ * 对每个元素发送一条命令、一条查询或执行一次子流程，结果按元素顺序收集为节点结果（{@link java.util.List}）。</p>
+ * <pre>{@code
+ * flow.addForEach("notify", "通知用户",
+ *         ForEach.<Long>commands(ctx -> ctx.getVariable("userIds", List.class), NotifyUserCommand::new)
+ *                 .maxConcurrency(8)
+ *                 .failFast(true));
+ * }</pre>
+ *
+ * <p>同一时刻最多有 maxConcurrency 个元素在执行，一个元素完成后才发起下一个。
+ * 启用 failFast 时第一个元素失败即停止发起新元素、取消执行中的元素并使节点失败；
+ * 否则等待全部元素结束，有失败时节点以首个失败的原因失败。</p>
+ *
+ * @param <E> 元素类型
+ * @author anthem37
+ * @since 2026/10/19 19:40:12
+ */
+@Getter(AccessLevel.PACKAGE)
+public final class ForEach<E> {
+
+    /**
+     * 默认并发上限
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    /**
+     * 元素处理方式
+     */
+    enum Kind {
+        COMMAND, QUERY, FLOW
+    }
+
+    private final Kind kind;
+    private final Function<Context, ? extends Collection<? extends E>> items;
+    private final Function<? super E, ? extends ICommand<?>> commandBuilder;
+    private final Function<? super E, ? extends IQuery<?>> queryBuilder;
+    private final BizFlowDefinition subFlow;
+    private final String itemVariable;
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private boolean failFast;
+
+    private ForEach(Kind kind, Function<Context, ? extends Collection<? extends E>> items,
+                    Function<? super E, ? extends ICommand<?>> commandBuilder, Function<? super E, ? extends IQuery<?>> queryBuilder,
+                    BizFlowDefinition subFlow, String itemVariable) {
+        Assert.orchestrationNotNull(items, "集合获取函数不能为空");
+        this.kind = kind;
+        this.items = items;
+        this.commandBuilder = commandBuilder;
+        this.queryBuilder = queryBuilder;
+        this.subFlow = subFlow;
+        this.itemVariable = itemVariable;
+    }
+
+    /**
+     * 对每个元素发送一条命令，节点结果为各命令的返回值
+     *
+     * @param items          从上下文获取集合的函数
+     * @param commandBuilder 根据元素构建命令的函数
+     * @param <E>            元素类型
+     * @return 遍历配置
+     */
+    public static <E> ForEach<E> commands(Function<Context, ? extends Collection<? extends E>> items, Function<? super E, ? extends ICommand<?>> commandBuilder) {
+        Assert.orchestrationNotNull(commandBuilder, "命令构建函数不能为空");
+        return new ForEach<>(Kind.COMMAND, items, commandBuilder, null, null, null);
+    }
+
+    /**
+     * 对每个元素发送一条查询，节点结果为各查询的返回值
+     *
+     * @param items        从上下文获取集合的函数
+     * @param queryBuilder 根据元素构建查询的函数
+     * @param <E>          元素类型
+     * @return 遍历配置
+     */
+    public static <E> ForEach<E> queries(Function<Context, ? extends Collection<? extends E>> items, Function<? super E, ? extends IQuery<?>> queryBuilder) {
+        Assert.orchestrationNotNull(queryBuilder, "查询构建函数不能为空");
+        return new ForEach<>(Kind.QUERY, items, null, queryBuilder, null, null);
+    }
+
+    /**
+     * 对每个元素异步执行一次子流程，节点结果为各次运行的全部节点结果
+     *
+     * <p>元素写入子流程上下文的 itemVariable 变量；当前上下文设置了截止时间时，子流程沿用剩余时间。
+     * 子流程运行失败视为该元素失败。</p>
+     *
+     * @param items        从上下文获取集合的函数
+     * @param subFlow      子流程定义
+     * @param itemVariable 元素在子流程中的变量名
+     * @param <E>          元素类型
+     * @return 遍历配置
+     */
+    public static <E> ForEach<E> flow(Function<Context, ? extends Collection<? extends E>> items, BizFlowDefinition subFlow, String itemVariable) {
+        Assert.orchestrationNotNull(subFlow, "子流程不能为空");
+        Assert.orchestrationHasText(itemVariable, "元素变量名不能为空");
+        return new ForEach<>(Kind.FLOW, items, null, null, subFlow, itemVariable);
+    }
+
+    /**
+     * 设置并发上限
+     *
+     * @param maxConcurrency 同时执行的元素数量上限
+     * @return 当前配置，支持链式调用
+     */
+    public ForEach<E> maxConcurrency(int maxConcurrency) {
+        Assert.orchestrationIsTrue(maxConcurrency > 0, "并发上限必须为正");
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * 设置是否在第一个元素失败时立即取消其余元素
+     *
+     * @param failFast 是否快速失败
+     * @return 当前配置，支持链式调用
+     */
+    public ForEach<E> failFast(boolean failFast) {
+        this.failFast = failFast;
+        return this;
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import io.github.anthem37.easy.ddd.common.exception.BizFlowException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * 遍历节点的一次执行
+ *
+ * <p>以滑动窗口方式发起元素：最多 maxConcurrency 个元素同时执行，任一元素结束后补发下一个。
+ * 发起循环由单个线程串行推进（其余线程只登记空位），同步完成的元素不会造成递归。</p>
+ *
+ * <p>返回的 Future 被外部提前结束（超时、取消）或快速失败时，不再发起新元素并取消执行中的元素。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 19:40:12
+ */
+final class ForEachExecution {
+
+    private final List<?> items;
+    private final Function<Object, CompletableFuture<Object>> runner;
+    private final boolean failFast;
+
+    private final Object[] results;
+    private final AtomicReferenceArray<CompletableFuture<Object>> inFlight;
+    /**
+     * 结果 Future，完成值为按元素顺序排列的结果列表；直接交给调用方，以便感知外部的超时与取消
+     */
+    private final CompletableFuture<Object> completion = new CompletableFuture<>();
+
+    /**
+     * 空闲的并发名额
+     */
+    private final AtomicInteger freeSlots;
+    private final AtomicInteger remaining;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+    private volatile int firstFailedIndex = -1;
+
+    /**
+     * 下一个待发起的元素下标，只在发起循环中访问
+     */
+    private int next;
+
+    ForEachExecution(List<?> items, Function<Object, CompletableFuture<Object>> runner, int maxConcurrency, boolean failFast) {
+        this.items = items;
+        this.runner = runner;
+        this.failFast = failFast;
+        this.results = new Object[items.size()];
+        this.inFlight = new AtomicReferenceArray<>(items.size());
+        this.freeSlots = new AtomicInteger(Math.min(maxConcurrency, Math.max(1, items.size())));
+        this.remaining = new AtomicInteger(items.size());
+    }
+
+    /**
+     * 开始执行
+     *
+     * @return 按元素顺序排列的结果（{@link List}）
+     */
+    CompletableFuture<Object> start() {
+        if (items.isEmpty()) {
+            completion.complete(Collections.emptyList());
+            return completion;
+        }
+        completion.whenComplete((ignored, error) -> {
+            if (error != null) {
+                cancelInFlight();
+            }
+        });
+        drain();
+        return completion;
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (next < items.size() && !completion.isDone() && freeSlots.get() > 0) {
+                freeSlots.decrementAndGet();
+                launch(next++);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void launch(int index) {
+        CompletableFuture<Object> future;
+        try {
+            future = runner.apply(items.get(index));
+        } catch (Throwable e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        inFlight.set(index, future);
+        future.whenComplete((result, error) -> onElement(index, result, error));
+    }
+
+    private void onElement(int index, Object result, Throwable error) {
+        inFlight.set(index, null);
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            failures.incrementAndGet();
+            if (firstError.compareAndSet(null, cause)) {
+                firstFailedIndex = index;
+            }
+            if (failFast) {
+                completion.completeExceptionally(new BizFlowException("第" + index + "个元素执行失败: " + cause.getMessage(), cause));
+                return;
+            }
+        } else {
+            results[index] = result;
+        }
+
+        if (remaining.decrementAndGet() == 0) {
+            finish();
+            return;
+        }
+        freeSlots.incrementAndGet();
+        drain();
+    }
+
+    private void finish() {
+        Throwable error = firstError.get();
+        if (error != null) {
+            completion.completeExceptionally(new BizFlowException(failures.get() + "个元素执行失败, 首个失败为第" + firstFailedIndex + "个元素: " + error.getMessage(), error));
+            return;
+        }
+        completion.complete(Collections.unmodifiableList(new ArrayList<>(Arrays.asList(results))));
+    }
+
+    private void cancelInFlight() {
+        for (int i = 0; i < inFlight.length(); i++) {
+            CompletableFuture<Object> future = inFlight.get(i);
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import lombok.Getter;
+
+/**
+ * 节点完成事件
+ *
+ * <p>由 {@link BizFlowStream} 在节点完成（正常结束或超时）时发布，
+ * 在执行记录的基础上携带节点结果；超时节点的结果为 null。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 18:31:40
+ */
+@Getter
+public class NodeCompletion extends NodeExecution {
+
+    /**
+     * 节点结果
+     */
+    private final Object result;
+
+    public NodeCompletion(String nodeId, long startNanos, long endNanos, String threadName, boolean timedOut, Object result) {
+        super(nodeId, startNanos, endNanos, threadName, timedOut);
+        this.result = result;
+    }
+
+    /**
+     * 获取节点结果（类型安全）
+     *
+     * @param type 期望的结果类型
+     * @param <T>  泛型类型
+     * @return 节点结果
+     */
+    public <T> T getResult(Class<T> type) {
+        return type.cast(result);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 节点执行记录
+ *
+ * <p>时间均为相对流程开始时刻的纳秒偏移，便于在同一时间轴上比较各节点。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 14:48:21
+ */
+@Getter
+@RequiredArgsConstructor
+public class NodeExecution {
+
+    /**
+     * 节点ID
+     */
+    private final String nodeId;
+
+    /**
+     * 开始时间偏移（纳秒）
+     */
+    private final long startNanos;
+
+    /**
+     * 结束时间偏移（纳秒）
+     */
+    private final long endNanos;
+
+    /**
+     * 执行线程名称
+     */
+    private final String threadName;
+
+    /**
+     * 是否因超时结束
+     */
+    private final boolean timedOut;
+
+    public NodeExecution(String nodeId, long startNanos, long endNanos, String threadName) {
+        this(nodeId, startNanos, endNanos, threadName, false);
+    }
+
+    /**
+     * 执行耗时（纳秒）
+     */
+    public long getDurationNanos() {
+        return endNanos - startNanos;
+    }
+
+    /**
+     * 执行耗时（毫秒）
+     */
+    public double getDurationMillis() {
+        return getDurationNanos() / 1_000_000.0;
+    }
+
+    /**
+     * 当前线程名称，虚拟线程默认无名称时使用线程ID
+     */
+    static String currentThreadName() {
+        Thread thread = Thread.currentThread();
+        String name = thread.getName();
+        if (!name.isEmpty()) {
+            return name;
+        }
+        return (thread.isVirtual() ? "virtual-" : "thread-") + thread.threadId();
+    }
+
+    @Override
+    public String toString() {
+        return nodeId + "[" + String.format("%.3f", getDurationMillis()) + "ms@" + threadName + (timedOut ? ",timeout" : "") + "]";
+    }
+}
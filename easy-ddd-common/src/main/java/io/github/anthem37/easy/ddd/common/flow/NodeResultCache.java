@@ -0,0 +1,233 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 节点结果缓存
+ *
+ * <p>由 {@link BizFlow#memoize(String, Duration, int)} 创建，在同一编排定义的多次执行间共享：</p>
+ * <ul>
+ *   <li>以节点输入（构建出的查询对象，依赖其 equals/hashCode）为键</li>
+ *   <li>条目自开始加载起在 TTL 内有效，过期后下一次访问重新加载</li>
+ *   <li>条目数超过上限时按插入顺序淘汰最早的条目</li>
+ *   <li>相同键的并发请求合并为一次加载，加载失败的结果不缓存</li>
+ * </ul>
+ *
+ * @author anthem37
+ * @since 2026/10/19 16:52:18
+ */
+public class NodeResultCache {
+
+    @Getter
+    private final String nodeId;
+
+    @Getter
+    private final Duration ttl;
+
+    @Getter
+    private final int maxSize;
+
+    private final long ttlNanos;
+    private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 插入顺序队列，可能包含已被替换或删除的条目，淘汰时跳过
+     */
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+
+    NodeResultCache(String nodeId, Duration ttl, int maxSize) {
+        Assert.orchestrationIsTrue(maxSize > 0, "缓存容量必须为正");
+        this.nodeId = nodeId;
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * 获取缓存结果，未命中时在当前线程加载
+     *
+     * @param key    节点输入
+     * @param loader 加载逻辑
+     * @return 节点结果
+     */
+    Object get(Object key, Supplier<Object> loader) {
+        CompletableFuture<Object> future = getAsync(key, () -> {
+            try {
+                return CompletableFuture.completedFuture(loader.get());
+            } catch (Throwable e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 获取缓存结果的 Future，未命中时调用加载逻辑
+     *
+     * <p>返回的是缓存 Future 的副本，调用方取消或对其设置超时不会影响其他共享者。</p>
+     *
+     * @param key    节点输入
+     * @param loader 异步加载逻辑
+     * @return 节点结果的 Future
+     */
+    CompletableFuture<Object> getAsync(Object key, Supplier<? extends CompletableFuture<?>> loader) {
+        long now = System.nanoTime();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        Entry created = new Entry(key, future, now + ttlNanos);
+        for (; ; ) {
+            Entry existing = entries.get(key);
+            if (existing != null && existing.expiresAtNanos - now > 0) {
+                hits.increment();
+                return existing.future.copy();
+            }
+            boolean installed = existing == null ? entries.putIfAbsent(key, created) == null : entries.replace(key, existing, created);
+            if (installed) {
+                break;
+            }
+        }
+        misses.increment();
+        track(created);
+
+        try {
+            loader.get().whenComplete((value, error) -> {
+                if (error != null) {
+                    fail(created, error);
+                } else {
+                    future.complete(value);
+                }
+            });
+        } catch (Throwable e) {
+            fail(created, e);
+        }
+        return future.copy();
+    }
+
+    /**
+     * 使指定输入的缓存失效
+     *
+     * @param key 节点输入
+     */
+    public void invalidate(Object key) {
+        entries.remove(key);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        entries.clear();
+        insertionOrder.clear();
+        queued.set(0);
+    }
+
+    /**
+     * 当前条目数（包括已过期但尚未被访问或淘汰的条目）
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 命中次数（包括合并到进行中加载的请求）
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 未命中（实际加载）次数
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 因容量上限淘汰的条目数
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 加载失败次数
+     */
+    public long getLoadFailureCount() {
+        return loadFailures.sum();
+    }
+
+    /**
+     * 命中率
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private void fail(Entry entry, Throwable error) {
+        loadFailures.increment();
+        entries.remove(entry.key, entry);
+        entry.future.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+    }
+
+    /**
+     * 记录插入顺序，超过上限时淘汰最早的有效条目
+     */
+    private void track(Entry entry) {
+        insertionOrder.offer(entry);
+        int queuedCount = queued.incrementAndGet();
+        while (entries.size() > maxSize) {
+            Entry eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            queued.decrementAndGet();
+            if (entries.remove(eldest.key, eldest)) {
+                evictions.increment();
+            }
+        }
+        // 过期后被替换的条目会在队列中残留，定期清理避免队列无限增长
+        if (queuedCount > maxSize * 2 + 16) {
+            insertionOrder.removeIf(queuedEntry -> {
+                if (entries.get(queuedEntry.key) != queuedEntry) {
+                    queued.decrementAndGet();
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    @Override
+    public String toString() {
+        return nodeId + "{size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", hitRate=" + String.format("%.2f", getHitRate()) + ", evictions=" + getEvictionCount() + "}";
+    }
+
+    private record Entry(Object key, CompletableFuture<Object> future, long expiresAtNanos) {
+    }
+}
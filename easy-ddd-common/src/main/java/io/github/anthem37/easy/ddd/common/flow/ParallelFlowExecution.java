@@ -0,0 +1,333 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import io.github.anthem37.easy.ddd.common.exception.BizFlowException;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Context;
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.GenericNode;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 一次并行（或异步）执行的运行期状态
+ *
+ * <p>调度规则：</p>
+ * <ul>
+ *   <li>节点的全部前驱都已结束（执行完成或被跳过）后才会被处理</li>
+ *   <li>至少有一条入边的条件成立（或本身是入口节点）时执行，否则跳过并继续向后传播跳过</li>
+ *   <li>就绪节点提交到执行器并发执行，任一节点失败即整体失败</li>
+ * </ul>
+ *
+ * <p>非阻塞模式下，支持异步执行的节点（命令、查询）直接调用其 sendAsync 形式，
+ * 由返回的 Future 完成时继续调度后续节点，不占用等待线程；
+ * 后续调度统一转交执行器，不在总线的完成线程上运行用户代码，也不随链长递归加深调用栈。
+ * 未指定执行器时，其余节点在虚拟线程中执行。</p>
+ *
+ * <p>启用预取的查询节点在输入就绪后提前发起查询，被激活时等待预取结果（预取失败则重新执行），
+ * 被跳过或流程结束时丢弃预取。</p>
+ *
+ * <p>节点超时后记录超时执行记录：声明了超时连接的节点只激活超时连接并继续调度，
+ * 否则整体失败。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 15:06:54
+ */
+final class ParallelFlowExecution {
+
+    private final BizFlowPlan plan;
+    private final Context context;
+
+    /**
+     * 本次运行的开始时刻，流程整体时限从该时刻起算
+     */
+    private final long startedAt;
+
+    /**
+     * 节点执行器，未指定时使用虚拟线程执行器
+     */
+    private final Executor executor;
+
+    /**
+     * 是否以非阻塞方式执行支持异步的节点
+     */
+    private final boolean nonBlocking;
+    private final ExecutionRecorder recorder;
+
+    /**
+     * 本次运行的预取状态，没有预取节点时为null
+     */
+    private SpeculativePrefetch prefetch;
+
+    /**
+     * 本次运行的结果存活计数，未启用结果保留模式时为null
+     */
+    private final ResultRetention retention;
+
+    /**
+     * 每个节点尚未结束的前驱数量
+     */
+    private final AtomicIntegerArray pendingPredecessors;
+
+    /**
+     * 每个节点是否被某条入边激活（1为激活）
+     */
+    private final AtomicIntegerArray activated;
+
+    /**
+     * 已结束（执行或跳过）的节点数量
+     */
+    private final AtomicInteger resolvedCount = new AtomicInteger();
+
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    ParallelFlowExecution(BizFlowPlan plan, Context context, long startedAt, Executor executor, ExecutionRecorder recorder) {
+        this(plan, context, startedAt, executor, false, recorder);
+    }
+
+    ParallelFlowExecution(BizFlowPlan plan, Context context, long startedAt, Executor executor, boolean nonBlocking, ExecutionRecorder recorder) {
+        this.plan = plan;
+        this.context = context;
+        this.startedAt = startedAt;
+        this.executor = executor != null ? executor : BizFlowPlan.defaultExecutor();
+        this.nonBlocking = nonBlocking;
+        this.recorder = recorder;
+        this.pendingPredecessors = new AtomicIntegerArray(plan.inDegrees());
+        this.activated = new AtomicIntegerArray(plan.getNodeCount());
+        this.retention = plan.newRetention(context);
+    }
+
+    /**
+     * 启动执行
+     *
+     * @return 全部节点结束时完成的 Future，节点失败时异常完成
+     */
+    CompletableFuture<Void> start() {
+        prefetch = plan.newPrefetch(context);
+        if (prefetch != null) {
+            SpeculativePrefetch started = prefetch;
+            completion.whenComplete((ignored, error) -> started.finish());
+        }
+        for (int entry : plan.entryNodes()) {
+            activated.set(entry, 1);
+        }
+        for (int entry : plan.entryNodes()) {
+            resolve(entry);
+        }
+        return completion;
+    }
+
+    /**
+     * 处理一个前驱已全部结束的节点：激活则提交执行，否则跳过并沿出边传播
+     */
+    private void resolve(int index) {
+        if (completion.isDone()) {
+            return;
+        }
+        if (activated.get(index) == 1) {
+            submit(index);
+            return;
+        }
+        // 未激活：迭代传播跳过，避免长链递归
+        int[] worklist = new int[plan.getNodeCount()];
+        int size = 0;
+        worklist[size++] = index;
+        while (size > 0) {
+            int skipped = worklist[--size];
+            if (prefetch != null) {
+                prefetch.discard(skipped);
+            }
+            if (retention != null) {
+                retention.nodeResolved(skipped);
+            }
+            for (int edge : plan.outgoing(skipped)) {
+                int target = plan.edgeTarget(edge);
+                if (pendingPredecessors.decrementAndGet(target) == 0) {
+                    if (activated.get(target) == 1) {
+                        submit(target);
+                    } else {
+                        worklist[size++] = target;
+                    }
+                }
+            }
+            markResolved();
+        }
+    }
+
+    private void submit(int index) {
+        CompletableFuture<Object> prefetched = prefetch == null ? null : prefetch.take(index);
+        if (prefetched != null) {
+            awaitPrefetched(index, prefetched);
+            return;
+        }
+        submitNode(index);
+    }
+
+    private void submitNode(int index) {
+        if (nonBlocking && (plan.node(index).isAsync() || plan.budgetNanos(index, context, startedAt) != Long.MAX_VALUE)) {
+            startAsyncNode(index);
+            return;
+        }
+        try {
+            executor.execute(() -> runNode(index));
+        } catch (RejectedExecutionException e) {
+            fail(new BizFlowException("节点提交执行失败: " + plan.nodeIdAt(index) + ", 错误: " + e.getMessage(), e));
+        }
+    }
+
+    private void runNode(int index) {
+        if (completion.isDone()) {
+            return;
+        }
+        long start = recorder.now();
+        try {
+            plan.invokeAndStore(index, context, plan.budgetNanos(index, context, startedAt));
+        } catch (Exception e) {
+            complete(index, start, e);
+            return;
+        }
+        complete(index, start, null);
+    }
+
+    /**
+     * 非阻塞调用节点（限时节点附带超时），在返回的 Future 完成时继续调度
+     */
+    private void startAsyncNode(int index) {
+        if (completion.isDone()) {
+            return;
+        }
+        long start = recorder.now();
+        CompletableFuture<Object> future;
+        try {
+            future = plan.invokeAsync(plan.node(index), context, plan.budgetNanos(index, context, startedAt));
+        } catch (Exception e) {
+            complete(index, start, e);
+            return;
+        }
+        // 完成回调可能运行在总线工作线程、JDK 延迟调度线程或调用线程（已完成的 Future）上，转交执行器继续调度
+        future.whenComplete((result, error) -> dispatch(() -> {
+            if (error == null) {
+                context.setResultAt(index, result);
+            }
+            complete(index, start, error);
+        }));
+    }
+
+    /**
+     * 等待预取结果（附带节点时限），预取失败时重新执行节点
+     */
+    private void awaitPrefetched(int index, CompletableFuture<Object> prefetched) {
+        long start = recorder.now();
+        long budget = plan.budgetNanos(index, context, startedAt);
+        if (budget <= 0) {
+            prefetched.cancel(true);
+            complete(index, start, new TimeoutException());
+            return;
+        }
+        CompletableFuture<Object> bounded = budget == Long.MAX_VALUE ? prefetched : prefetched.orTimeout(budget, TimeUnit.NANOSECONDS);
+        bounded.whenComplete((result, error) -> dispatch(() -> {
+            if (error == null) {
+                context.setResultAt(index, result);
+                complete(index, start, null);
+            } else if (error instanceof TimeoutException) {
+                complete(index, start, error);
+            } else {
+                prefetch.failed(index);
+                submitNode(index);
+            }
+        }));
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            fail(new BizFlowException("节点调度失败, 错误: " + e.getMessage(), e));
+        }
+    }
+
+    /**
+     * 节点结束（结果已写入上下文）后激活、解析后续节点
+     */
+    private void complete(int index, long start, Throwable error) {
+        if (completion.isDone()) {
+            return;
+        }
+        GenericNode node = plan.node(index);
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            onTimeout(index, start);
+            return;
+        }
+        try {
+            if (cause != null) {
+                throw cause;
+            }
+            recorder.nodeFinished(index, start, false);
+            if (prefetch != null) {
+                prefetch.nodeCompleted(index);
+            }
+            for (int edge : plan.outgoing(index)) {
+                if (plan.edge(edge).canExecute(context)) {
+                    recorder.edgeTaken(edge);
+                    plan.edgeTaken(context, edge);
+                    activated.set(plan.edgeTarget(edge), 1);
+                }
+            }
+            plan.checkpoint(context, index);
+        } catch (Throwable e) {
+            recorder.nodeFailed(index, start);
+            fail(new BizFlowException("节点执行失败: " + node.getId() + ", 错误: " + e.getMessage(), e));
+            return;
+        }
+
+        resolveSuccessors(index);
+    }
+
+    /**
+     * 节点超时：有超时连接时只激活超时连接，否则整体失败
+     */
+    private void onTimeout(int index, long start) {
+        GenericNode node = plan.node(index);
+        long end = recorder.now();
+        recorder.nodeFinished(index, start, true);
+        if (!plan.hasTimeoutEdges(index)) {
+            fail(new BizFlowException(BizFlowPlan.timeoutMessage(node.getId(), end - start)));
+            return;
+        }
+        for (int edge : plan.outgoing(index)) {
+            if (plan.edge(edge).timeoutEdge) {
+                recorder.edgeTaken(edge);
+                activated.set(plan.edgeTarget(edge), 1);
+            }
+        }
+        resolveSuccessors(index);
+    }
+
+    private void resolveSuccessors(int index) {
+        if (retention != null) {
+            retention.nodeResolved(index);
+        }
+        for (int edge : plan.outgoing(index)) {
+            int target = plan.edgeTarget(edge);
+            if (pendingPredecessors.decrementAndGet(target) == 0) {
+                resolve(target);
+            }
+        }
+        markResolved();
+    }
+
+    private void markResolved() {
+        if (resolvedCount.incrementAndGet() == plan.getNodeCount()) {
+            completion.complete(null);
+        }
+    }
+
+    private void fail(Throwable error) {
+        completion.completeExceptionally(error);
+    }
+}
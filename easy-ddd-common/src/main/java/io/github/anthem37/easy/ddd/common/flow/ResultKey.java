@@ -0,0 +1,47 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 节点结果的类型化访问键
+ *
+ * <p>由 {@link BizFlowPlan#resultKey(String, Class)} 在编译后的计划上解析，
+ * 持有节点在计划中的编号，{@link BizFlow.Context#getResult(ResultKey)} 据此直接读取结果槽位，
+ * 不再按节点ID做哈希查找。键只对创建它的计划有效，可在多次执行间复用。</p>
+ *
+ * <p>结果类型为 {@link Long} 的键还可通过 {@link BizFlow.Context#getLong(ResultKey)} 读取原始 long 值，
+ * 配合 {@link BizFlow#addLongGeneric(String, String, java.util.function.ToLongFunction)} 全程不装箱。</p>
+ *
+ * @param <T> 结果类型
+ * @author anthem37
+ * @since 2026/10/19 17:42:16
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class ResultKey<T> {
+
+    @Getter(AccessLevel.NONE)
+    final BizFlowPlan plan;
+
+    /**
+     * 节点ID
+     */
+    private final String nodeId;
+
+    /**
+     * 结果类型
+     */
+    private final Class<T> type;
+
+    /**
+     * 结果槽位（节点编号）
+     */
+    final int slot;
+
+    @Override
+    public String toString() {
+        return "ResultKey[" + nodeId + ": " + type.getSimpleName() + "]";
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Context;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 一次运行中的结果存活计数
+ *
+ * <p>每个节点结果的初始计数为 1（节点自身，包括其出边条件）加上读取它的节点数，
+ * 节点结束（执行完成并判断完出边，或超时）或被跳过时，为自身及其读取的每个结果减一。
+ * 计数归零说明之后不会再有节点读取该结果，非输出结果随即释放。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 20:14:05
+ */
+final class ResultRetention {
+
+    private final BizFlowPlan plan;
+    private final Context context;
+    private final AtomicIntegerArray liveCounts;
+
+    ResultRetention(BizFlowPlan plan, Context context) {
+        this.plan = plan;
+        this.context = context;
+        this.liveCounts = new AtomicIntegerArray(plan.initialLiveCounts());
+    }
+
+    /**
+     * 节点已结束或被跳过，此后不会再读取任何结果
+     *
+     * @param index 节点编号
+     */
+    void nodeResolved(int index) {
+        for (int input : plan.readsOf(index)) {
+            release(input);
+        }
+        release(index);
+    }
+
+    private void release(int index) {
+        if (liveCounts.decrementAndGet(index) == 0 && !plan.isOutput(index)) {
+            context.releaseResultAt(index);
+        }
+    }
+}
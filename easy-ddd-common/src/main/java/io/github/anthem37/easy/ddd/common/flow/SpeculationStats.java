@@ -0,0 +1,116 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 查询节点预取统计
+ *
+ * <p>由 {@link BizFlow#speculate(String, String...)} 创建，在同一编排定义的多次执行间累计：</p>
+ * <ul>
+ *   <li>启动：输入就绪后提前发起查询的次数</li>
+ *   <li>采用：节点被激活时直接使用预取结果的次数</li>
+ *   <li>丢弃：节点所在分支未被执行，预取结果作废的次数</li>
+ *   <li>失败：预取的查询失败、节点被激活后重新执行的次数</li>
+ *   <li>浪费时间：被丢弃或失败的预取所占用的查询时间之和</li>
+ * </ul>
+ *
+ * @author anthem37
+ * @since 2026/10/19 19:02:47
+ */
+public class SpeculationStats {
+
+    /**
+     * 查询节点ID
+     */
+    @Getter
+    private final String nodeId;
+
+    /**
+     * 查询依赖的节点ID，全部有结果后开始预取
+     */
+    @Getter
+    private final List<String> inputNodeIds;
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder used = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder wastedNanos = new LongAdder();
+
+    SpeculationStats(String nodeId, List<String> inputNodeIds) {
+        this.nodeId = nodeId;
+        this.inputNodeIds = List.copyOf(inputNodeIds);
+    }
+
+    /**
+     * 预取启动次数
+     */
+    public long getStartedCount() {
+        return started.sum();
+    }
+
+    /**
+     * 预取结果被采用的次数
+     */
+    public long getUsedCount() {
+        return used.sum();
+    }
+
+    /**
+     * 预取结果因分支未执行被丢弃的次数
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * 预取失败后重新执行的次数
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * 被丢弃或失败的预取占用的查询时间（纳秒）
+     */
+    public long getWastedNanos() {
+        return wastedNanos.sum();
+    }
+
+    /**
+     * 浪费率：被丢弃或失败的预取占启动次数的比例
+     */
+    public double getWasteRate() {
+        long startedCount = started.sum();
+        return startedCount == 0 ? 0.0 : (double) (discarded.sum() + failed.sum()) / startedCount;
+    }
+
+    void recordStarted() {
+        started.increment();
+    }
+
+    void recordUsed() {
+        used.increment();
+    }
+
+    void recordDiscarded(long elapsedNanos) {
+        discarded.increment();
+        wastedNanos.add(elapsedNanos);
+    }
+
+    void recordFailed(long elapsedNanos) {
+        failed.increment();
+        wastedNanos.add(elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return nodeId + "{started=" + getStartedCount() + ", used=" + getUsedCount() + ", discarded=" + getDiscardedCount()
+                + ", failed=" + getFailedCount() + ", wasted=" + TimeUnit.NANOSECONDS.toMillis(getWastedNanos()) + "ms"
+                + ", wasteRate=" + String.format("%.2f", getWasteRate()) + "}";
+    }
+}
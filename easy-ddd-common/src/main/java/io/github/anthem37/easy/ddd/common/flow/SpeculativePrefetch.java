@@ -0,0 +1,160 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import io.github.anthem37.easy.ddd.common.flow.BizFlow.Context;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 一次运行中查询节点的预取状态
+ *
+ * <p>声明了预取的查询节点在其输入节点全部有结果后立即以 sendAsync 发起查询，
+ * 不等待所在分支的条件判断。之后：</p>
+ * <ul>
+ *   <li>节点被激活时领取预取的 Future，代替重新执行</li>
+ *   <li>节点被跳过或流程结束时仍未领取的预取被丢弃（取消并计入浪费统计）</li>
+ * </ul>
+ *
+ * <p>每个节点的状态只沿 空闲 → 预取中 → 已领取/已丢弃 单向变化，
+ * 节点先被激活（领取时仍为空闲）则不再预取。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 19:02:47
+ */
+final class SpeculativePrefetch {
+
+    private static final int IDLE = 0;
+    private static final int RUNNING = 1;
+    private static final int CLAIMED = 2;
+    private static final int DISCARDED = 3;
+
+    private final BizFlowPlan plan;
+    private final Context context;
+    private final AtomicIntegerArray states;
+
+    /**
+     * 每个预取节点尚未产生结果的输入数量
+     */
+    private final AtomicIntegerArray pendingInputs;
+    private final AtomicReferenceArray<CompletableFuture<Object>> prefetched;
+    private final AtomicLongArray startedAt;
+    private final AtomicLongArray finishedAt;
+
+    SpeculativePrefetch(BizFlowPlan plan, Context context) {
+        int n = plan.getNodeCount();
+        this.plan = plan;
+        this.context = context;
+        this.states = new AtomicIntegerArray(n);
+        this.pendingInputs = new AtomicIntegerArray(n);
+        this.prefetched = new AtomicReferenceArray<>(n);
+        this.startedAt = new AtomicLongArray(n);
+        this.finishedAt = new AtomicLongArray(n);
+    }
+
+    /**
+     * 运行开始前调用：统计未就绪的输入（恢复运行时已有结果的输入视为就绪），并启动输入已就绪的预取
+     */
+    void start() {
+        for (int node : plan.speculativeNodes()) {
+            int pending = 0;
+            for (int input : plan.speculationInputs(node)) {
+                if (!context.hasResultAt(input)) {
+                    pending++;
+                }
+            }
+            pendingInputs.set(node, pending);
+        }
+        for (int node : plan.speculativeNodes()) {
+            if (pendingInputs.get(node) == 0) {
+                launch(node);
+            }
+        }
+    }
+
+    /**
+     * 节点结果已写入上下文，启动输入因此全部就绪的预取
+     */
+    void nodeCompleted(int index) {
+        for (int node : plan.speculationDependents(index)) {
+            if (pendingInputs.decrementAndGet(node) == 0) {
+                launch(node);
+            }
+        }
+    }
+
+    /**
+     * 节点被激活时领取预取结果
+     *
+     * @return 预取的 Future，未预取时返回null（此后该节点不再预取）
+     */
+    CompletableFuture<Object> take(int index) {
+        if (states.compareAndSet(index, IDLE, CLAIMED)) {
+            return null;
+        }
+        if (states.compareAndSet(index, RUNNING, CLAIMED)) {
+            plan.speculationStats(index).recordUsed();
+            return prefetched.get(index);
+        }
+        return null;
+    }
+
+    /**
+     * 领取的预取失败，节点将重新执行
+     */
+    void failed(int index) {
+        long end = finishedAt.get(index);
+        plan.speculationStats(index).recordFailed((end != 0 ? end : System.nanoTime()) - startedAt.get(index));
+    }
+
+    /**
+     * 节点被跳过，丢弃尚未领取的预取
+     */
+    void discard(int index) {
+        if (states.compareAndSet(index, IDLE, DISCARDED)) {
+            return;
+        }
+        if (states.compareAndSet(index, RUNNING, DISCARDED)) {
+            CompletableFuture<Object> future = prefetched.get(index);
+            long end = future.isDone() ? finishedAt.get(index) : System.nanoTime();
+            future.cancel(true);
+            plan.speculationStats(index).recordDiscarded(end - startedAt.get(index));
+        }
+    }
+
+    /**
+     * 流程结束（成功或失败），丢弃全部未领取的预取
+     */
+    void finish() {
+        for (int node : plan.speculativeNodes()) {
+            discard(node);
+        }
+    }
+
+    private void launch(int index) {
+        if (context.hasResultAt(index)) {
+            return;
+        }
+        CompletableFuture<Object> holder = new CompletableFuture<>();
+        prefetched.set(index, holder);
+        startedAt.set(index, System.nanoTime());
+        if (!states.compareAndSet(index, IDLE, RUNNING)) {
+            return;
+        }
+        plan.speculationStats(index).recordStarted();
+        try {
+            plan.node(index).executeAsync(context).whenComplete((result, error) -> {
+                finishedAt.set(index, System.nanoTime());
+                if (error == null) {
+                    holder.complete(result);
+                } else {
+                    holder.completeExceptionally(error);
+                }
+            });
+        } catch (Throwable e) {
+            finishedAt.set(index, System.nanoTime());
+            holder.completeExceptionally(e);
+        }
+    }
+}
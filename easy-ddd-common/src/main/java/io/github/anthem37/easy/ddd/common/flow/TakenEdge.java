@@ -0,0 +1,35 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 执行中实际经过的连接
+ *
+ * @author anthem37
+ * @since 2026/10/19 17:20:36
+ */
+@Getter
+@RequiredArgsConstructor
+public class TakenEdge {
+
+    /**
+     * 源节点ID
+     */
+    private final String from;
+
+    /**
+     * 目标节点ID
+     */
+    private final String to;
+
+    /**
+     * 条件名称，无条件连接为null
+     */
+    private final String condition;
+
+    @Override
+    public String toString() {
+        return from + " -> " + to + (condition == null ? "" : " [" + condition + "]");
+    }
+}
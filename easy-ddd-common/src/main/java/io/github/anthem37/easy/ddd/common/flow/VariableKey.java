@@ -0,0 +1,44 @@
+package io.github.anthem37.easy.ddd.common.flow;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 上下文变量的类型化访问键
+ *
+ * <p>变量需先通过 {@link BizFlow#declareVariables(String...)} 声明，编译时分配槽位，
+ * 再由 {@link BizFlowPlan#variableKey(String, Class)} 解析得到。
+ * 通过键读写变量是数组访问；未声明的变量仍可按名称读写，存放在上下文的附加映射中。</p>
+ *
+ * @param <T> 变量类型
+ * @author anthem37
+ * @since 2026/10/19 17:42:16
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class VariableKey<T> {
+
+    @Getter(AccessLevel.NONE)
+    final BizFlowPlan plan;
+
+    /**
+     * 变量名
+     */
+    private final String name;
+
+    /**
+     * 变量类型
+     */
+    private final Class<T> type;
+
+    /**
+     * 变量槽位
+     */
+    final int slot;
+
+    @Override
+    public String toString() {
+        return "VariableKey[" + name + ": " + type.getSimpleName() + "]";
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.anthem37.easy.ddd.common.flow.checkpoint;
+
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
+import io.github.anthem37.easy.ddd.common.exception.BizFlowException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 基于本地文件的检查点存储（默认实现）
+ * 每个编排一个目录，每次运行一个检查点文件，先写临时文件再原子替换，避免读到半写的检查点
+ * 最近写出的序号保存在内存中，写入时不再读取文件比较，序号不大于已写出序号的检查点直接丢弃；
+ * 失败后不再结束的运行不会删除检查点，内存中只保留最近写出的若干运行，其余运行写入时读取文件比较
+ *
+ * @author anthem37
+ * @since 2026/10/19 16:15:47
+ */
+public class FileFlowCheckpointStore implements IFlowCheckpointStore {
+
+    private static final String SUFFIX = ".checkpoint";
+    private static final int LOCK_STRIPES = 64;
+    private static final int MAX_TRACKED_RUNS = 1024;
+
+    private final Path directory;
+    private final FlowCheckpointSerializer serializer;
+
+    /**
+     * 分段锁：运行ID不重复，按文件逐个建锁会无限增长
+     */
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * 本进程最近写出的检查点序号，键为检查点文件，按访问顺序淘汰；删除检查点时一并移除
+     */
+    private final Map<Path, Long> writtenSequences = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, Long> eldest) {
+            return size() > MAX_TRACKED_RUNS;
+        }
+    };
+
+    public FileFlowCheckpointStore(Path directory) {
+        this(directory, new FlowCheckpointSerializer());
+    }
+
+    public FileFlowCheckpointStore(Path directory, FlowCheckpointSerializer serializer) {
+        Assert.orchestrationNotNull(directory, "检查点目录不能为空");
+        Assert.orchestrationNotNull(serializer, "检查点序列化器不能为空");
+        this.directory = directory;
+        this.serializer = serializer;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new BizFlowException("创建检查点目录失败: " + directory, e);
+        }
+    }
+
+    @Override
+    public Optional<FlowCheckpoint> load(String flowId, String runId) {
+        Path file = file(flowId, runId);
+        synchronized (lockFor(file)) {
+            return read(file);
+        }
+    }
+
+    @Override
+    public void save(FlowCheckpoint checkpoint) {
+        Path file = file(checkpoint.getFlowId(), checkpoint.getRunId());
+        synchronized (lockFor(file)) {
+            long written = writtenSequence(file);
+            if (written >= checkpoint.getSequence()) {
+                return;
+            }
+            try {
+                Files.createDirectories(file.getParent());
+                Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+                Files.write(temp, serializer.serialize(checkpoint));
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                synchronized (writtenSequences) {
+                    writtenSequences.put(file, checkpoint.getSequence());
+                }
+            } catch (IOException e) {
+                throw new BizFlowException("写入检查点失败: " + checkpoint.getFlowId() + "/" + checkpoint.getRunId(), e);
+            }
+        }
+    }
+
+    @Override
+    public void delete(String flowId, String runId) {
+        Path file = file(flowId, runId);
+        synchronized (lockFor(file)) {
+            try {
+                Files.deleteIfExists(file);
+                synchronized (writtenSequences) {
+                    writtenSequences.remove(file);
+                }
+            } catch (IOException e) {
+                throw new BizFlowException("删除检查点失败: " + flowId + "/" + runId, e);
+            }
+        }
+    }
+
+    /**
+     * 已写出的序号，未记录时读取现有文件，文件不存在或无法读取时返回 -1（直接覆盖）
+     */
+    private long writtenSequence(Path file) {
+        Long written;
+        synchronized (writtenSequences) {
+            written = writtenSequences.get(file);
+        }
+        if (written != null) {
+            return written;
+        }
+        try {
+            return read(file).map(FlowCheckpoint::getSequence).orElse(-1L);
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private Optional<FlowCheckpoint> read(Path file) {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(serializer.deserialize(Files.readAllBytes(file)));
+        } catch (IOException e) {
+            throw new BizFlowException("读取检查点失败: " + file, e);
+        }
+    }
+
+    private Path file(String flowId, String runId) {
+        Assert.orchestrationHasText(flowId, "编排ID不能为空");
+        Assert.orchestrationHasText(runId, "运行ID不能为空");
+        return directory.resolve(encode(flowId)).resolve(encode(runId) + SUFFIX);
+    }
+
+    private Object lockFor(Path file) {
+        return locks[Math.floorMod(file.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static String encode(String name) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(name.getBytes(StandardCharsets.UTF_8));
+    }
+}
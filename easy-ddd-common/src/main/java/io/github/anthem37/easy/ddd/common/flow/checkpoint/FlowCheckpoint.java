@@ -0,0 +1,64 @@
+package io.github.anthem37.easy.ddd.common.flow.checkpoint;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 业务编排检查点
+ *
+ * <p>记录一次运行在某个节点完成后的上下文变量、节点结果、已完成的节点与已经过的连接。
+ * 恢复执行时跳过已完成的节点，并按记录的连接激活后续节点，不再重新判断连接条件：
+ * 启用结果保留模式时，已完成节点的结果可能已释放，无法据此判断条件。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 16:10:52
+ */
+@Getter
+@RequiredArgsConstructor
+public class FlowCheckpoint {
+
+    /**
+     * 编排ID
+     */
+    private final String flowId;
+
+    /**
+     * 运行ID
+     */
+    private final String runId;
+
+    /**
+     * 检查点序号，同一次运行内单调递增
+     */
+    private final long sequence;
+
+    /**
+     * 上下文变量
+     */
+    private final Map<String, Object> variables;
+
+    /**
+     * 节点执行结果
+     */
+    private final Map<String, Object> results;
+
+    /**
+     * 已完成的节点ID
+     */
+    private final Set<String> completedNodeIds;
+
+    /**
+     * 已完成节点经过的连接，格式为 源节点ID->目标节点ID；为null表示未记录，恢复时按结果重新判断连接条件
+     */
+    private final Set<String> takenEdges;
+
+    /**
+     * 创建未记录连接的检查点，已有结果的节点视为已完成
+     */
+    public FlowCheckpoint(String flowId, String runId, long sequence, Map<String, Object> variables, Map<String, Object> results) {
+        this(flowId, runId, sequence, variables, results, results.keySet(), null);
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.anthem37.easy.ddd.common.flow.checkpoint;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 一次运行累积的检查点进度
+ *
+ * <p>节点完成时只登记自身的结果与经过的连接（变量仅在发生变化后才附带副本），
+ * 完整检查点由写入线程在写出时按需生成，节点线程上的开销与已完成节点数、结果数量无关。</p>
+ *
+ * <p>登记与生成检查点互斥，生成的检查点中已完成的节点总带有其结果。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 16:18:36
+ */
+public final class FlowCheckpointProgress {
+
+    @Getter
+    private final String flowId;
+
+    @Getter
+    private final String runId;
+
+    private long sequence;
+
+    private Map<String, Object> variables = Map.of();
+
+    /**
+     * 当前变量副本对应的上下文变量版本，-1 表示尚无副本
+     */
+    private volatile long variablesVersion = -1;
+
+    private final Map<String, Object> results = new HashMap<>();
+    private final Set<String> completedNodeIds = new HashSet<>();
+
+    /**
+     * 已经过的连接；为null表示恢复自未记录连接的检查点，之后的检查点同样不记录
+     */
+    private final Set<String> takenEdges;
+
+    public FlowCheckpointProgress(String flowId, String runId) {
+        this.flowId = flowId;
+        this.runId = runId;
+        this.takenEdges = new HashSet<>();
+    }
+
+    /**
+     * 从检查点恢复进度，后续登记在其基础上继续累积
+     *
+     * @param checkpoint 检查点
+     */
+    public FlowCheckpointProgress(FlowCheckpoint checkpoint) {
+        this.flowId = checkpoint.getFlowId();
+        this.runId = checkpoint.getRunId();
+        this.sequence = checkpoint.getSequence();
+        this.variables = new HashMap<>(checkpoint.getVariables());
+        this.results.putAll(checkpoint.getResults());
+        this.completedNodeIds.addAll(checkpoint.getCompletedNodeIds());
+        this.takenEdges = checkpoint.getTakenEdges() == null ? null : new HashSet<>(checkpoint.getTakenEdges());
+    }
+
+    /**
+     * 变量副本是否早于指定的上下文变量版本，是则登记节点完成时需附带新的变量副本
+     *
+     * @param version 上下文变量版本
+     * @return 需要新的变量副本时返回 true
+     */
+    public boolean variablesOutdated(long version) {
+        return variablesVersion < version;
+    }
+
+    /**
+     * 登记节点经过的连接
+     *
+     * @param edge 连接，格式为 源节点ID->目标节点ID
+     */
+    public synchronized void edgeTaken(String edge) {
+        if (takenEdges != null) {
+            takenEdges.add(edge);
+        }
+    }
+
+    /**
+     * 登记节点完成
+     *
+     * @param nodeId           节点ID
+     * @param result           节点结果
+     * @param variablesVersion 变量副本对应的上下文变量版本
+     * @param variables        变量副本，变量未变化时为null
+     * @return 本次登记后的检查点序号
+     */
+    public synchronized long nodeCompleted(String nodeId, Object result, long variablesVersion, Map<String, Object> variables) {
+        results.put(nodeId, result);
+        completedNodeIds.add(nodeId);
+        // 并行节点同时复制变量时保留版本较新的副本
+        if (variables != null && variablesVersion > this.variablesVersion) {
+            this.variables = variables;
+            this.variablesVersion = variablesVersion;
+        }
+        return ++sequence;
+    }
+
+    /**
+     * 当前检查点序号
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * 生成当前进度的完整检查点
+     *
+     * @return 检查点
+     */
+    public synchronized FlowCheckpoint snapshot() {
+        return new FlowCheckpoint(flowId, runId, sequence, new HashMap<>(variables), new HashMap<>(results),
+                new HashSet<>(completedNodeIds), takenEdges == null ? null : new HashSet<>(takenEdges));
+    }
+}
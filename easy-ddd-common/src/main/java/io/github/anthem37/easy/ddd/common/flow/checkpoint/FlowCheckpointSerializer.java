@@ -0,0 +1,238 @@
+package io.github.anthem37.easy.ddd.common.flow.checkpoint;
+
+import io.github.anthem37.easy.ddd.common.exception.BizFlowException;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 检查点紧凑序列化器
+ *
+ * <p>二进制格式：魔数、版本号、编排ID、运行ID、序号，随后是变量与结果两个映射，
+ * 以及已完成节点与已经过连接两个集合（连接集合未记录时长度写为-1）。
+ * 仍可读取不含两个集合的第1版检查点。
+ * 常见的值类型（字符串、数字、布尔、字节数组等）以类型标记加定长或长度前缀的方式直接写出，
+ * 其他类型回退到Java序列化（需实现 {@link Serializable}）。</p>
+ *
+ * <p>子类可覆写 {@link #writeValue(DataOutputStream, Object)} 与
+ * {@link #readValue(DataInputStream, int)} 扩展类型标记（建议使用 64 以上的标记值）。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 16:18:26
+ */
+public class FlowCheckpointSerializer {
+
+    private static final int MAGIC = 0x42464350;
+    private static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_PROGRESS = 1;
+
+    protected static final int TAG_NULL = 0;
+    protected static final int TAG_STRING = 1;
+    protected static final int TAG_INTEGER = 2;
+    protected static final int TAG_LONG = 3;
+    protected static final int TAG_BOOLEAN = 4;
+    protected static final int TAG_DOUBLE = 5;
+    protected static final int TAG_BIG_DECIMAL = 6;
+    protected static final int TAG_BYTES = 7;
+    protected static final int TAG_JAVA = 63;
+
+    /**
+     * 序列化检查点
+     *
+     * @param checkpoint 检查点
+     * @return 字节数组
+     * @throws BizFlowException 当存在无法序列化的值时
+     */
+    public byte[] serialize(FlowCheckpoint checkpoint) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            writeString(out, checkpoint.getFlowId());
+            writeString(out, checkpoint.getRunId());
+            out.writeLong(checkpoint.getSequence());
+            writeMap(out, checkpoint.getVariables());
+            writeMap(out, checkpoint.getResults());
+            writeSet(out, checkpoint.getCompletedNodeIds());
+            writeSet(out, checkpoint.getTakenEdges());
+        } catch (IOException e) {
+            throw new BizFlowException("检查点序列化失败: " + checkpoint.getFlowId() + "/" + checkpoint.getRunId() + ", 错误: " + e.getMessage(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 反序列化检查点
+     *
+     * @param data 字节数组
+     * @return 检查点
+     * @throws BizFlowException 当数据格式非法时
+     */
+    public FlowCheckpoint deserialize(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC) {
+                throw new BizFlowException("检查点格式非法");
+            }
+            byte version = in.readByte();
+            if (version != VERSION && version != VERSION_WITHOUT_PROGRESS) {
+                throw new BizFlowException("不支持的检查点版本: " + version);
+            }
+            String flowId = readString(in);
+            String runId = readString(in);
+            long sequence = in.readLong();
+            Map<String, Object> variables = readMap(in);
+            Map<String, Object> results = readMap(in);
+            if (version == VERSION_WITHOUT_PROGRESS) {
+                return new FlowCheckpoint(flowId, runId, sequence, variables, results);
+            }
+            Set<String> completedNodeIds = readSet(in);
+            Set<String> takenEdges = readSet(in);
+            return new FlowCheckpoint(flowId, runId, sequence, variables, results, completedNodeIds, takenEdges);
+        } catch (IOException e) {
+            throw new BizFlowException("检查点反序列化失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 写出一个值（类型标记 + 内容）
+     */
+    protected void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(TAG_STRING);
+            writeString(out, s);
+        } else if (value instanceof Integer i) {
+            out.writeByte(TAG_INTEGER);
+            out.writeInt(i);
+        } else if (value instanceof Long l) {
+            out.writeByte(TAG_LONG);
+            out.writeLong(l);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof Double d) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(d);
+        } else if (value instanceof BigDecimal decimal) {
+            out.writeByte(TAG_BIG_DECIMAL);
+            writeString(out, decimal.toString());
+        } else if (value instanceof byte[] raw) {
+            out.writeByte(TAG_BYTES);
+            writeBytes(out, raw);
+        } else if (value instanceof Serializable) {
+            out.writeByte(TAG_JAVA);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+                objectOut.writeObject(value);
+            }
+            writeBytes(out, bytes.toByteArray());
+        } else {
+            throw new NotSerializableException("对象未实现Serializable，无法写入检查点: " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * 按类型标记读取一个值
+     */
+    protected Object readValue(DataInputStream in, int tag) throws IOException {
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_STRING:
+                return readString(in);
+            case TAG_INTEGER:
+                return in.readInt();
+            case TAG_LONG:
+                return in.readLong();
+            case TAG_BOOLEAN:
+                return in.readBoolean();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_BIG_DECIMAL:
+                return new BigDecimal(readString(in));
+            case TAG_BYTES:
+                return readBytes(in);
+            case TAG_JAVA:
+                try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+                    return objectIn.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new InvalidClassException("检查点中的类型不存在: " + e.getMessage());
+                }
+            default:
+                throw new StreamCorruptedException("未知的检查点值类型: " + tag);
+        }
+    }
+
+    private void writeMap(DataOutputStream out, Map<String, Object> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            writeString(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private Map<String, Object> readMap(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<String, Object> map = new HashMap<>(Math.max(16, size * 2));
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            map.put(key, readValue(in, in.readUnsignedByte()));
+        }
+        return map;
+    }
+
+    private void writeSet(DataOutputStream out, Set<String> set) throws IOException {
+        if (set == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(set.size());
+        for (String value : set) {
+            writeString(out, value);
+        }
+    }
+
+    private Set<String> readSet(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        Set<String> set = new HashSet<>(Math.max(16, size * 2));
+        for (int i = 0; i < size; i++) {
+            set.add(readString(in));
+        }
+        return set;
+    }
+
+    /**
+     * 字符串使用长度前缀的UTF-8编码，不受 writeUTF 的 64KB 限制
+     */
+    protected static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    protected static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new StreamCorruptedException("检查点长度非法: " + length);
+        }
+        byte[] value = new byte[length];
+        in.readFully(value);
+        return value;
+    }
+}
@@ -0,0 +1,237 @@
+package io.github.anthem37.easy.ddd.common.flow.checkpoint;
+
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 异步合并写入的检查点写入器
+ *
+ * <p>节点完成后只需把检查点放入待写表即返回，由进程内全部写入器共享的单个后台线程写入存储，
+ * 写入器本身不持有线程，按请求创建编排也不会累积线程：</p>
+ * <ul>
+ *   <li>提交 {@link FlowCheckpointProgress} 时，完整检查点在写出时才由后台线程生成，
+ *   节点线程不复制上下文</li>
+ *   <li>同一次运行尚未写出的检查点只保留序号最大的一个，存储慢时自动合并为一次写入；
+ *   并行执行时晚提交的旧检查点不会覆盖更新的检查点</li>
+ *   <li>运行成功结束后的删除与检查点走同一队列，保证先写后删</li>
+ *   <li>读取时优先返回尚未写出的检查点，同进程内恢复不受写入延迟影响</li>
+ * </ul>
+ *
+ * <p>写入失败只记录日志，不影响流程执行。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 16:24:13
+ */
+@Slf4j
+public class FlowCheckpointWriter implements AutoCloseable {
+
+    @Getter
+    private final IFlowCheckpointStore store;
+
+    /**
+     * 全部写入器共享的后台写出线程，首次提交时创建
+     */
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "bizflow-checkpoint-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 待写出的操作，键为 编排ID/运行ID
+     */
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 正在写出的操作
+     */
+    private volatile Pending writing;
+    private volatile boolean closed;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public FlowCheckpointWriter(IFlowCheckpointStore store) {
+        Assert.orchestrationNotNull(store, "检查点存储不能为空");
+        this.store = store;
+    }
+
+    /**
+     * 提交检查点（异步写入）
+     *
+     * @param checkpoint 检查点
+     */
+    public void submit(FlowCheckpoint checkpoint) {
+        submitted.increment();
+        enqueue(checkpoint.getFlowId(), checkpoint.getRunId(), new Pending(checkpoint.getFlowId(), checkpoint.getRunId(), checkpoint.getSequence(), () -> checkpoint));
+    }
+
+    /**
+     * 提交运行进度（异步写入），写出时生成其最新的完整检查点
+     *
+     * @param progress 运行进度
+     * @param sequence 本次提交对应的检查点序号
+     */
+    public void submit(FlowCheckpointProgress progress, long sequence) {
+        submitted.increment();
+        enqueue(progress.getFlowId(), progress.getRunId(), new Pending(progress.getFlowId(), progress.getRunId(), sequence, progress::snapshot));
+    }
+
+    /**
+     * 运行成功结束，异步删除其检查点
+     *
+     * @param flowId 编排ID
+     * @param runId  运行ID
+     */
+    public void finish(String flowId, String runId) {
+        enqueue(flowId, runId, new Pending(flowId, runId, 0, null));
+    }
+
+    /**
+     * 读取运行的最新检查点，包括尚未写出的检查点
+     *
+     * @param flowId 编排ID
+     * @param runId  运行ID
+     * @return 检查点
+     */
+    public Optional<FlowCheckpoint> load(String flowId, String runId) {
+        Pending latest = pending.get(key(flowId, runId));
+        if (latest == null) {
+            Pending current = writing;
+            if (current != null && current.flowId.equals(flowId) && current.runId.equals(runId)) {
+                latest = current;
+            }
+        }
+        if (latest != null) {
+            return Optional.ofNullable(latest.checkpoint == null ? null : latest.checkpoint.get());
+        }
+        return store.load(flowId, runId);
+    }
+
+    /**
+     * 等待当前已提交的操作全部写出
+     */
+    public void flush() {
+        synchronized (this) {
+            while (!pending.isEmpty() || writing != null) {
+                try {
+                    wait(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 写出剩余操作后关闭，之后不再接受提交（共享的后台线程不受影响）
+     */
+    @Override
+    public void close() {
+        closed = true;
+        flush();
+    }
+
+    /**
+     * 已提交的检查点数量
+     */
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * 实际写入存储的检查点数量（被合并的检查点不计入）
+     */
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    /**
+     * 写入失败次数
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    private void enqueue(String flowId, String runId, Pending operation) {
+        Assert.orchestrationIsFalse(closed, "检查点写入器已关闭");
+        String key = key(flowId, runId);
+        boolean[] added = new boolean[1];
+        pending.compute(key, (k, current) -> {
+            if (current != null) {
+                return latest(current, operation);
+            }
+            // 正在写出的操作更新时丢弃本次操作；写出已结束时由存储按序号拒绝
+            Pending inFlight = writing;
+            if (inFlight != null && inFlight.flowId.equals(flowId) && inFlight.runId.equals(runId) && latest(inFlight, operation) == inFlight) {
+                return null;
+            }
+            added[0] = true;
+            return operation;
+        });
+        if (added[0]) {
+            WORKER.execute(() -> write(key));
+        }
+    }
+
+    /**
+     * 合并同一次运行的两个待写操作：删除优先，否则保留序号较大的检查点
+     */
+    private static Pending latest(Pending current, Pending next) {
+        if (current.checkpoint == null) {
+            return current;
+        }
+        if (next.checkpoint == null || next.sequence > current.sequence) {
+            return next;
+        }
+        return current;
+    }
+
+    private void write(String key) {
+        // 取出与标记为正在写出在同一原子操作内完成，读取方不会错过该检查点
+        pending.computeIfPresent(key, (k, operation) -> {
+            writing = operation;
+            return null;
+        });
+        Pending operation = writing;
+        if (operation == null) {
+            return;
+        }
+        try {
+            if (operation.checkpoint != null) {
+                store.save(operation.checkpoint.get());
+                written.increment();
+            } else {
+                store.delete(operation.flowId, operation.runId);
+            }
+        } catch (Exception e) {
+            failed.increment();
+            log.warn("检查点写入失败: {}, 错误: {}", key, e.getMessage(), e);
+        } finally {
+            writing = null;
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    private static String key(String flowId, String runId) {
+        return flowId + '/' + runId;
+    }
+
+    /**
+     * 待写出的操作，checkpoint为null表示删除；提交运行进度时写出前才生成检查点，其序号不小于 sequence
+     */
+    private record Pending(String flowId, String runId, long sequence, Supplier<FlowCheckpoint> checkpoint) {
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.anthem37.easy.ddd.common.flow.checkpoint;
+
+import java.util.Optional;
+
+/**
+ * 编排检查点存储SPI
+ * 每次运行只保留最新的一份检查点
+ *
+ * @author anthem37
+ * @since 2026/10/19 16:12:08
+ */
+public interface IFlowCheckpointStore {
+
+    /**
+     * 读取运行的最新检查点
+     *
+     * @param flowId 编排ID
+     * @param runId  运行ID
+     * @return 检查点
+     */
+    Optional<FlowCheckpoint> load(String flowId, String runId);
+
+    /**
+     * 保存检查点，序号不大于已有检查点时忽略
+     *
+     * @param checkpoint 检查点
+     */
+    void save(FlowCheckpoint checkpoint);
+
+    /**
+     * 删除运行的检查点
+     *
+     * @param flowId 编排ID
+     * @param runId  运行ID
+     */
+    void delete(String flowId, String runId);
+}
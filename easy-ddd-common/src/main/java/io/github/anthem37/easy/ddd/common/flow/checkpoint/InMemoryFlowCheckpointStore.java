@@ -0,0 +1,37 @@
+package io.github.anthem37.easy.ddd.common.flow.checkpoint;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于内存的检查点存储
+ * 仅在进程内有效，适用于测试或只需在同一进程内重试的场景
+ *
+ * @author anthem37
+ * @since 2026/10/19 16:13:30
+ */
+public class InMemoryFlowCheckpointStore implements IFlowCheckpointStore {
+
+    private final Map<String, FlowCheckpoint> checkpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<FlowCheckpoint> load(String flowId, String runId) {
+        return Optional.ofNullable(checkpoints.get(key(flowId, runId)));
+    }
+
+    @Override
+    public void save(FlowCheckpoint checkpoint) {
+        checkpoints.merge(key(checkpoint.getFlowId(), checkpoint.getRunId()), checkpoint,
+                (existing, latest) -> latest.getSequence() > existing.getSequence() ? latest : existing);
+    }
+
+    @Override
+    public void delete(String flowId, String runId) {
+        checkpoints.remove(key(flowId, runId));
+    }
+
+    private String key(String flowId, String runId) {
+        return flowId + '/' + runId;
+    }
+}
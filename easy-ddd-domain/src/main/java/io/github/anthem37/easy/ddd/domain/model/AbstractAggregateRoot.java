@@ -24,6 +24,13 @@ public abstract class AbstractAggregateRoot<ID> extends AbstractEntity<ID> {
 
     private final List<IDomainEvent> domainEvents = new ArrayList<>();
 
+    /**
+     * 乐观锁版本号（可选）
+     * 为null时不做版本校验；非null时仓储更新会校验版本并在成功后递增
+     */
+    @EqualsAndHashCode.Exclude
+    private Long version;
+
     /**
      * 添加领域事件
      */
@@ -0,0 +1,40 @@
+package io.github.anthem37.easy.ddd.domain.repository;
+
+
+import io.github.anthem37.easy.ddd.domain.model.AbstractAggregateRoot;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步仓储接口
+ * 提供非阻塞的聚合持久化抽象，便于命令处理器组合I/O而不占用执行线程
+ *
+ * @param <T>  聚合根类型
+ * @param <ID> 聚合根标识类型
+ * @author anthem37
+ * @since 2026/10/19 11:38:26
+ */
+public interface IAsyncDomainRepository<T extends AbstractAggregateRoot<ID>, ID> {
+
+    /**
+     * 根据ID异步查找聚合
+     */
+    CompletableFuture<Optional<T>> findByIdAsync(ID id);
+
+    /**
+     * 异步保存聚合
+     */
+    CompletableFuture<Void> saveAsync(T aggregate);
+
+    /**
+     * 异步更新聚合
+     */
+    CompletableFuture<Void> updateAsync(T aggregate);
+
+    /**
+     * 异步删除聚合
+     */
+    CompletableFuture<Void> removeAsync(T aggregate);
+
+}
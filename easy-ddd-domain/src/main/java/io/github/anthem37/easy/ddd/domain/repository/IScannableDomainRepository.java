@@ -0,0 +1,56 @@
+package io.github.anthem37.easy.ddd.domain.repository;
+
+
+import io.github.anthem37.easy.ddd.domain.model.AbstractAggregateRoot;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 可扫描仓储接口
+ * 基于键集游标（按ID递增、WHERE id > lastId）分批读取全部聚合，内存占用只与批大小有关，与表大小无关
+ *
+ * @param <T>  聚合根类型
+ * @param <ID> 聚合根标识类型
+ * @author anthem37
+ * @since 2026/10/19 13:20:14
+ */
+public interface IScannableDomainRepository<T extends AbstractAggregateRoot<ID>, ID> extends IDomainRepository<T, ID> {
+
+    /**
+     * 默认批大小
+     */
+    int DEFAULT_FETCH_SIZE = 500;
+
+    /**
+     * 从头流式扫描全部聚合
+     */
+    default Stream<T> scan() {
+        return scan(null, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * 流式扫描聚合，按需逐批加载
+     * 每批聚合全部交给下游后、加载下一批之前，仓储会刷新并清理持久化上下文，
+     * 因此下游不应在处理完一个聚合后继续持有并修改它（修改需在该聚合所在批次内完成）；
+     * 流不可拆分，parallel() 不会并行加载
+     *
+     * @param afterId   游标起点（不包含），null表示从头开始
+     * @param fetchSize 每批加载数量
+     * @return 按ID递增的聚合流
+     */
+    Stream<T> scan(ID afterId, int fetchSize);
+
+    /**
+     * 分块处理全部聚合
+     * 每块处理完成后仓储会刷新并清理持久化上下文，之后该块不再被引用
+     *
+     * @param afterId      游标起点（不包含），null表示从头开始
+     * @param chunkSize    每块数量
+     * @param chunkHandler 分块处理回调
+     * @return 处理的聚合总数
+     */
+    long scanInChunks(ID afterId, int chunkSize, Consumer<List<T>> chunkHandler);
+
+}
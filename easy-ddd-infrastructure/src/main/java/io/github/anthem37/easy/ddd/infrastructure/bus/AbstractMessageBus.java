@@ -1,14 +1,27 @@
 package io.github.anthem37.easy.ddd.infrastructure.bus;
 
 import io.github.anthem37.easy.ddd.common.assertion.Assert;
+import io.github.anthem37.easy.ddd.common.exception.LoadSheddingException;
+import io.github.anthem37.easy.ddd.infrastructure.executor.PrioritizedTask;
+import io.github.anthem37.easy.ddd.infrastructure.executor.SheddableTask;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 消息总线抽象基类
@@ -22,11 +35,29 @@ import java.util.concurrent.Executor;
 @Slf4j
 public abstract class AbstractMessageBus<M, H> implements ApplicationContextAware {
 
+    /**
+     * 截止时间换算为纳秒时的最大距离（100 天）
+     */
+    private static final Duration MAX_DEADLINE_DISTANCE = Duration.ofDays(100);
+
+    /**
+     * 批量分发时块的提交顺序：优先级高的先提交，同一优先级内按截止时间先后，未指定截止时间的最后
+     */
+    private static final Comparator<ChunkKey> CHUNK_ORDER = Comparator.comparingInt(ChunkKey::priorityLevel)
+            .thenComparing(ChunkKey::deadline, Comparator.nullsLast(Comparator.naturalOrder()));
+
     // 缓存处理器映射关系
     protected final Map<Class<?>, H> handlerCache = new ConcurrentHashMap<>();
 
     protected ApplicationContext applicationContext;
 
+    /**
+     * 批量发送时每个执行任务处理的消息数量上限
+     */
+    @Getter
+    @Setter
+    private volatile int batchChunkSize = 256;
+
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
@@ -52,6 +83,55 @@ public abstract class AbstractMessageBus<M, H> implements ApplicationContextAwar
      */
     protected abstract <R> R handleMessage(H handler, M message);
 
+    /**
+     * 消息在执行器队列中的优先级级别（0为最高），默认不指定
+     */
+    protected int priorityLevelOf(M message) {
+        return PrioritizedTask.UNSPECIFIED;
+    }
+
+    /**
+     * 消息开始处理的截止时间，默认不指定（使用执行器的最大排队时间）
+     */
+    protected Instant deadlineOf(M message) {
+        return null;
+    }
+
+    /**
+     * 将截止时间换算为 {@link System#nanoTime()} 基准，未指定时返回 {@link SheddableTask#NO_DEADLINE}
+     */
+    private static long toDeadlineNanos(Instant deadline) {
+        if (deadline == null) {
+            return SheddableTask.NO_DEADLINE;
+        }
+        Instant now = Instant.now();
+        // 过远的截止时间按不指定处理、过早的按已过期处理，避免换算溢出
+        if (deadline.isAfter(now.plus(MAX_DEADLINE_DISTANCE))) {
+            return SheddableTask.NO_DEADLINE;
+        }
+        Instant bounded = deadline.isBefore(now.minus(MAX_DEADLINE_DISTANCE)) ? now.minus(MAX_DEADLINE_DISTANCE) : deadline;
+        return System.nanoTime() + Duration.between(now, bounded).toNanos();
+    }
+
+    /**
+     * 提交任务到执行器，被拒绝时以拒绝原因完成任务的结果（因过载被拒绝时为 {@link LoadSheddingException}）
+     */
+    private void submit(DispatchTask task) {
+        try {
+            getExecutor().execute(task);
+        } catch (RejectedExecutionException e) {
+            // Spring 执行器会将拒绝异常再包装一层，沿原因链查找卸除异常
+            Throwable error = e;
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof LoadSheddingException) {
+                    error = cause;
+                    break;
+                }
+            }
+            task.fail(error);
+        }
+    }
+
     /**
      * 发送消息并获取结果
      */
@@ -79,10 +159,260 @@ public abstract class AbstractMessageBus<M, H> implements ApplicationContextAwar
 
     /**
      * 异步发送消息
+     *
+     * <p>执行器拒绝或因过载丢弃消息时，返回的 Future 以对应异常完成；
+     * 消息声明了截止时间时（{@link #deadlineOf(Object)}），排队超过该时间仍未开始即被丢弃。</p>
      */
     public <R> CompletableFuture<R> sendAsync(M message) {
         log.debug("异步处理{}: {}", getMessageTypeName(), message.getClass().getSimpleName());
-        return CompletableFuture.supplyAsync(() -> this.<R>send(message), getExecutor());
+        MessageDispatch<R> dispatch = new MessageDispatch<>(message, false);
+        submit(dispatch);
+        return dispatch.future;
+    }
+
+    /**
+     * 异步发送可中断的消息
+     *
+     * <p>返回的 Future 被取消时：尚未开始的消息不再执行，正在执行的消息中断其执行线程。
+     * 中断只发生在消息处理期间，处理结束后残留的中断标记会被清除，不影响执行线程上的后续任务。</p>
+     *
+     * @param message 消息
+     * @return 消息结果 Future
+     */
+    protected <R> CompletableFuture<R> dispatchCancellable(M message) {
+        MessageDispatch<R> dispatch = new MessageDispatch<>(message, true);
+        submit(dispatch);
+        return dispatch.future;
+    }
+
+    /**
+     * 批量分发消息
+     *
+     * <p>逐个校验并查找处理器，校验失败或找不到处理器的消息直接以异常完成；
+     * 其余消息按处理器、优先级与截止时间分组、按 {@link #getBatchChunkSize()} 切分，
+     * 每块作为一个任务以该组的优先级与截止时间提交到执行器，过期的块整体丢弃，不影响截止时间不同的其他消息。
+     * 处理器支持批量处理时整块调用 {@link #handleMessages(Object, List)}，否则在同一任务中逐个处理。</p>
+     *
+     * @param messages 消息列表
+     * @return 与消息列表一一对应的结果 Future
+     */
+    protected <R> List<CompletableFuture<R>> dispatchBatch(List<? extends M> messages) {
+        Assert.notNull(messages, getMessageTypeName() + "列表不能为空");
+        log.debug("批量处理{}: {}条", getMessageTypeName(), messages.size());
+
+        List<CompletableFuture<R>> futures = new ArrayList<>(messages.size());
+        Map<H, Map<ChunkKey, List<Integer>>> groups = new IdentityHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            CompletableFuture<R> future = new CompletableFuture<>();
+            futures.add(future);
+            M message = messages.get(i);
+            try {
+                Assert.notNull(message, getMessageTypeName() + "不能为空");
+                String messageClassName = message.getClass().getSimpleName();
+                Assert.isTrue(isValid(message), getMessageTypeName() + "验证失败: " + messageClassName);
+                H handler = findHandler(message);
+                Assert.notNull(handler, "找不到" + getMessageTypeName() + "处理器: " + messageClassName);
+                ChunkKey key = new ChunkKey(priorityLevelOf(message), deadlineOf(message));
+                groups.computeIfAbsent(handler, h -> new TreeMap<>(CHUNK_ORDER)).computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        int chunkSize = Math.max(1, batchChunkSize);
+        for (Map.Entry<H, Map<ChunkKey, List<Integer>>> group : groups.entrySet()) {
+            for (Map.Entry<ChunkKey, List<Integer>> keyGroup : group.getValue().entrySet()) {
+                List<Integer> indexes = keyGroup.getValue();
+                long deadlineNanos = toDeadlineNanos(keyGroup.getKey().deadline());
+                for (int from = 0; from < indexes.size(); from += chunkSize) {
+                    List<Integer> chunk = indexes.subList(from, Math.min(from + chunkSize, indexes.size()));
+                    List<M> chunkMessages = new ArrayList<>(chunk.size());
+                    List<CompletableFuture<R>> chunkFutures = new ArrayList<>(chunk.size());
+                    for (int index : chunk) {
+                        chunkMessages.add(messages.get(index));
+                        chunkFutures.add(futures.get(index));
+                    }
+                    submit(new ChunkDispatch<>(group.getKey(), chunkMessages, chunkFutures, keyGroup.getKey().priorityLevel(), deadlineNanos));
+                }
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * 处理器是否支持批量处理
+     */
+    protected boolean supportsBatch(H handler) {
+        return false;
+    }
+
+    /**
+     * 批量处理消息，返回与消息一一对应的结果
+     *
+     * <p>默认逐个调用 {@link #handleMessage(Object, Object)}，任一消息失败即整批失败；
+     * 支持批量处理的总线应覆写为处理器的批量处理。</p>
+     */
+    protected <R> List<R> handleMessages(H handler, List<M> messages) {
+        List<R> results = new ArrayList<>(messages.size());
+        for (M message : messages) {
+            results.add(this.<R>handleMessage(handler, message));
+        }
+        return results;
+    }
+
+    private <R> void handleChunk(H handler, List<M> messages, List<CompletableFuture<R>> futures) {
+        if (supportsBatch(handler)) {
+            try {
+                List<R> results = handleMessages(handler, messages);
+                Assert.isTrue(results != null && results.size() == messages.size(), getMessageTypeName() + "批量处理结果数量与请求数量不一致");
+                for (int i = 0; i < futures.size(); i++) {
+                    futures.get(i).complete(results.get(i));
+                }
+            } catch (Throwable e) {
+                // Error 同样需要完成结果，否则等待方会一直阻塞
+                log.error("{}批量处理失败: {}条 - {}", getMessageTypeName(), messages.size(), e.getMessage(), e);
+                futures.forEach(future -> future.completeExceptionally(e));
+            }
+            return;
+        }
+        for (int i = 0; i < messages.size(); i++) {
+            M message = messages.get(i);
+            try {
+                futures.get(i).complete(this.<R>handleMessage(handler, message));
+            } catch (Throwable e) {
+                log.error("{}处理失败: {} - {}", getMessageTypeName(), message.getClass().getSimpleName(), e.getMessage(), e);
+                futures.get(i).completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * 批量分发的分组键
+     */
+    private record ChunkKey(int priorityLevel, Instant deadline) {
+    }
+
+    /**
+     * 提交到执行器的消息任务，携带优先级与截止时间，因过载被丢弃时以 {@link LoadSheddingException} 完成结果
+     */
+    private abstract static class DispatchTask implements PrioritizedTask, SheddableTask {
+
+        private final int priorityLevel;
+        private final long deadlineNanos;
+
+        DispatchTask(int priorityLevel, long deadlineNanos) {
+            this.priorityLevel = priorityLevel;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public int getPriorityLevel() {
+            return priorityLevel;
+        }
+
+        @Override
+        public long getDeadlineNanos() {
+            return deadlineNanos;
+        }
+
+        @Override
+        public void shed(LoadSheddingException exception) {
+            fail(exception);
+        }
+
+        /**
+         * 任务未执行，以异常完成结果
+         */
+        abstract void fail(Throwable error);
+    }
+
+    /**
+     * 单条消息执行任务，可中断时取消结果会中断正在执行的线程
+     */
+    private final class MessageDispatch<R> extends DispatchTask {
+
+        private final M message;
+        private final boolean interruptible;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+
+        /**
+         * 正在执行消息的线程，未开始或已结束时为null（由 this 加锁保护）
+         */
+        private Thread runner;
+
+        MessageDispatch(M message, boolean interruptible) {
+            super(priorityLevelOf(message), toDeadlineNanos(deadlineOf(message)));
+            this.message = message;
+            this.interruptible = interruptible;
+            if (interruptible) {
+                future.whenComplete((result, error) -> {
+                    if (future.isCancelled()) {
+                        interruptRunner();
+                    }
+                });
+            }
+        }
+
+        @Override
+        void fail(Throwable error) {
+            future.completeExceptionally(error);
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (future.isDone()) {
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+            try {
+                future.complete(send(message));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                }
+                if (interruptible && future.isCancelled()) {
+                    // 清除取消时可能残留的中断标记
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        private synchronized void interruptRunner() {
+            if (runner != null) {
+                runner.interrupt();
+            }
+        }
+    }
+
+    /**
+     * 同一处理器、同一优先级与截止时间的一块消息的执行任务
+     */
+    private final class ChunkDispatch<R> extends DispatchTask {
+
+        private final H handler;
+        private final List<M> messages;
+        private final List<CompletableFuture<R>> futures;
+
+        ChunkDispatch(H handler, List<M> messages, List<CompletableFuture<R>> futures, int priorityLevel, long deadlineNanos) {
+            super(priorityLevel, deadlineNanos);
+            this.handler = handler;
+            this.messages = messages;
+            this.futures = futures;
+        }
+
+        @Override
+        public void run() {
+            handleChunk(handler, messages, futures);
+        }
+
+        @Override
+        void fail(Throwable error) {
+            futures.forEach(future -> future.completeExceptionally(error));
+        }
     }
 
     /**
@@ -4,11 +4,15 @@ import io.github.anthem37.easy.ddd.common.cqrs.command.ICommand;
 import io.github.anthem37.easy.ddd.common.cqrs.command.ICommandBus;
 import io.github.anthem37.easy.ddd.common.cqrs.command.ICommandHandler;
 import io.github.anthem37.easy.ddd.infrastructure.bus.AbstractMessageBus;
+import io.github.anthem37.easy.ddd.infrastructure.bus.retry.CommandRetryPolicy;
+import io.github.anthem37.easy.ddd.infrastructure.bus.retry.CommandRetryStatistics;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.InitializingBean;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -16,6 +20,8 @@ import java.util.concurrent.Executor;
 /**
  * 命令总线实现
  * 负责命令的路由和执行
+ * 对声明为可重试的命令，在发生乐观锁冲突时按重试策略自动重新执行处理器。
+ * 重试仅在处理器自身开启事务时有效，若外层已存在事务，重试读取到的仍是旧快照
  *
  * @author anthem37
  * @since 2025/8/13 21:05:46
@@ -28,6 +34,14 @@ public class CommandBus extends AbstractMessageBus<ICommand<?>, ICommandHandler<
     private final String messageTypeName = "命令";
     @Getter
     private Executor executor;
+    @Getter
+    private final CommandRetryPolicy retryPolicy;
+    @Getter
+    private final CommandRetryStatistics retryStatistics = new CommandRetryStatistics();
+
+    public CommandBus(Executor executor) {
+        this(executor, new CommandRetryPolicy());
+    }
 
     @Override
     public <R> R send(ICommand<R> command) {
@@ -40,6 +54,38 @@ public class CommandBus extends AbstractMessageBus<ICommand<?>, ICommandHandler<
         return super.sendAsync(command);
     }
 
+    @Override
+    public <R> List<CompletableFuture<R>> sendBatch(List<? extends ICommand<? extends R>> commands) {
+        return dispatchBatch(commands);
+    }
+
+    @Override
+    protected boolean supportsBatch(ICommandHandler<?, ?> handler) {
+        return handler.supportsBatch();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <R> List<R> handleMessages(ICommandHandler<?, ?> handler, List<ICommand<?>> messages) {
+        return (List<R>) ((ICommandHandler<ICommand<?>, ?>) handler).handleBatch(messages);
+    }
+
+    /**
+     * 命令按声明的优先级在命令执行器中排队
+     */
+    @Override
+    protected int priorityLevelOf(ICommand<?> message) {
+        return message.getPriority() == null ? super.priorityLevelOf(message) : message.getPriority().ordinal();
+    }
+
+    /**
+     * 命令按声明的截止时间参与准入控制
+     */
+    @Override
+    protected Instant deadlineOf(ICommand<?> message) {
+        return message.getDeadline();
+    }
+
     @Override
     protected boolean isValid(ICommand<?> message) {
         return message.isValid();
@@ -48,7 +94,50 @@ public class CommandBus extends AbstractMessageBus<ICommand<?>, ICommandHandler<
     @Override
     @SuppressWarnings("unchecked")
     protected <R> R handleMessage(ICommandHandler<?, ?> handler, ICommand<?> message) {
-        return (R) ((ICommandHandler<ICommand<?>, ?>) handler).handle(message);
+        ICommandHandler<ICommand<?>, ?> commandHandler = (ICommandHandler<ICommand<?>, ?>) handler;
+        Class<?> commandType = message.getClass();
+        retryStatistics.recordCommand(commandType);
+
+        int attempt = 0;
+        while (true) {
+            attempt++;
+            retryStatistics.recordAttempt(commandType);
+            try {
+                return (R) commandHandler.handle(message);
+            } catch (RuntimeException e) {
+                if (!retryPolicy.isConflict(e)) {
+                    throw e;
+                }
+                retryStatistics.recordConflict(commandType);
+                if (!message.isRetryable()) {
+                    throw e;
+                }
+                if (!retryPolicy.canRetry(attempt)) {
+                    retryStatistics.recordExhausted(commandType);
+                    log.warn("命令并发冲突重试已耗尽: {}, 执行次数: {}", commandType.getSimpleName(), attempt);
+                    throw e;
+                }
+                retryStatistics.recordRetry(commandType);
+                backoff(commandType, attempt, e);
+            }
+        }
+    }
+
+    /**
+     * 冲突重试前退避等待
+     */
+    private void backoff(Class<?> commandType, int attempt, RuntimeException conflict) {
+        long backoffMillis = retryPolicy.nextBackoffMillis(attempt);
+        log.debug("命令并发冲突，{}ms后进行第{}次重试: {}", backoffMillis, attempt, commandType.getSimpleName());
+        if (backoffMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(backoffMillis);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
     }
 
     @SuppressWarnings("unchecked")
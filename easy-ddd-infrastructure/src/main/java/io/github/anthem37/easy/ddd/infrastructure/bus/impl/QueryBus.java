@@ -1,14 +1,20 @@
 package io.github.anthem37.easy.ddd.infrastructure.bus.impl;
 
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
 import io.github.anthem37.easy.ddd.common.cqrs.query.IQuery;
 import io.github.anthem37.easy.ddd.common.cqrs.query.IQueryBus;
 import io.github.anthem37.easy.ddd.common.cqrs.query.IQueryHandler;
+import io.github.anthem37.easy.ddd.common.cqrs.query.QueryGatherResult;
 import io.github.anthem37.easy.ddd.infrastructure.bus.AbstractMessageBus;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.InitializingBean;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -39,6 +45,48 @@ public class QueryBus extends AbstractMessageBus<IQuery<?>, IQueryHandler<?, ?>>
         return super.sendAsync(query);
     }
 
+    @Override
+    public <R> List<CompletableFuture<R>> sendBatch(List<? extends IQuery<? extends R>> queries) {
+        return dispatchBatch(queries);
+    }
+
+    /**
+     * 并发发送查询，到达截止时间仍在执行的查询会被中断
+     */
+    @Override
+    public <R> CompletableFuture<QueryGatherResult<R>> sendAllAsync(List<? extends IQuery<? extends R>> queries, Duration timeout) {
+        Assert.notNull(queries, "查询列表不能为空");
+        log.debug("并发处理查询: {}条, 截止时间: {}ms", queries.size(), timeout == null ? null : timeout.toMillis());
+        List<CompletableFuture<R>> futures = new ArrayList<>(queries.size());
+        for (IQuery<? extends R> query : queries) {
+            futures.add(dispatchCancellable(query));
+        }
+        return QueryGatherResult.gather(futures, timeout).whenComplete((result, error) -> {
+            if (result != null && !result.isAllSucceeded()) {
+                log.warn("并发查询未全部成功: {}", result);
+            }
+        });
+    }
+
+    @Override
+    protected boolean supportsBatch(IQueryHandler<?, ?> handler) {
+        return handler.supportsBatch();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <R> List<R> handleMessages(IQueryHandler<?, ?> handler, List<IQuery<?>> messages) {
+        return (List<R>) ((IQueryHandler<IQuery<?>, ?>) handler).handleBatch(messages);
+    }
+
+    /**
+     * 查询按声明的截止时间参与准入控制
+     */
+    @Override
+    protected Instant deadlineOf(IQuery<?> message) {
+        return message.getDeadline();
+    }
+
     @Override
     protected boolean isValid(IQuery<?> message) {
         return message.isValid();
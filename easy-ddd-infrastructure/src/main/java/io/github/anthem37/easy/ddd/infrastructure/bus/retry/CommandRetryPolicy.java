@@ -0,0 +1,86 @@
+package io.github.anthem37.easy.ddd.infrastructure.bus.retry;
+
+import io.github.anthem37.easy.ddd.common.exception.ConcurrencyConflictException;
+import lombok.Data;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 命令并发冲突重试策略
+ * 采用有上限的指数退避加全抖动（full jitter），避免冲突方同时重试再次碰撞
+ *
+ * @author anthem37
+ * @since 2026/10/19 09:26:15
+ */
+@Data
+public class CommandRetryPolicy {
+
+    /**
+     * 是否启用自动重试
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大执行次数（包含首次执行）
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * 首次重试的退避上限（毫秒）
+     */
+    private long initialBackoffMillis = 10;
+
+    /**
+     * 退避上限（毫秒）
+     */
+    private long maxBackoffMillis = 200;
+
+    /**
+     * 退避增长倍数
+     */
+    private double multiplier = 2.0;
+
+    /**
+     * 判断异常是否为并发冲突（沿异常链查找）
+     *
+     * @param throwable 异常
+     * @return 是否为并发冲突
+     */
+    public boolean isConflict(Throwable throwable) {
+        Throwable current = throwable;
+        while (current != null) {
+            if (current instanceof ConcurrencyConflictException || current instanceof OptimisticLockingFailureException) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                return false;
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * 是否还能继续重试
+     *
+     * @param attempt 已执行次数
+     * @return 是否允许再次执行
+     */
+    public boolean canRetry(int attempt) {
+        return enabled && attempt < maxAttempts;
+    }
+
+    /**
+     * 计算第 attempt 次执行失败后的退避时间
+     * 退避上限为 min(maxBackoff, initialBackoff * multiplier^(attempt-1))，实际值在 [0, 上限] 内均匀随机
+     *
+     * @param attempt 已执行次数（从1开始）
+     * @return 退避时间（毫秒）
+     */
+    public long nextBackoffMillis(int attempt) {
+        double ceiling = initialBackoffMillis * Math.pow(multiplier, Math.max(0, attempt - 1));
+        long bound = (long) Math.min(maxBackoffMillis, ceiling);
+        return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+}
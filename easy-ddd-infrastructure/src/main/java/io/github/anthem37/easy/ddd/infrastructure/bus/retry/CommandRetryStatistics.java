@@ -0,0 +1,133 @@
+package io.github.anthem37.easy.ddd.infrastructure.bus.retry;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 命令并发冲突与重试统计
+ * 按命令类型累计执行、冲突与重试次数
+ *
+ * @author anthem37
+ * @since 2026/10/19 09:41:52
+ */
+public class CommandRetryStatistics {
+
+    private final Map<Class<?>, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次命令发送
+     */
+    public void recordCommand(Class<?> commandType) {
+        countersOf(commandType).commands.increment();
+    }
+
+    /**
+     * 记录一次处理器执行（首次执行或重试）
+     */
+    public void recordAttempt(Class<?> commandType) {
+        countersOf(commandType).attempts.increment();
+    }
+
+    /**
+     * 记录一次并发冲突
+     */
+    public void recordConflict(Class<?> commandType) {
+        countersOf(commandType).conflicts.increment();
+    }
+
+    /**
+     * 记录一次重试
+     */
+    public void recordRetry(Class<?> commandType) {
+        countersOf(commandType).retries.increment();
+    }
+
+    /**
+     * 记录一次重试耗尽
+     */
+    public void recordExhausted(Class<?> commandType) {
+        countersOf(commandType).exhausted.increment();
+    }
+
+    /**
+     * 获取统计快照
+     *
+     * @return 命令类型全名到统计快照的映射
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        counters.forEach((type, c) -> result.put(type.getName(), new Snapshot(c.commands.sum(), c.attempts.sum(), c.conflicts.sum(), c.retries.sum(), c.exhausted.sum())));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * 重置统计
+     */
+    public void reset() {
+        counters.clear();
+    }
+
+    private Counters countersOf(Class<?> commandType) {
+        return counters.computeIfAbsent(commandType, k -> new Counters());
+    }
+
+    private static final class Counters {
+        final LongAdder commands = new LongAdder();
+        final LongAdder attempts = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder exhausted = new LongAdder();
+    }
+
+    /**
+     * 单个命令类型的统计快照
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Snapshot {
+        /**
+         * 命令发送次数
+         */
+        private final long commands;
+
+        /**
+         * 处理器执行次数（含重试）
+         */
+        private final long attempts;
+
+        /**
+         * 并发冲突次数
+         */
+        private final long conflicts;
+
+        /**
+         * 重试次数
+         */
+        private final long retries;
+
+        /**
+         * 重试耗尽后仍失败的次数
+         */
+        private final long exhausted;
+
+        /**
+         * 冲突率：冲突次数 / 执行次数
+         */
+        public double getConflictRate() {
+            return attempts == 0 ? 0.0 : (double) conflicts / attempts;
+        }
+
+        /**
+         * 重试率：重试次数 / 命令发送次数
+         */
+        public double getRetryRate() {
+            return commands == 0 ? 0.0 : (double) retries / commands;
+        }
+    }
+}
@@ -1,16 +1,40 @@
 package io.github.anthem37.easy.ddd.infrastructure.config;
 
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
+import io.github.anthem37.easy.ddd.common.cqrs.command.CommandPriority;
+import io.github.anthem37.easy.ddd.infrastructure.executor.AdaptivePoolSizer;
+import io.github.anthem37.easy.ddd.infrastructure.executor.AdmissionController;
+import io.github.anthem37.easy.ddd.infrastructure.executor.AgingPriorityBlockingQueue;
+import io.github.anthem37.easy.ddd.infrastructure.executor.ExecutorMonitor;
+import io.github.anthem37.easy.ddd.infrastructure.executor.ExecutorSnapshot;
+import io.github.anthem37.easy.ddd.infrastructure.executor.MpmcArrayBlockingQueue;
+import io.github.anthem37.easy.ddd.infrastructure.executor.PrioritizedTask;
+import io.github.anthem37.easy.ddd.infrastructure.executor.TaskTimingStatistics;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.io.Serial;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 异步执行器配置
@@ -47,6 +71,24 @@ public class AsyncExecutorConfig {
      */
     private ExecutorProperties applicationEvent = new ExecutorProperties();
 
+    /**
+     * 已创建的线程池（按线程池名称）
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<String, MonitorableThreadPoolTaskExecutor> executors = new ConcurrentHashMap<>();
+
+    /**
+     * 获取全部线程池的运行状态快照
+     *
+     * @return 线程池名称（Query/Command/DomainEvent/ApplicationEvent）到快照的映射
+     */
+    public Map<String, ExecutorSnapshot> snapshots() {
+        Map<String, ExecutorSnapshot> result = new LinkedHashMap<>();
+        executors.forEach((name, executor) -> result.put(name, executor.snapshot(name)));
+        return Collections.unmodifiableMap(result);
+    }
+
     private ExecutorProperties createCpuBoundDefaults() {
         ExecutorProperties defaults = new ExecutorProperties();
         defaults.setCorePoolSizeMultiplier(1.0);
@@ -111,10 +153,13 @@ public class AsyncExecutorConfig {
     /**
      * 通用任务专用线程池
      * 用于处理各种通用异步任务，采用平衡配置
+     * 默认启用优先级调度，命令按 {@link CommandPriority} 出队
      */
     @Bean("commandExecutor")
     public Executor commandExecutor() {
-        return createExecutor(command, "Command", createBalancedDefaults());
+        ExecutorProperties defaults = createBalancedDefaults();
+        defaults.setPriorityScheduling(true);
+        return createExecutor(command, "Command", defaults);
     }
 
     /**
@@ -126,12 +171,26 @@ public class AsyncExecutorConfig {
      */
     private Executor createExecutor(ExecutorProperties props, String namePrefix, ExecutorProperties defaultProps) {
         props.mergeWith(defaultProps);
-        ThreadPoolTaskExecutor executor = new MonitorableThreadPoolTaskExecutor();
+        MonitorableThreadPoolTaskExecutor executor = new MonitorableThreadPoolTaskExecutor();
 
         int cpuCores = Runtime.getRuntime().availableProcessors();
         int corePoolSize = Math.max(1, (int) (cpuCores * props.getCorePoolSizeMultiplier()));
         int maxPoolSize = Math.max(corePoolSize, (int) (cpuCores * props.getMaxPoolSizeMultiplier()));
 
+        // 自适应模式：核心线程数在上下限内动态调整，最大线程数固定为上限
+        ExecutorProperties.Adaptive adaptive = props.getAdaptive();
+        int minPoolSize = 0;
+        if (adaptive.isEnabled()) {
+            minPoolSize = adaptive.getMinPoolSize() > 0 ? adaptive.getMinPoolSize() : corePoolSize;
+            maxPoolSize = adaptive.getMaxPoolSize() > 0 ? adaptive.getMaxPoolSize() : maxPoolSize;
+            Assert.isTrue(minPoolSize <= maxPoolSize, namePrefix + " 线程池自适应下限不能大于上限: " + minPoolSize + " > " + maxPoolSize);
+            Assert.isTrue(adaptive.getIntervalMillis() > 0, namePrefix + " 线程池自适应采样周期必须大于0");
+            Assert.isTrue(adaptive.getTargetUtilization() > 0 && adaptive.getTargetUtilization() <= 1, namePrefix + " 线程池目标利用率必须在(0, 1]之间");
+            Assert.isTrue(adaptive.getDecreaseFactor() > 0 && adaptive.getDecreaseFactor() < 1, namePrefix + " 线程池缩容系数必须在(0, 1)之间");
+            Assert.isTrue(adaptive.getIncreaseStep() > 0 && adaptive.getHistorySize() > 0, namePrefix + " 线程池扩容步长与历史容量必须大于0");
+            corePoolSize = Math.min(maxPoolSize, Math.max(minPoolSize, corePoolSize));
+        }
+
         // 设置核心线程数
         executor.setCorePoolSize(corePoolSize);
         // 设置最大线程数
@@ -142,17 +201,47 @@ public class AsyncExecutorConfig {
         executor.setThreadNamePrefix(namePrefix + "-");
         // 设置线程空闲时间
         executor.setKeepAliveSeconds(props.getKeepAliveSeconds());
-        // 设置拒绝策略
-        executor.setRejectedExecutionHandler(getRejectedExecutionHandler(props.getRejectedExecutionPolicy()));
+        // 设置拒绝策略，截止时间感知模式下同时启用准入控制
+        if (props.getRejectedExecutionPolicy() == ExecutorProperties.RejectedExecutionPolicy.DEADLINE_AWARE) {
+            ExecutorProperties.Admission admission = props.getAdmission();
+            Assert.isTrue(admission.getTargetQueueDelayMillis() > 0 && admission.getIntervalMillis() > 0, namePrefix + " 线程池目标排队时间与观察周期必须大于0");
+            Assert.isTrue(admission.getMaxQueueDelayMillis() > 0, namePrefix + " 线程池最大排队时间必须大于0");
+            AdmissionController admissionController = new AdmissionController(namePrefix, admission);
+            executor.setAdmissionController(admissionController);
+            executor.setRejectedExecutionHandler(admissionController.rejectionHandler());
+            log.info("{} 线程池启用准入控制 - 目标排队时间: {}ms, 观察周期: {}ms, 最大排队时间: {}ms", namePrefix, admission.getTargetQueueDelayMillis(), admission.getIntervalMillis(), admission.getMaxQueueDelayMillis());
+        } else {
+            executor.setRejectedExecutionHandler(getRejectedExecutionHandler(props.getRejectedExecutionPolicy()));
+        }
         // 设置等待任务完成后关闭
         executor.setWaitForTasksToCompleteOnShutdown(props.isWaitForTasksToCompleteOnShutdown());
         // 设置等待时间
         executor.setAwaitTerminationSeconds(props.getAwaitTerminationSeconds());
+        // 设置优先级调度
+        if (Boolean.TRUE.equals(props.getPriorityScheduling())) {
+            executor.setPriorityAgingMillis(props.getPriorityAgingMillis());
+        }
+        // 设置队列实现
+        if (props.getQueueType() == ExecutorProperties.QueueType.LOCK_FREE) {
+            Assert.isFalse(Boolean.TRUE.equals(props.getPriorityScheduling()), namePrefix + " 线程池优先级调度与无锁队列不能同时启用");
+            Assert.isTrue(props.getQueueCapacity() <= MpmcArrayBlockingQueue.MAX_CAPACITY, namePrefix + " 线程池无锁队列容量不能超过 " + MpmcArrayBlockingQueue.MAX_CAPACITY);
+            executor.setLockFreeQueue(true);
+        }
 
         executor.initialize();
 
+        executor.registerMonitor(namePrefix);
+        executors.put(namePrefix, executor);
+
         log.info("{} 线程池初始化完成 - CPU核心数: {}, 核心线程数: {}, 最大线程数: {}, 队列容量: {}", namePrefix, cpuCores, executor.getCorePoolSize(), executor.getMaxPoolSize(), props.getQueueCapacity());
 
+        if (adaptive.isEnabled()) {
+            AdaptivePoolSizer poolSizer = new AdaptivePoolSizer(namePrefix, executor, adaptive, minPoolSize, maxPoolSize);
+            executor.setPoolSizer(poolSizer);
+            poolSizer.start();
+            log.info("{} 线程池启用自适应调整 - 策略: {}, 核心线程数范围: [{}, {}], 采样周期: {}ms", namePrefix, adaptive.getStrategy(), minPoolSize, maxPoolSize, adaptive.getIntervalMillis());
+        }
+
         return executor;
     }
 
@@ -182,6 +271,12 @@ public class AsyncExecutorConfig {
      */
     @Data
     public static class ExecutorProperties {
+
+        /**
+         * 默认优先级老化周期（毫秒）
+         */
+        public static final long DEFAULT_PRIORITY_AGING_MILLIS = 500;
+
         /**
          * 核心线程数乘数（相对于CPU核心数）
          */
@@ -203,7 +298,7 @@ public class AsyncExecutorConfig {
         private int keepAliveSeconds;
 
         /**
-         * 拒绝策略（CALLER_RUNS, DISCARD_OLDEST, DISCARD, ABORT）
+         * 拒绝策略（CALLER_RUNS, DISCARD_OLDEST, DISCARD, ABORT, DEADLINE_AWARE）
          */
         private RejectedExecutionPolicy rejectedExecutionPolicy;
 
@@ -217,6 +312,32 @@ public class AsyncExecutorConfig {
          */
         private int awaitTerminationSeconds;
 
+        /**
+         * 队列实现，默认 LINKED
+         */
+        private QueueType queueType;
+
+        /**
+         * 是否按任务优先级调度（使用带老化的多级优先级队列代替 FIFO 队列）
+         * 未配置时取线程池默认值，队列实现为 LOCK_FREE 时默认不启用，显式启用则启动失败
+         */
+        private Boolean priorityScheduling;
+
+        /**
+         * 优先级老化周期（毫秒），低优先级任务每等待一个周期提升一级
+         */
+        private long priorityAgingMillis;
+
+        /**
+         * 自适应调整配置
+         */
+        private Adaptive adaptive = new Adaptive();
+
+        /**
+         * 准入控制配置，拒绝策略为 DEADLINE_AWARE 时生效
+         */
+        private Admission admission = new Admission();
+
         public void mergeWith(ExecutorProperties defaults) {
             if (corePoolSizeMultiplier <= 0 && defaults.getCorePoolSizeMultiplier() > 0) {
                 corePoolSizeMultiplier = defaults.getCorePoolSizeMultiplier();
@@ -236,6 +357,30 @@ public class AsyncExecutorConfig {
             if (rejectedExecutionPolicy == null && defaults.getRejectedExecutionPolicy() != null) {
                 rejectedExecutionPolicy = defaults.getRejectedExecutionPolicy();
             }
+            if (queueType == null) {
+                queueType = defaults.getQueueType() != null ? defaults.getQueueType() : QueueType.LINKED;
+            }
+            if (priorityScheduling == null) {
+                // 无锁队列不支持优先级调度，选择无锁队列时不沿用默认启用的优先级调度
+                priorityScheduling = queueType == QueueType.LOCK_FREE ? Boolean.FALSE : defaults.getPriorityScheduling();
+            }
+            if (priorityAgingMillis <= 0) {
+                priorityAgingMillis = defaults.getPriorityAgingMillis() > 0 ? defaults.getPriorityAgingMillis() : DEFAULT_PRIORITY_AGING_MILLIS;
+            }
+        }
+
+        /**
+         * 队列实现枚举
+         */
+        public enum QueueType {
+            /**
+             * 基于链表的阻塞队列（入队与出队各一把锁，每个任务分配一个节点）
+             */
+            LINKED,
+            /**
+             * 基于数组的无锁多生产者多消费者队列（不支持优先级调度，容量上限见 {@link MpmcArrayBlockingQueue#MAX_CAPACITY}）
+             */
+            LOCK_FREE
         }
 
         /**
@@ -257,23 +402,304 @@ public class AsyncExecutorConfig {
             /**
              * 拒绝策略：抛出异常策略
              */
-            ABORT
+            ABORT,
+            /**
+             * 截止时间感知的卸除策略：队列满时拒绝而不在调用线程执行，
+             * 排队过期或持续积压的任务在开始前丢弃，以 LoadSheddingException 完成其结果
+             */
+            DEADLINE_AWARE
+        }
+
+        /**
+         * 准入控制配置
+         */
+        @Data
+        public static class Admission {
+            /**
+             * 目标排队时间（毫秒），排队时间持续一个观察周期高于该值时开始丢弃
+             */
+            private long targetQueueDelayMillis = 10;
+
+            /**
+             * 观察周期（毫秒），应覆盖任务的典型执行时间
+             */
+            private long intervalMillis = 100;
+
+            /**
+             * 最大排队时间（毫秒），任务未指定截止时间时以提交时间加该值作为截止时间
+             */
+            private long maxQueueDelayMillis = 1000;
+        }
+
+        /**
+         * 线程池自适应调整配置
+         */
+        @Data
+        public static class Adaptive {
+            /**
+             * 是否启用自适应调整
+             */
+            private boolean enabled = false;
+
+            /**
+             * 调整策略
+             */
+            private Strategy strategy = Strategy.AIMD;
+
+            /**
+             * 核心线程数下限，0表示使用按乘数计算的核心线程数
+             */
+            private int minPoolSize;
+
+            /**
+             * 核心线程数上限（同时作为最大线程数），0表示使用按乘数计算的最大线程数
+             */
+            private int maxPoolSize;
+
+            /**
+             * 采样周期（毫秒）
+             */
+            private long intervalMillis = 1000;
+
+            /**
+             * 目标排队等待时间（毫秒），AIMD 策略下超过该值即扩容
+             */
+            private double targetWaitMillis = 20;
+
+            /**
+             * 目标线程利用率，LITTLE 策略按并发需求除以该值计算核心线程数
+             */
+            private double targetUtilization = 0.75;
+
+            /**
+             * AIMD 策略每次扩容增加的线程数
+             */
+            private int increaseStep = 1;
+
+            /**
+             * AIMD 策略每次缩容保留的比例
+             */
+            private double decreaseFactor = 0.75;
+
+            /**
+             * 保留的调整决策历史条数
+             */
+            private int historySize = 32;
+
+            /**
+             * 调整策略枚举
+             */
+            public enum Strategy {
+                /**
+                 * 加性增加、乘性减少
+                 */
+                AIMD,
+                /**
+                 * 按利特尔法则估算并发需求
+                 */
+                LITTLE
+            }
         }
     }
 
     /**
      * 可监控的线程池任务执行器
      * 扩展ThreadPoolTaskExecutor，添加监控功能
+     * 通过任务装饰器记录每个任务的排队与执行耗时（覆盖 execute 与 submit），按拒绝策略统计拒绝次数，
+     * 并以线程池名称注册 JMX 监控
      */
     public static class MonitorableThreadPoolTaskExecutor extends ThreadPoolTaskExecutor {
 
         @Serial
         private static final long serialVersionUID = 1L;
 
+        /**
+         * 优先级队列的级别名称，与 {@link CommandPriority} 的顺序一致
+         */
+        private static final String[] PRIORITY_LEVELS = Arrays.stream(CommandPriority.values()).map(Enum::name).toArray(String[]::new);
+
+        /**
+         * 任务排队与执行计时
+         */
+        @Getter
+        private final transient TaskTimingStatistics timingStatistics = new TaskTimingStatistics();
+
+        /**
+         * 自适应调整器，未启用自适应模式时为null
+         */
+        @Getter
+        private transient AdaptivePoolSizer poolSizer;
+
+        /**
+         * 使用方设置的任务装饰器，在计时包装内执行
+         */
+        private transient TaskDecorator delegateDecorator;
+
+        /**
+         * 按拒绝策略统计的拒绝次数
+         */
+        private final transient Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+
+        /**
+         * 当前拒绝策略名称
+         */
+        @Getter
+        private String rejectionPolicy = ThreadPoolExecutor.AbortPolicy.class.getSimpleName();
+
+        /**
+         * 计数包装后的拒绝策略，未设置时在初始化时包装默认的 AbortPolicy
+         */
+        private transient RejectedExecutionHandler countingRejectionHandler;
+
+        /**
+         * JMX 监控，未注册时为null
+         */
+        private transient ExecutorMonitor monitor;
+
+        /**
+         * 优先级老化周期（毫秒），0表示不启用优先级调度
+         */
+        private long priorityAgingMillis;
+
+        /**
+         * 是否使用无锁队列
+         */
+        private boolean lockFreeQueue;
+
+        /**
+         * 准入控制，未启用截止时间感知模式时为null
+         */
+        @Getter
+        private transient AdmissionController admissionController;
+
         @Override
-        public void execute(Runnable task) {
-            // 可以在这里添加监控逻辑，如记录任务执行时间、计数等
-            super.execute(task);
+        public void setTaskDecorator(TaskDecorator taskDecorator) {
+            this.delegateDecorator = taskDecorator;
+        }
+
+        /**
+         * 设置拒绝策略，拒绝次数按策略计数后再交给该策略处理
+         */
+        @Override
+        public void setRejectedExecutionHandler(RejectedExecutionHandler rejectedExecutionHandler) {
+            countingRejectionHandler = counting(rejectedExecutionHandler != null ? rejectedExecutionHandler : new ThreadPoolExecutor.AbortPolicy());
+            super.setRejectedExecutionHandler(countingRejectionHandler);
+        }
+
+        private RejectedExecutionHandler counting(RejectedExecutionHandler handler) {
+            String policy = handler.getClass().getSimpleName();
+            this.rejectionPolicy = policy;
+            return (task, pool) -> {
+                rejections.computeIfAbsent(policy, key -> new LongAdder()).increment();
+                handler.rejectedExecution(task, pool);
+            };
+        }
+
+        /**
+         * 初始化时装配计时包装与拒绝计数（不在构造函数中进行，避免子类构造完成前泄露 this）
+         */
+        @Override
+        protected ExecutorService initializeExecutor(ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+            super.setTaskDecorator(this::instrument);
+            if (countingRejectionHandler == null) {
+                setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+            }
+            return super.initializeExecutor(threadFactory, countingRejectionHandler);
+        }
+
+        void setPoolSizer(AdaptivePoolSizer poolSizer) {
+            this.poolSizer = poolSizer;
+        }
+
+        void setAdmissionController(AdmissionController admissionController) {
+            this.admissionController = admissionController;
+        }
+
+        /**
+         * 启用优先级调度，需在初始化前设置
+         *
+         * @param agingMillis 优先级老化周期（毫秒）
+         */
+        void setPriorityAgingMillis(long agingMillis) {
+            this.priorityAgingMillis = agingMillis;
+        }
+
+        /**
+         * 使用无锁队列代替链表队列，需在初始化前设置
+         *
+         * @param lockFreeQueue 是否使用无锁队列
+         */
+        void setLockFreeQueue(boolean lockFreeQueue) {
+            this.lockFreeQueue = lockFreeQueue;
+        }
+
+        @Override
+        protected BlockingQueue<Runnable> createQueue(int queueCapacity) {
+            if (priorityAgingMillis > 0 && queueCapacity > 0) {
+                return new AgingPriorityBlockingQueue(queueCapacity, PRIORITY_LEVELS, CommandPriority.NORMAL.ordinal(), priorityAgingMillis);
+            }
+            if (lockFreeQueue && queueCapacity > 0) {
+                return new MpmcArrayBlockingQueue(queueCapacity);
+            }
+            return super.createQueue(queueCapacity);
+        }
+
+        /**
+         * 以线程池名称注册 JMX 监控
+         */
+        void registerMonitor(String poolName) {
+            monitor = new ExecutorMonitor(poolName, this);
+            monitor.register();
+        }
+
+        /**
+         * 包装任务以记录排队时间、执行时间与执行中状态（装饰在提交线程中进行），启用准入控制时在开始执行前判断是否丢弃
+         */
+        private Runnable instrument(Runnable task) {
+            return timingStatistics.wrap(delegateDecorator == null ? task : delegateDecorator.decorate(task), PrioritizedTask.levelOf(task),
+                    admissionController == null ? null : admissionController.gateFor(task));
+        }
+
+        @Override
+        public void shutdown() {
+            if (poolSizer != null) {
+                poolSizer.stop();
+            }
+            if (monitor != null) {
+                monitor.unregister();
+            }
+            super.shutdown();
+        }
+
+        /**
+         * 拒绝总次数
+         */
+        public long getRejectedCount() {
+            long total = 0;
+            for (LongAdder counter : rejections.values()) {
+                total += counter.sum();
+            }
+            return total;
+        }
+
+        /**
+         * 获取运行状态快照
+         *
+         * @param poolName 线程池名称
+         * @return 运行状态快照
+         */
+        public ExecutorSnapshot snapshot(String poolName) {
+            Map<String, Long> rejected = new TreeMap<>();
+            rejections.forEach((policy, counter) -> rejected.put(policy, counter.sum()));
+            TaskTimingStatistics.Snapshot counts = timingStatistics.snapshot();
+            return new ExecutorSnapshot(poolName, getCorePoolSize(), getMaxPoolSize(), getPoolSize(), getActiveCount(), getQueueSize(),
+                    counts.getSubmitted(), counts.getCompleted(), Collections.unmodifiableMap(rejected),
+                    timingStatistics.getWaitTime().snapshot(), timingStatistics.getServiceTime().snapshot(), timingStatistics.longestInFlight(),
+                    getThreadPoolExecutor().getQueue() instanceof AgingPriorityBlockingQueue queue ? queue.waitTimeSnapshots() : Collections.emptyMap(),
+                    admissionController == null ? Collections.emptyMap() : admissionController.shedCounts(),
+                    poolSizer == null ? 0L : poolSizer.getIncreaseCount(), poolSizer == null ? 0L : poolSizer.getDecreaseCount(),
+                    poolSizer == null ? null : poolSizer.getLastDecision(),
+                    poolSizer == null ? Collections.emptyList() : Collections.unmodifiableList(poolSizer.getHistory()));
         }
 
         /**
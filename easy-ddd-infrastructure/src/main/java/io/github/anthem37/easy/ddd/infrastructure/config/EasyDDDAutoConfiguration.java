@@ -7,6 +7,7 @@ import io.github.anthem37.easy.ddd.domain.event.DomainEventPublisher;
 import io.github.anthem37.easy.ddd.domain.event.IDomainEventPublisher;
 import io.github.anthem37.easy.ddd.infrastructure.bus.impl.CommandBus;
 import io.github.anthem37.easy.ddd.infrastructure.bus.impl.QueryBus;
+import io.github.anthem37.easy.ddd.infrastructure.bus.retry.CommandRetryPolicy;
 import io.github.anthem37.easy.ddd.infrastructure.event.SpringApplicationEventPublisher;
 import io.github.anthem37.easy.ddd.infrastructure.event.SpringDomainEventPublisher;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +15,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -39,13 +41,23 @@ import java.util.concurrent.Executor;
 @Import(AsyncExecutorConfig.class)
 public class EasyDDDAutoConfiguration implements ApplicationRunner {
 
+    /**
+     * 命令并发冲突重试策略
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "easy.ddd.command.retry")
+    @ConditionalOnMissingBean(CommandRetryPolicy.class)
+    public CommandRetryPolicy commandRetryPolicy() {
+        return new CommandRetryPolicy();
+    }
+
     /**
      * 命令总线
      */
     @Bean
     @ConditionalOnMissingBean(ICommandBus.class)
-    public ICommandBus commandBus(@Qualifier("commandExecutor") Executor commandExecutor) {
-        return new CommandBus(commandExecutor);
+    public ICommandBus commandBus(@Qualifier("commandExecutor") Executor commandExecutor, CommandRetryPolicy commandRetryPolicy) {
+        return new CommandBus(commandExecutor, commandRetryPolicy);
     }
 
     /**
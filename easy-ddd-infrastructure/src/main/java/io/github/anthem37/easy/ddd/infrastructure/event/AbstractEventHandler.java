@@ -28,10 +28,19 @@ public abstract class AbstractEventHandler<T extends IEvent> implements IEventHa
     @EventListener
     @Override
     public void handle(T event) {
-        if (event.getTriggeredPhase() != TriggeredPhase.IN_PROCESS) {
+        TriggeredPhase phase = event.getTriggeredPhase();
+        if (phase == TriggeredPhase.IN_PROCESS) {
+            processEvent(event, "处理事件", this::doHandle, this::handleError);
             return;
         }
-        processEvent(event, "处理事件", this::doHandle, this::handleError);
+        // 事务外补发的事务阶段事件，事务监听器不会触发，在此按阶段处理
+        if (DeferredPhaseDispatch.isDispatching(phase)) {
+            if (phase == TriggeredPhase.AFTER_COMMIT) {
+                processEvent(event, "事务提交后处理事件", this::doHandleAfterCommit, this::handleAfterCommitError);
+            } else if (phase == TriggeredPhase.AFTER_ROLLBACK) {
+                processEvent(event, "事务回滚后处理事件", this::doHandleAfterRollback, this::handleAfterRollbackError);
+            }
+        }
     }
 
     /**
@@ -0,0 +1,75 @@
+package io.github.anthem37.easy.ddd.infrastructure.event;
+
+import io.github.anthem37.easy.ddd.common.event.TriggeredPhase;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 事务阶段补发上下文
+ * 当事务（或等价的持久化单元）已经结束、当前线程却没有活动事务时，
+ * {@code @TransactionalEventListener} 不会再收到事件。此时在本上下文中发布事件，
+ * {@link AbstractEventHandler} 会按事件声明的阶段直接处理，保证提交后/回滚后处理逻辑照常执行
+ *
+ * @author anthem37
+ * @since 2026/10/19 11:46:02
+ */
+public final class DeferredPhaseDispatch {
+
+    private static final ThreadLocal<TriggeredPhase> COMPLETED_PHASE = new ThreadLocal<>();
+
+    private DeferredPhaseDispatch() {
+        // 工具类，禁止实例化
+    }
+
+    /**
+     * 以“某阶段已完成”的身份执行发布动作
+     *
+     * @param completedPhase 已完成的阶段，为null时直接执行
+     * @param action         发布动作
+     */
+    public static void runAs(TriggeredPhase completedPhase, Runnable action) {
+        if (completedPhase == null) {
+            action.run();
+            return;
+        }
+        TriggeredPhase previous = COMPLETED_PHASE.get();
+        COMPLETED_PHASE.set(completedPhase);
+        try {
+            action.run();
+        } finally {
+            if (previous == null) {
+                COMPLETED_PHASE.remove();
+            } else {
+                COMPLETED_PHASE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 持久化单元已成功完成后发布：有活动事务时交给事务监听器，否则按提交后阶段补发
+     *
+     * @param action 发布动作
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            action.run();
+            return;
+        }
+        runAs(TriggeredPhase.AFTER_COMMIT, action);
+    }
+
+    /**
+     * 获取当前线程正在补发的阶段
+     *
+     * @return 已完成的阶段，未处于补发上下文时返回null
+     */
+    public static TriggeredPhase current() {
+        return COMPLETED_PHASE.get();
+    }
+
+    /**
+     * 当前线程是否正在补发指定阶段的事件
+     */
+    public static boolean isDispatching(TriggeredPhase phase) {
+        return phase != null && phase == COMPLETED_PHASE.get();
+    }
+}
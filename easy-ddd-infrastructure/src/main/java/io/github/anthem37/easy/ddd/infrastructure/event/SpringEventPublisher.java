@@ -3,15 +3,25 @@ package io.github.anthem37.easy.ddd.infrastructure.event;
 import io.github.anthem37.easy.ddd.common.assertion.Assert;
 import io.github.anthem37.easy.ddd.common.event.IEvent;
 import io.github.anthem37.easy.ddd.common.event.IEventPublisher;
+import io.github.anthem37.easy.ddd.common.event.TriggeredPhase;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executor;
 
 /**
  * Spring框架实现的领域事件发布器
  * 实现领域层定义的EventPublisher接口
  *
+ * <p>异步事件在执行线程上发布，该线程没有事务，{@code @TransactionalEventListener} 收不到事件。
+ * 因此在活动事务中发布的、声明了事务阶段（提交后/回滚后）的异步事件不会立即提交，
+ * 而是收集到该事务的一个事务同步中：事务结束时按结果取出对应阶段的事件，作为一个任务提交到执行器，
+ * 在 {@link DeferredPhaseDispatch} 补发上下文中按顺序发布；与事务结果不符的事件（如回滚时的提交后事件）直接丢弃。</p>
+ *
  * @author anthem37
  * @since 2025/8/14 16:15:47
  */
@@ -45,8 +55,13 @@ public class SpringEventPublisher<T extends IEvent> implements IEventPublisher<T
     private void publishEventInternal(IEvent event) {
         boolean async = event.isAsync();
         try {
+            if (async && deferToTransaction(event)) {
+                return;
+            }
             if (async) {
-                eventExecutor.execute(() -> applicationEventPublisher.publishEvent(event));
+                // 异步发布时带上当前线程的补发阶段
+                TriggeredPhase completedPhase = DeferredPhaseDispatch.current();
+                eventExecutor.execute(() -> DeferredPhaseDispatch.runAs(completedPhase, () -> applicationEventPublisher.publishEvent(event)));
                 return;
             }
             applicationEventPublisher.publishEvent(event);
@@ -60,4 +75,96 @@ public class SpringEventPublisher<T extends IEvent> implements IEventPublisher<T
         }
     }
 
+    /**
+     * 活动事务中的事务阶段事件加入该事务的事件批次，事务结束后再发布
+     *
+     * @param event 异步事件
+     * @return 是否已加入事务批次
+     */
+    private boolean deferToTransaction(IEvent event) {
+        TriggeredPhase phase = event.getTriggeredPhase();
+        if ((phase != TriggeredPhase.AFTER_COMMIT && phase != TriggeredPhase.AFTER_ROLLBACK)
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return false;
+        }
+        TransactionalEventBatch batch = (TransactionalEventBatch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            batch = new TransactionalEventBatch(this);
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(batch);
+        }
+        batch.events.add(event);
+        return true;
+    }
+
+    /**
+     * 以补发上下文按顺序发布一批事件，单个事件失败不影响其余事件
+     */
+    private void publishBatch(TriggeredPhase completedPhase, List<IEvent> events) {
+        DeferredPhaseDispatch.runAs(completedPhase, () -> {
+            for (IEvent event : events) {
+                try {
+                    applicationEventPublisher.publishEvent(event);
+                } catch (Exception e) {
+                    log.error("异步事件发布失败: {} - {}", event.getEventType(), e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 一个事务内收集的异步事务阶段事件，以事务资源绑定到当前事务，每个事务只注册一次
+     *
+     * <p>静态嵌套类：非静态内部类的类型依赖发布器的类型参数，从事务资源取回时的强制转换会成为未检查转换。</p>
+     */
+    private static final class TransactionalEventBatch implements TransactionSynchronization {
+
+        private final SpringEventPublisher<?> publisher;
+        private final List<IEvent> events = new ArrayList<>();
+
+        private TransactionalEventBatch(SpringEventPublisher<?> publisher) {
+            this.publisher = publisher;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(publisher);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(publisher, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(publisher);
+            TriggeredPhase completedPhase = switch (status) {
+                case STATUS_COMMITTED -> TriggeredPhase.AFTER_COMMIT;
+                case STATUS_ROLLED_BACK -> TriggeredPhase.AFTER_ROLLBACK;
+                default -> null;
+            };
+            if (completedPhase == null) {
+                log.warn("事务结果未知，丢弃{}个异步事务事件", events.size());
+                return;
+            }
+            List<IEvent> matched = new ArrayList<>(events.size());
+            for (IEvent event : events) {
+                if (event.getTriggeredPhase() == completedPhase) {
+                    matched.add(event);
+                }
+            }
+            log.debug("事务结束({})，发布{}个异步事务事件，丢弃{}个", completedPhase, matched.size(), events.size() - matched.size());
+            if (matched.isEmpty()) {
+                return;
+            }
+            try {
+                publisher.eventExecutor.execute(() -> publisher.publishBatch(completedPhase, matched));
+            } catch (Exception e) {
+                log.error("异步事务事件提交失败: {}个 - {}", matched.size(), e.getMessage(), e);
+            }
+        }
+    }
+
 }
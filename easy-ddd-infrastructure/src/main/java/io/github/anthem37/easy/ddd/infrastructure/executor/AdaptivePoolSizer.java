@@ -0,0 +1,227 @@
+package io.github.anthem37.easy.ddd.infrastructure.executor;
+
+import io.github.anthem37.easy.ddd.infrastructure.config.AsyncExecutorConfig.ExecutorProperties.Adaptive;
+import io.github.anthem37.easy.ddd.infrastructure.config.AsyncExecutorConfig.MonitorableThreadPoolTaskExecutor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程池自适应调整器
+ *
+ * <p>按固定周期采样任务到达率、平均排队时间、平均执行时间与队列深度，在配置的上下限内调整核心线程数：</p>
+ * <ul>
+ *   <li>AIMD：排队时间超过目标或积压超过核心线程数时加性增加；
+ *   队列为空且估算的并发需求低于核心线程数一半时乘性减少（不低于估算需求）</li>
+ *   <li>LITTLE：按利特尔法则估算并发需求（到达率 × 平均执行时间），除以目标利用率后直接作为核心线程数</li>
+ * </ul>
+ *
+ * <p>最大线程数固定为上限，有界队列下核心线程数决定常态并发，超出核心数的线程只在队列满时创建。
+ * 每次调整都会记录日志并计入调整统计，最近的调整决策保留在历史中。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 20:46:37
+ */
+@Slf4j
+public class AdaptivePoolSizer {
+
+    /**
+     * 并发需求低于核心线程数的该比例时才考虑缩容
+     */
+    private static final double LOW_UTILIZATION = 0.5;
+
+    /**
+     * 所有线程池共享的采样线程
+     */
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "easy-ddd-pool-sizer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Getter
+    private final String poolName;
+    private final MonitorableThreadPoolTaskExecutor executor;
+    private final Adaptive settings;
+
+    @Getter
+    private final int minPoolSize;
+
+    @Getter
+    private final int maxPoolSize;
+
+    private final Deque<PoolResizeDecision> history;
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder increases = new LongAdder();
+    private final LongAdder decreases = new LongAdder();
+
+    private TaskTimingStatistics.Snapshot previous;
+    private long previousSampleNanos;
+    private ScheduledFuture<?> sampling;
+
+    public AdaptivePoolSizer(String poolName, MonitorableThreadPoolTaskExecutor executor, Adaptive settings, int minPoolSize, int maxPoolSize) {
+        this.poolName = poolName;
+        this.executor = executor;
+        this.settings = settings;
+        this.minPoolSize = minPoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.history = new ArrayDeque<>(settings.getHistorySize());
+    }
+
+    /**
+     * 开始周期采样
+     */
+    public synchronized void start() {
+        if (sampling != null) {
+            return;
+        }
+        previous = executor.getTimingStatistics().snapshot();
+        previousSampleNanos = System.nanoTime();
+        long interval = settings.getIntervalMillis();
+        sampling = SCHEDULER.scheduleWithFixedDelay(this::adjustSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止周期采样
+     */
+    public synchronized void stop() {
+        if (sampling != null) {
+            sampling.cancel(false);
+            sampling = null;
+        }
+    }
+
+    private void adjustSafely() {
+        try {
+            adjust();
+        } catch (Exception e) {
+            log.warn("{} 线程池自适应调整失败: {}", poolName, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 采样一次并按策略调整核心线程数
+     *
+     * <p>尚未开始周期采样时，本次调用只记录采样基线，不做调整。</p>
+     *
+     * @return 本次调整决策，未调整时返回null
+     */
+    public synchronized PoolResizeDecision adjust() {
+        long now = System.nanoTime();
+        TaskTimingStatistics.Snapshot current = executor.getTimingStatistics().snapshot();
+        if (previous == null) {
+            previous = current;
+            previousSampleNanos = now;
+            return null;
+        }
+        double intervalSeconds = Math.max(now - previousSampleNanos, 1) / 1_000_000_000.0;
+        long started = current.getStarted() - previous.getStarted();
+        long completed = current.getCompleted() - previous.getCompleted();
+        double arrivalRate = (current.getSubmitted() - previous.getSubmitted()) / intervalSeconds;
+        double averageWaitMillis = started == 0 ? 0.0 : (current.getTotalWaitNanos() - previous.getTotalWaitNanos()) / 1_000_000.0 / started;
+        double averageServiceMillis = completed == 0 ? 0.0 : (current.getTotalServiceNanos() - previous.getTotalServiceNanos()) / 1_000_000.0 / completed;
+        previous = current;
+        previousSampleNanos = now;
+        samples.increment();
+
+        int queueDepth = executor.getQueueSize();
+        int activeCount = executor.getActiveCount();
+        int size = executor.getCorePoolSize();
+        // 并发需求：本周期没有完成的任务时无法估算执行时间，退化为当前活跃线程数
+        double demand = completed == 0 ? activeCount : Math.max(activeCount, arrivalRate * averageServiceMillis / 1000.0);
+
+        int target;
+        String reason;
+        if (settings.getStrategy() == Adaptive.Strategy.LITTLE) {
+            target = (int) Math.ceil(demand / settings.getTargetUtilization());
+            reason = "利特尔法则估算";
+        } else if (averageWaitMillis > settings.getTargetWaitMillis() || queueDepth > size) {
+            target = size + settings.getIncreaseStep();
+            reason = "排队等待超过目标";
+        } else if (queueDepth == 0 && demand < size * LOW_UTILIZATION) {
+            target = Math.max((int) Math.ceil(size * settings.getDecreaseFactor()), (int) Math.ceil(demand));
+            reason = "线程利用率过低";
+        } else {
+            target = size;
+            reason = "负载平稳";
+        }
+        target = Math.min(maxPoolSize, Math.max(minPoolSize, target));
+
+        if (target == size) {
+            log.debug("{} 线程池保持核心线程数 {} ({}, 到达率: {}/s, 平均等待: {}ms, 平均执行: {}ms, 队列深度: {})", poolName, size, reason, arrivalRate, averageWaitMillis, averageServiceMillis, queueDepth);
+            return null;
+        }
+
+        executor.setCorePoolSize(target);
+        PoolResizeDecision decision = new PoolResizeDecision(LocalDateTime.now(), size, target, arrivalRate, averageWaitMillis, averageServiceMillis, queueDepth, activeCount, reason);
+        if (target > size) {
+            increases.increment();
+        } else {
+            decreases.increment();
+        }
+        synchronized (history) {
+            if (history.size() >= settings.getHistorySize()) {
+                history.pollFirst();
+            }
+            history.addLast(decision);
+        }
+        log.info("{} 线程池调整核心线程数: {}", poolName, decision);
+        return decision;
+    }
+
+    /**
+     * 采样次数
+     */
+    public long getSampleCount() {
+        return samples.sum();
+    }
+
+    /**
+     * 扩容次数
+     */
+    public long getIncreaseCount() {
+        return increases.sum();
+    }
+
+    /**
+     * 缩容次数
+     */
+    public long getDecreaseCount() {
+        return decreases.sum();
+    }
+
+    /**
+     * 当前核心线程数
+     */
+    public int getCurrentPoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    /**
+     * 最近一次调整决策，尚未调整过时返回null
+     */
+    public PoolResizeDecision getLastDecision() {
+        synchronized (history) {
+            return history.peekLast();
+        }
+    }
+
+    /**
+     * 最近的调整决策（按时间先后排列）
+     */
+    public List<PoolResizeDecision> getHistory() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+}
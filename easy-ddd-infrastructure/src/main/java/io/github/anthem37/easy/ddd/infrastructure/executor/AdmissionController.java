@@ -0,0 +1,217 @@
+package io.github.anthem37.easy.ddd.infrastructure.executor;
+
+import io.github.anthem37.easy.ddd.common.exception.LoadSheddingException;
+import io.github.anthem37.easy.ddd.common.exception.LoadSheddingException.Reason;
+import io.github.anthem37.easy.ddd.infrastructure.config.AsyncExecutorConfig.ExecutorProperties.Admission;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 截止时间感知的准入控制
+ *
+ * <p>只作用于 {@link SheddableTask}，其他任务照常执行。任务在开始执行时（已出队、尚未运行）按以下顺序判断：</p>
+ * <ul>
+ *   <li>截止时间：排队超过任务自带的截止时间，或未指定时超过最大排队时间，直接丢弃</li>
+ *   <li>CoDel：排队时间持续一个观察周期都高于目标值时进入丢弃状态，丢弃当前任务，
+ *   之后按 周期/√丢弃次数 的间隔继续丢弃，直到出现排队时间低于目标值的任务</li>
+ * </ul>
+ *
+ * <p>被丢弃的任务不会执行，以 {@link LoadSheddingException} 通知提交方。
+ * 队列已满时的拒绝策略同样以该异常拒绝，不会在提交线程中执行任务。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 22:36:52
+ */
+@Slf4j
+public class AdmissionController {
+
+    @Getter
+    private final String poolName;
+    private final long targetNanos;
+    private final long intervalNanos;
+    private final long maxQueueDelayNanos;
+
+    private final Map<Reason, LongAdder> shed = new EnumMap<>(Reason.class);
+
+    // ========== CoDel 状态（由 this 加锁保护） ==========
+
+    /**
+     * 排队时间是否已高于目标值
+     */
+    private boolean aboveTarget;
+
+    /**
+     * 排队时间持续高于目标值到该时刻即可开始丢弃
+     */
+    private long firstAboveTime;
+
+    /**
+     * 是否处于丢弃状态
+     */
+    private boolean dropping;
+
+    /**
+     * 丢弃状态下下一次丢弃的时刻
+     */
+    private long dropNext;
+
+    /**
+     * 本轮丢弃状态的丢弃次数
+     */
+    private int dropCount;
+
+    /**
+     * 上一轮丢弃状态结束时的丢弃次数
+     */
+    private int lastDropCount;
+
+    public AdmissionController(String poolName, Admission settings) {
+        this.poolName = poolName;
+        this.targetNanos = TimeUnit.MILLISECONDS.toNanos(settings.getTargetQueueDelayMillis());
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(settings.getIntervalMillis());
+        this.maxQueueDelayNanos = TimeUnit.MILLISECONDS.toNanos(settings.getMaxQueueDelayMillis());
+        for (Reason reason : Reason.values()) {
+            shed.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * 为任务创建开始执行前的准入判断
+     *
+     * @param task 原始任务
+     * @return 准入判断，非 {@link SheddableTask} 返回null
+     */
+    public TaskTimingStatistics.StartGate gateFor(Runnable task) {
+        if (!(task instanceof SheddableTask sheddable)) {
+            return null;
+        }
+        return (submittedAt, startedAt) -> admit(sheddable, submittedAt, startedAt);
+    }
+
+    /**
+     * 判断任务能否开始执行，不能执行时以丢弃原因通知任务
+     *
+     * @param task        任务
+     * @param submittedAt 提交时间
+     * @param startedAt   开始执行时间
+     * @return 是否执行
+     */
+    public boolean admit(SheddableTask task, long submittedAt, long startedAt) {
+        long queued = startedAt - submittedAt;
+        long deadline = task.getDeadlineNanos() == SheddableTask.NO_DEADLINE ? submittedAt + maxQueueDelayNanos : task.getDeadlineNanos();
+        Reason reason = startedAt - deadline > 0 ? Reason.DEADLINE_EXPIRED : (shouldDrop(queued, startedAt) ? Reason.QUEUE_DELAY : null);
+        if (reason == null) {
+            return true;
+        }
+        shed.get(reason).increment();
+        log.debug("{} 线程池丢弃任务: {}, 原因: {}, 排队 {}ms", poolName, task.getClass().getSimpleName(), reason, TimeUnit.NANOSECONDS.toMillis(queued));
+        try {
+            task.shed(new LoadSheddingException(reason, queued));
+        } catch (RuntimeException e) {
+            log.warn("{} 线程池通知丢弃任务失败: {}", poolName, e.getMessage(), e);
+        }
+        return false;
+    }
+
+    /**
+     * CoDel 丢弃判断（RFC 8289），每个出队任务调用一次
+     */
+    private synchronized boolean shouldDrop(long sojourn, long now) {
+        boolean okToDrop = false;
+        if (sojourn < targetNanos) {
+            aboveTarget = false;
+        } else if (!aboveTarget) {
+            aboveTarget = true;
+            firstAboveTime = now + intervalNanos;
+        } else {
+            okToDrop = now - firstAboveTime >= 0;
+        }
+
+        if (dropping) {
+            if (!okToDrop) {
+                dropping = false;
+                return false;
+            }
+            if (now - dropNext >= 0) {
+                dropCount++;
+                dropNext = controlLaw(dropNext, dropCount);
+                return true;
+            }
+            return false;
+        }
+        if (!okToDrop) {
+            return false;
+        }
+        // 距上一轮丢弃不久又进入丢弃状态时，从上一轮的丢弃频率附近继续
+        int delta = dropCount - lastDropCount;
+        dropCount = delta > 1 && now - dropNext < 16 * intervalNanos ? delta : 1;
+        lastDropCount = dropCount;
+        dropping = true;
+        dropNext = controlLaw(now, dropCount);
+        log.warn("{} 线程池排队时间持续超过目标值 {}ms，开始丢弃任务", poolName, TimeUnit.NANOSECONDS.toMillis(targetNanos));
+        return true;
+    }
+
+    private long controlLaw(long time, int count) {
+        return time + (long) (intervalNanos / Math.sqrt(count));
+    }
+
+    /**
+     * 是否处于 CoDel 丢弃状态
+     */
+    public synchronized boolean isDropping() {
+        return dropping;
+    }
+
+    /**
+     * 按原因统计的丢弃次数
+     */
+    public Map<String, Long> shedCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        shed.forEach((reason, counter) -> counts.put(reason.name(), counter.sum()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * 丢弃总次数
+     */
+    public long getShedCount() {
+        long total = 0;
+        for (LongAdder counter : shed.values()) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    /**
+     * 队列已满时的拒绝策略：以 {@link LoadSheddingException} 为原因抛出 {@link RejectedExecutionException}
+     */
+    public RejectedExecutionHandler rejectionHandler() {
+        return new ShedPolicy();
+    }
+
+    /**
+     * 队列已满时的卸除拒绝策略
+     */
+    private final class ShedPolicy implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException(poolName + " 线程池已关闭");
+            }
+            shed.get(Reason.QUEUE_FULL).increment();
+            throw new RejectedExecutionException(poolName + " 线程池队列已满，任务被丢弃", new LoadSheddingException(Reason.QUEUE_FULL, 0));
+        }
+    }
+}
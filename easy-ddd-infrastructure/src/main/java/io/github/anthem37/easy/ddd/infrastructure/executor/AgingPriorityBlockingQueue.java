@@ -0,0 +1,356 @@
+package io.github.anthem37.easy.ddd.infrastructure.executor;
+
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 带老化的多级优先级有界阻塞队列
+ *
+ * <p>每个优先级级别一个 FIFO 队列，出队时比较各级别队首任务的有效时间
+ * （入队时间 + 级别 × 老化周期），取最早者：</p>
+ * <ul>
+ *   <li>等待时间相同时高级别任务先出队</li>
+ *   <li>低级别任务每多等待一个老化周期，相当于提升一个级别，因此不会被持续到达的高级别任务饿死</li>
+ *   <li>同一级别内保持先进先出</li>
+ * </ul>
+ *
+ * <p>任务级别由 {@link PrioritizedTask} 指定，未指定的任务按默认级别入队。
+ * 每个级别的排队时间在出队时记录到各自的直方图。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 22:03:41
+ */
+public class AgingPriorityBlockingQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private final String[] levelNames;
+    private final int defaultLevel;
+    private final long agingNanos;
+    private final int capacity;
+
+    private final ArrayDeque<Entry>[] levels;
+    private final LatencyHistogram[] waitTimes;
+    private int count;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * 构造函数
+     *
+     * @param capacity     队列容量（各级别合计）
+     * @param levelNames   各级别名称，按级别从高到低排列
+     * @param defaultLevel 未指定优先级的任务使用的级别
+     * @param agingMillis  老化周期（毫秒），低级别任务每等待一个周期提升一个级别
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public AgingPriorityBlockingQueue(int capacity, String[] levelNames, int defaultLevel, long agingMillis) {
+        Assert.isTrue(capacity > 0, "队列容量必须大于0");
+        Assert.notEmpty(levelNames, "优先级级别不能为空");
+        Assert.isTrue(defaultLevel >= 0 && defaultLevel < levelNames.length, "默认优先级级别超出范围: " + defaultLevel);
+        Assert.isTrue(agingMillis > 0, "老化周期必须大于0");
+        this.capacity = capacity;
+        this.levelNames = levelNames.clone();
+        this.defaultLevel = defaultLevel;
+        this.agingNanos = TimeUnit.MILLISECONDS.toNanos(agingMillis);
+        this.levels = new ArrayDeque[levelNames.length];
+        this.waitTimes = new LatencyHistogram[levelNames.length];
+        for (int i = 0; i < levelNames.length; i++) {
+            levels[i] = new ArrayDeque<>();
+            waitTimes[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * 各级别的排队时间分布
+     *
+     * @return 级别名称到排队时间快照的映射，按级别从高到低排列
+     */
+    public Map<String, LatencyHistogram.Snapshot> waitTimeSnapshots() {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new LinkedHashMap<>();
+        for (int i = 0; i < levelNames.length; i++) {
+            snapshots.put(levelNames[i], waitTimes[i].snapshot());
+        }
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    /**
+     * 各级别当前排队的任务数
+     *
+     * @return 级别名称到任务数的映射，按级别从高到低排列
+     */
+    public Map<String, Integer> sizesByLevel() {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            for (int i = 0; i < levelNames.length; i++) {
+                sizes.put(levelNames[i], levels[i].size());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return Collections.unmodifiableMap(sizes);
+    }
+
+    // ========== 入队 ==========
+
+    @Override
+    public boolean offer(Runnable task) {
+        Objects.requireNonNull(task);
+        lock.lock();
+        try {
+            if (count == capacity) {
+                return false;
+            }
+            enqueue(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        Objects.requireNonNull(task);
+        lock.lockInterruptibly();
+        try {
+            while (count == capacity) {
+                notFull.await();
+            }
+            enqueue(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(task);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(Runnable task) {
+        int level = PrioritizedTask.levelOf(task);
+        level = level < 0 ? defaultLevel : Math.min(level, levels.length - 1);
+        levels[level].addLast(new Entry(task, level, System.nanoTime()));
+        count++;
+        notEmpty.signal();
+    }
+
+    // ========== 出队 ==========
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return count == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            int level = nextLevel();
+            return level < 0 ? null : levels[level].peekFirst().task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 有效时间最早的非空级别，队列为空时返回-1
+     */
+    private int nextLevel() {
+        int selected = -1;
+        long selectedTime = 0;
+        for (int level = 0; level < levels.length; level++) {
+            Entry head = levels[level].peekFirst();
+            if (head == null) {
+                continue;
+            }
+            long effectiveTime = head.enqueuedAt + level * agingNanos;
+            if (selected < 0 || effectiveTime - selectedTime < 0) {
+                selected = level;
+                selectedTime = effectiveTime;
+            }
+        }
+        return selected;
+    }
+
+    private Runnable dequeue() {
+        Entry entry = levels[nextLevel()].pollFirst();
+        count--;
+        notFull.signal();
+        waitTimes[entry.level].record(System.nanoTime() - entry.enqueuedAt);
+        return entry.task;
+    }
+
+    // ========== 集合操作 ==========
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object task) {
+        lock.lock();
+        try {
+            for (ArrayDeque<Entry> level : levels) {
+                Iterator<Entry> iterator = level.iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().task.equals(task)) {
+                        iterator.remove();
+                        count--;
+                        notFull.signal();
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> target) {
+        return drainTo(target, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> target, int maxElements) {
+        Assert.notNull(target, "目标集合不能为空");
+        Assert.isFalse(target == this, "不能导出到队列自身");
+        lock.lock();
+        try {
+            int drained = 0;
+            while (count > 0 && drained < maxElements) {
+                target.add(dequeue());
+                drained++;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 返回当前任务的快照迭代器（按级别从高到低、级别内按入队顺序排列，不反映老化后的出队顺序），
+     * 通过迭代器删除会从队列中移除对应任务
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Runnable> snapshot = new ArrayList<>();
+        lock.lock();
+        try {
+            for (ArrayDeque<Entry> level : levels) {
+                for (Entry entry : level) {
+                    snapshot.add(entry.task);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        Iterator<Runnable> delegate = snapshot.iterator();
+        return new Iterator<>() {
+            private Runnable current;
+
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public Runnable next() {
+                current = delegate.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                Assert.notNull(current, "迭代器尚未返回元素");
+                AgingPriorityBlockingQueue.this.remove(current);
+                current = null;
+            }
+        };
+    }
+
+    private record Entry(Runnable task, int level, long enqueuedAt) {
+    }
+}
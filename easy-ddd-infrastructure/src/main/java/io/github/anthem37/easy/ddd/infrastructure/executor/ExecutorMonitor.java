@@ -0,0 +1,224 @@
+package io.github.anthem37.easy.ddd.infrastructure.executor;
+
+import io.github.anthem37.easy.ddd.infrastructure.config.AsyncExecutorConfig.MonitorableThreadPoolTaskExecutor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 线程池的 JMX 监控
+ * 以 {@code io.github.anthem37.easy.ddd:type=Executor,name=<线程池名>} 注册到平台 MBeanServer
+ *
+ * @author anthem37
+ * @since 2026/10/19 21:20:44
+ */
+@Slf4j
+public class ExecutorMonitor implements ExecutorMonitorMXBean {
+
+    private static final String DOMAIN = "io.github.anthem37.easy.ddd";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String poolName;
+    private final MonitorableThreadPoolTaskExecutor executor;
+    private ObjectName objectName;
+
+    public ExecutorMonitor(String poolName, MonitorableThreadPoolTaskExecutor executor) {
+        this.poolName = poolName;
+        this.executor = executor;
+    }
+
+    /**
+     * 注册到平台 MBeanServer，同名 MBean 已存在（如同一进程内多个应用上下文）时跳过
+     */
+    public synchronized void register() {
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=Executor,name=" + ObjectName.quote(poolName));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                log.warn("{} 线程池监控 MBean 已存在，跳过注册: {}", poolName, name);
+                return;
+            }
+            server.registerMBean(this, name);
+            objectName = name;
+        } catch (JMException e) {
+            log.warn("{} 线程池监控 MBean 注册失败: {}", poolName, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 从平台 MBeanServer 注销
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            log.warn("{} 线程池监控 MBean 注销失败: {}", poolName, e.getMessage(), e);
+        }
+        objectName = null;
+    }
+
+    @Override
+    public String getPoolName() {
+        return poolName;
+    }
+
+    @Override
+    public int getCorePoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    @Override
+    public int getMaxPoolSize() {
+        return executor.getMaxPoolSize();
+    }
+
+    @Override
+    public int getPoolSize() {
+        return executor.getPoolSize();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return executor.getQueueSize();
+    }
+
+    @Override
+    public long getSubmittedCount() {
+        return executor.getTimingStatistics().snapshot().getSubmitted();
+    }
+
+    @Override
+    public long getCompletedCount() {
+        return executor.getTimingStatistics().snapshot().getCompleted();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return executor.getRejectedCount();
+    }
+
+    @Override
+    public String getRejectionPolicy() {
+        return executor.getRejectionPolicy();
+    }
+
+    @Override
+    public double getWaitMeanMillis() {
+        return waitTime().getMeanNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getWaitP50Millis() {
+        return waitTime().getP50Nanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getWaitP99Millis() {
+        return waitTime().getP99Nanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getWaitMaxMillis() {
+        return waitTime().getMaxNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getServiceMeanMillis() {
+        return serviceTime().getMeanNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getServiceP50Millis() {
+        return serviceTime().getP50Nanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getServiceP99Millis() {
+        return serviceTime().getP99Nanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getServiceMaxMillis() {
+        return serviceTime().getMaxNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLongestInFlightMillis() {
+        TaskTimingStatistics.InFlightTask task = executor.getTimingStatistics().longestInFlight();
+        return task == null ? 0.0 : task.getElapsedNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public String getLongestInFlightTask() {
+        TaskTimingStatistics.InFlightTask task = executor.getTimingStatistics().longestInFlight();
+        return task == null ? null : task.getThreadName() + " " + task.getTaskType();
+    }
+
+    @Override
+    public Map<String, Double> getQueueWaitP99MillisByPriority() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        if (executor.getThreadPoolExecutor().getQueue() instanceof AgingPriorityBlockingQueue queue) {
+            queue.waitTimeSnapshots().forEach((level, snapshot) -> result.put(level, snapshot.getP99Nanos() / NANOS_PER_MILLI));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getShedCountByReason() {
+        AdmissionController admission = executor.getAdmissionController();
+        return admission == null ? Map.of() : admission.shedCounts();
+    }
+
+    @Override
+    public boolean isShedding() {
+        AdmissionController admission = executor.getAdmissionController();
+        return admission != null && admission.isDropping();
+    }
+
+    @Override
+    public long getPoolResizeIncreaseCount() {
+        AdaptivePoolSizer sizer = executor.getPoolSizer();
+        return sizer == null ? 0L : sizer.getIncreaseCount();
+    }
+
+    @Override
+    public long getPoolResizeDecreaseCount() {
+        AdaptivePoolSizer sizer = executor.getPoolSizer();
+        return sizer == null ? 0L : sizer.getDecreaseCount();
+    }
+
+    @Override
+    public String getLastPoolResize() {
+        AdaptivePoolSizer sizer = executor.getPoolSizer();
+        PoolResizeDecision decision = sizer == null ? null : sizer.getLastDecision();
+        return decision == null ? null : decision.getTime() + " " + decision;
+    }
+
+    @Override
+    public List<String> getPoolResizeHistory() {
+        AdaptivePoolSizer sizer = executor.getPoolSizer();
+        return sizer == null ? List.of() : sizer.getHistory().stream().map(decision -> decision.getTime() + " " + decision).toList();
+    }
+
+    private LatencyHistogram.Snapshot waitTime() {
+        return executor.getTimingStatistics().getWaitTime().snapshot();
+    }
+
+    private LatencyHistogram.Snapshot serviceTime() {
+        return executor.getTimingStatistics().getServiceTime().snapshot();
+    }
+}
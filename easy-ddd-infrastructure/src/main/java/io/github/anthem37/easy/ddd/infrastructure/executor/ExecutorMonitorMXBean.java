@@ -0,0 +1,95 @@
+package io.github.anthem37.easy.ddd.infrastructure.executor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 线程池监控 JMX 接口
+ * 耗时单位均为毫秒
+ *
+ * @author anthem37
+ * @since 2026/10/19 21:18:02
+ */
+public interface ExecutorMonitorMXBean {
+
+    String getPoolName();
+
+    int getCorePoolSize();
+
+    int getMaxPoolSize();
+
+    int getPoolSize();
+
+    int getActiveCount();
+
+    int getQueueSize();
+
+    long getSubmittedCount();
+
+    long getCompletedCount();
+
+    long getRejectedCount();
+
+    String getRejectionPolicy();
+
+    double getWaitMeanMillis();
+
+    double getWaitP50Millis();
+
+    double getWaitP99Millis();
+
+    double getWaitMaxMillis();
+
+    double getServiceMeanMillis();
+
+    double getServiceP50Millis();
+
+    double getServiceP99Millis();
+
+    double getServiceMaxMillis();
+
+    /**
+     * 执行时间最长的执行中任务已执行的时间，没有执行中任务时为0
+     */
+    double getLongestInFlightMillis();
+
+    /**
+     * 执行时间最长的执行中任务（线程名与任务类名），没有执行中任务时为null
+     */
+    String getLongestInFlightTask();
+
+    /**
+     * 按优先级级别统计的排队时间99分位，未启用优先级调度时为空
+     */
+    Map<String, Double> getQueueWaitP99MillisByPriority();
+
+    /**
+     * 按原因统计的负载卸除次数，未启用准入控制时为空
+     */
+    Map<String, Long> getShedCountByReason();
+
+    /**
+     * 是否处于 CoDel 丢弃状态，未启用准入控制时为false
+     */
+    boolean isShedding();
+
+    /**
+     * 自适应扩容次数，未启用自适应模式时为0
+     */
+    long getPoolResizeIncreaseCount();
+
+    /**
+     * 自适应缩容次数，未启用自适应模式时为0
+     */
+    long getPoolResizeDecreaseCount();
+
+    /**
+     * 最近一次自适应调整决策，未启用自适应模式或尚未调整过时为null
+     */
+    String getLastPoolResize();
+
+    /**
+     * 最近的自适应调整决策（按时间先后排列），未启用自适应模式时为空
+     */
+    List<String> getPoolResizeHistory();
+}
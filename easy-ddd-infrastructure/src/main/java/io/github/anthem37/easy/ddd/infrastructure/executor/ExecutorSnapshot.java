@@ -0,0 +1,130 @@
+package io.github.anthem37.easy.ddd.infrastructure.executor;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 线程池运行状态快照
+ *
+ * @author anthem37
+ * @since 2026/10/19 21:15:49
+ */
+@Getter
+@RequiredArgsConstructor
+public class ExecutorSnapshot {
+
+    /**
+     * 线程池名称
+     */
+    private final String poolName;
+
+    /**
+     * 核心线程数
+     */
+    private final int corePoolSize;
+
+    /**
+     * 最大线程数
+     */
+    private final int maxPoolSize;
+
+    /**
+     * 当前线程数
+     */
+    private final int poolSize;
+
+    /**
+     * 活跃线程数
+     */
+    private final int activeCount;
+
+    /**
+     * 队列深度
+     */
+    private final int queueSize;
+
+    /**
+     * 提交的任务数
+     */
+    private final long submittedCount;
+
+    /**
+     * 执行结束的任务数
+     */
+    private final long completedCount;
+
+    /**
+     * 按拒绝策略统计的拒绝次数
+     */
+    private final Map<String, Long> rejections;
+
+    /**
+     * 排队等待时间分布
+     */
+    private final LatencyHistogram.Snapshot waitTime;
+
+    /**
+     * 执行时间分布
+     */
+    private final LatencyHistogram.Snapshot serviceTime;
+
+    /**
+     * 执行时间最长的执行中任务，没有时为null
+     */
+    private final TaskTimingStatistics.InFlightTask longestInFlight;
+
+    /**
+     * 按优先级级别统计的排队时间分布，未启用优先级调度时为空
+     */
+    private final Map<String, LatencyHistogram.Snapshot> queueWaitByPriority;
+
+    /**
+     * 按原因统计的负载卸除次数，未启用准入控制时为空
+     */
+    private final Map<String, Long> shed;
+
+    /**
+     * 自适应扩容次数，未启用自适应模式时为0
+     */
+    private final long poolResizeIncreases;
+
+    /**
+     * 自适应缩容次数，未启用自适应模式时为0
+     */
+    private final long poolResizeDecreases;
+
+    /**
+     * 最近一次自适应调整决策，未启用自适应模式或尚未调整过时为null
+     */
+    private final PoolResizeDecision lastPoolResize;
+
+    /**
+     * 最近的自适应调整决策（按时间先后排列），未启用自适应模式时为空
+     */
+    private final List<PoolResizeDecision> poolResizeHistory;
+
+    /**
+     * 拒绝总次数
+     */
+    public long getRejectedCount() {
+        long total = 0;
+        for (Long count : rejections.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * 负载卸除总次数
+     */
+    public long getShedCount() {
+        long total = 0;
+        for (Long count : shed.values()) {
+            total += count;
+        }
+        return total;
+    }
+}
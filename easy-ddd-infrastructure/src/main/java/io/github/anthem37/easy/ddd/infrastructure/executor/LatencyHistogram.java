@@ -0,0 +1,166 @@
+package io.github.anthem37.easy.ddd.infrastructure.executor;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 固定内存的耗时直方图
+ *
+ * <p>对数线性分桶：每个二进制数量级再均分为 8 个子桶，相对误差不超过 12.5%，
+ * 覆盖纳秒到数百年的全部取值，桶数组在创建时一次分配。记录一次只做一次下标计算、一次桶计数自增与一次耗时累加，记录次数由各桶计数求和得到。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 21:08:26
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 小于 SUB_BUCKETS 的值各占一个桶，其余每个数量级 SUB_BUCKETS 个桶
+     */
+    private static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 记录一个耗时
+     *
+     * @param nanos 耗时（纳秒），负值按0记录
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(bucketOf(value));
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * 记录次数（各桶计数之和）
+     */
+    public long getCount() {
+        long sampled = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            sampled += buckets.get(i);
+        }
+        return sampled;
+    }
+
+    /**
+     * 累计耗时（纳秒）
+     */
+    public long getTotalNanos() {
+        return total.sum();
+    }
+
+    /**
+     * 获取直方图快照
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long sampled = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            sampled += counts[i];
+        }
+        long maxValue = max.get();
+        return new Snapshot(sampled, total.sum(), maxValue,
+                percentile(counts, sampled, 0.50, maxValue),
+                percentile(counts, sampled, 0.90, maxValue),
+                percentile(counts, sampled, 0.99, maxValue),
+                percentile(counts, sampled, 0.999, maxValue));
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * 桶的上界（包含）
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static long percentile(long[] counts, long sampled, double quantile, long maxValue) {
+        if (sampled == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(sampled * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * 直方图快照，耗时单位均为纳秒
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Snapshot {
+        /**
+         * 记录次数
+         */
+        private final long count;
+
+        /**
+         * 累计耗时
+         */
+        private final long totalNanos;
+
+        /**
+         * 最大耗时
+         */
+        private final long maxNanos;
+
+        /**
+         * 中位数
+         */
+        private final long p50Nanos;
+
+        /**
+         * 90分位
+         */
+        private final long p90Nanos;
+
+        /**
+         * 99分位
+         */
+        private final long p99Nanos;
+
+        /**
+         * 99.9分位
+         */
+        private final long p999Nanos;
+
+        /**
+         * 平均耗时
+         */
+        public double getMeanNanos() {
+            return count == 0 ? 0.0 : (double) totalNanos / count;
+        }
+    }
+}
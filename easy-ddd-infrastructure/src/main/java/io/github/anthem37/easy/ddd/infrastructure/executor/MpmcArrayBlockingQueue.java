@@ -0,0 +1,416 @@
+package io.github.anthem37.easy.ddd.infrastructure.executor;
+
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 基于数组的无锁多生产者多消费者有界阻塞队列
+ *
+ * <p>采用 Vyukov 的有界 MPMC 算法：每个槽位带一个序号，生产者与消费者各自以 CAS 推进位置，
+ * 通过槽位序号判断槽位是否可写、可读，入队出队都不加锁、不分配节点。
+ * 生产者位置与消费者位置放在不同的缓存行，避免伪共享。</p>
+ *
+ * <p>阻塞操作的等待策略为先自旋、再让出 CPU、最后登记并挂起；
+ * 只有存在挂起的等待线程时，入队与出队才需要唤醒对方，无等待时没有额外开销。</p>
+ *
+ * <p>槽位数组长度为不小于容量的2的幂，构造时一次性分配（与 {@link java.util.concurrent.ArrayBlockingQueue} 相同），
+ * 因此容量上限为 {@link #MAX_CAPACITY}；入队时另按容量判断是否已满，队列中的元素数不会超过构造时指定的容量。</p>
+ *
+ * <p>{@link #remove(Object)} 把匹配的元素替换为删除标记，消费者出队时跳过该标记，
+ * 因此 {@link java.util.concurrent.ThreadPoolExecutor#remove(Runnable)} 与 purge 可正常工作；
+ * 删除标记在被消费者越过之前仍占用容量。迭代器与 {@link #peek()} 返回当前元素的近似结果。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 22:58:16
+ */
+public class MpmcArrayBlockingQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    /**
+     * 容量上限（槽位数组构造时一次性分配）
+     */
+    public static final int MAX_CAPACITY = 1 << 20;
+
+    /**
+     * 已删除元素的标记，消费者出队时跳过
+     */
+    private static final Runnable REMOVED = () -> {
+    };
+
+    /**
+     * 挂起前自旋重试的次数
+     */
+    private static final int SPIN_TRIES = 64;
+
+    /**
+     * 挂起前让出 CPU 重试的次数
+     */
+    private static final int YIELD_TRIES = 8;
+
+    /**
+     * 位置数组中两个位置之间的间隔（128字节，覆盖相邻缓存行预取）
+     */
+    private static final int PAD = 16;
+    private static final int PRODUCER = PAD;
+    private static final int CONSUMER = PAD * 2;
+
+    private final int capacity;
+    private final int length;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<Runnable> buffer;
+    private final AtomicLongArray positions = new AtomicLongArray(PAD * 3);
+
+    /**
+     * 已标记删除、尚未被消费者越过的槽位数（只在删除路径上更新）
+     */
+    private final AtomicLong removedSlots = new AtomicLong();
+
+    /**
+     * 等待元素的挂起消费者
+     */
+    private final ConcurrentLinkedQueue<Thread> consumers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 等待空位的挂起生产者
+     */
+    private final ConcurrentLinkedQueue<Thread> producers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 构造函数
+     *
+     * @param capacity 队列容量
+     */
+    public MpmcArrayBlockingQueue(int capacity) {
+        Assert.isTrue(capacity > 0, "队列容量必须大于0");
+        Assert.isTrue(capacity <= MAX_CAPACITY, "无锁队列容量不能超过 " + MAX_CAPACITY + ": " + capacity);
+        this.capacity = capacity;
+        this.length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = length - 1;
+        this.sequences = new AtomicLongArray(length);
+        this.buffer = new AtomicReferenceArray<>(length);
+        for (int i = 0; i < length; i++) {
+            sequences.setPlain(i, i);
+        }
+    }
+
+    /**
+     * 队列容量
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    // ========== 非阻塞操作 ==========
+
+    @Override
+    public boolean offer(Runnable task) {
+        Objects.requireNonNull(task);
+        long position = positions.get(PRODUCER);
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (length != capacity && position - positions.get(CONSUMER) >= capacity) {
+                    // 数组长度大于容量时，槽位空闲不代表未满
+                    return false;
+                }
+                if (positions.compareAndSet(PRODUCER, position, position + 1)) {
+                    buffer.setPlain(index, task);
+                    // volatile 写：保证随后检查等待线程时，登记后重试的消费者一定能看到该元素
+                    sequences.set(index, position + 1);
+                    signal(consumers);
+                    return true;
+                }
+                position = positions.get(PRODUCER);
+            } else if (difference < 0) {
+                // 槽位尚未被上一轮的消费者释放：队列已满
+                return false;
+            } else {
+                position = positions.get(PRODUCER);
+            }
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        while (true) {
+            Runnable task = pollSlot();
+            if (task != REMOVED) {
+                return task;
+            }
+            removedSlots.decrementAndGet();
+        }
+    }
+
+    /**
+     * 取出队首槽位的内容，可能是删除标记；队列为空时返回null
+     */
+    private Runnable pollSlot() {
+        long position = positions.get(CONSUMER);
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - (position + 1);
+            if (difference == 0) {
+                if (positions.compareAndSet(CONSUMER, position, position + 1)) {
+                    // 与 remove 的 CAS 竞争：先取走元素则删除失败，先被标记则跳过
+                    Runnable task = buffer.getAndSet(index, null);
+                    sequences.set(index, position + length);
+                    signal(producers);
+                    return task;
+                }
+                position = positions.get(CONSUMER);
+            } else if (difference < 0) {
+                // 槽位尚未被生产者写入：队列为空
+                return null;
+            } else {
+                position = positions.get(CONSUMER);
+            }
+        }
+    }
+
+    /**
+     * 返回最靠近队首的元素，并发出队时结果是近似的
+     */
+    @Override
+    public Runnable peek() {
+        long consumer = positions.get(CONSUMER);
+        long producer = positions.get(PRODUCER);
+        for (long position = consumer; position < producer; position++) {
+            Runnable task = elementAt(position);
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 读取指定位置上已写入且未删除的元素，槽位尚未写入、已被取走或已删除时返回null
+     */
+    private Runnable elementAt(long position) {
+        int index = (int) (position & mask);
+        if (sequences.getAcquire(index) != position + 1) {
+            return null;
+        }
+        Runnable task = buffer.get(index);
+        return task == REMOVED ? null : task;
+    }
+
+    // ========== 阻塞操作 ==========
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        Objects.requireNonNull(task);
+        await(producers, () -> offer(task) ? Boolean.TRUE : null, Long.MAX_VALUE, false);
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(task);
+        return await(producers, () -> offer(task) ? Boolean.TRUE : null, unit.toNanos(timeout), true) != null;
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        return await(consumers, this::poll, Long.MAX_VALUE, false);
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return await(consumers, this::poll, unit.toNanos(timeout), true);
+    }
+
+    /**
+     * 按 自旋 → 让出 CPU → 登记并挂起 的策略重试操作，直到成功或超时
+     *
+     * <p>挂起前先登记再重试一次，与对方"先完成操作再检查登记"配合，保证不会错过唤醒；
+     * 登记已被对方取走（即收到了唤醒）但自己并未用上时，将唤醒传递给下一个等待线程。</p>
+     */
+    private <T> T await(ConcurrentLinkedQueue<Thread> waiters, Attempt<T> attempt, long nanos, boolean timed) throws InterruptedException {
+        if (timed && nanos <= 0) {
+            return attempt.run();
+        }
+        for (int i = 0; i < SPIN_TRIES + YIELD_TRIES; i++) {
+            T result = attempt.run();
+            if (result != null) {
+                return result;
+            }
+            if (i < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        long deadline = timed ? System.nanoTime() + nanos : 0L;
+        Thread current = Thread.currentThread();
+        while (true) {
+            waiters.add(current);
+            T result = attempt.run();
+            if (result != null) {
+                if (!waiters.remove(current)) {
+                    signal(waiters);
+                }
+                return result;
+            }
+            if (timed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    if (!waiters.remove(current)) {
+                        signal(waiters);
+                    }
+                    return null;
+                }
+                LockSupport.parkNanos(this, remaining);
+            } else {
+                LockSupport.park(this);
+            }
+            waiters.remove(current);
+            if (Thread.interrupted()) {
+                signal(waiters);
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * 唤醒一个挂起的等待线程，没有等待线程时只有一次读取
+     */
+    private static void signal(ConcurrentLinkedQueue<Thread> waiters) {
+        if (!waiters.isEmpty()) {
+            Thread waiter = waiters.poll();
+            if (waiter != null) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Attempt<T> {
+        T run();
+    }
+
+    // ========== 集合操作 ==========
+
+    /**
+     * 元素数量，不含已删除的元素
+     */
+    @Override
+    public int size() {
+        return (int) Math.max(0, occupied() - removedSlots.get());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 剩余容量，已删除但尚未被消费者越过的槽位仍占用容量
+     */
+    @Override
+    public int remainingCapacity() {
+        return capacity - occupied();
+    }
+
+    /**
+     * 已占用的槽位数，包括删除标记
+     */
+    private int occupied() {
+        while (true) {
+            long consumer = positions.get(CONSUMER);
+            long producer = positions.get(PRODUCER);
+            if (positions.get(CONSUMER) == consumer) {
+                return (int) Math.max(0, Math.min(capacity, producer - consumer));
+            }
+        }
+    }
+
+    /**
+     * 删除一个相等的元素：把所在槽位替换为删除标记，由消费者出队时跳过
+     */
+    @Override
+    public boolean remove(Object task) {
+        if (task == null) {
+            return false;
+        }
+        long consumer = positions.get(CONSUMER);
+        long producer = positions.get(PRODUCER);
+        for (long position = consumer; position < producer; position++) {
+            Runnable current = elementAt(position);
+            if (current != null && current.equals(task) && buffer.compareAndSet((int) (position & mask), current, REMOVED)) {
+                removedSlots.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> target) {
+        return drainTo(target, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> target, int maxElements) {
+        Assert.notNull(target, "目标集合不能为空");
+        Assert.isFalse(target == this, "不能导出到队列自身");
+        int drained = 0;
+        Runnable task;
+        while (drained < maxElements && (task = poll()) != null) {
+            target.add(task);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * 返回当前元素的近似快照迭代器（并发入队出队时可能遗漏或重复），通过迭代器删除会从队列中移除对应元素
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Runnable> snapshot = new ArrayList<>();
+        long consumer = positions.get(CONSUMER);
+        long producer = positions.get(PRODUCER);
+        for (long position = consumer; position < producer; position++) {
+            Runnable task = elementAt(position);
+            if (task != null) {
+                snapshot.add(task);
+            }
+        }
+        Iterator<Runnable> delegate = snapshot.iterator();
+        return new Iterator<>() {
+            private Runnable current;
+
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public Runnable next() {
+                current = delegate.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                Assert.notNull(current, "迭代器尚未返回元素");
+                MpmcArrayBlockingQueue.this.remove(current);
+                current = null;
+            }
+        };
+    }
+}
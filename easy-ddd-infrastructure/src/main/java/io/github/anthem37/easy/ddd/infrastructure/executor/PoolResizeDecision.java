@@ -0,0 +1,68 @@
+package io.github.anthem37.easy.ddd.infrastructure.executor;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 一次线程池调整决策
+ * 记录调整前后的核心线程数以及做出决策时的采样指标
+ *
+ * @author anthem37
+ * @since 2026/10/19 20:43:05
+ */
+@Getter
+@RequiredArgsConstructor
+public class PoolResizeDecision {
+
+    /**
+     * 决策时间
+     */
+    private final LocalDateTime time;
+
+    /**
+     * 调整前的核心线程数
+     */
+    private final int previousSize;
+
+    /**
+     * 调整后的核心线程数
+     */
+    private final int newSize;
+
+    /**
+     * 采样周期内的任务到达率（个/秒）
+     */
+    private final double arrivalRate;
+
+    /**
+     * 采样周期内的平均排队等待时间（毫秒）
+     */
+    private final double averageWaitMillis;
+
+    /**
+     * 采样周期内的平均执行时间（毫秒）
+     */
+    private final double averageServiceMillis;
+
+    /**
+     * 采样时的队列深度
+     */
+    private final int queueDepth;
+
+    /**
+     * 采样时的活跃线程数
+     */
+    private final int activeCount;
+
+    /**
+     * 决策原因
+     */
+    private final String reason;
+
+    @Override
+    public String toString() {
+        return String.format("%d -> %d (%s, 到达率: %.1f/s, 平均等待: %.2fms, 平均执行: %.2fms, 队列深度: %d, 活跃线程: %d)", previousSize, newSize, reason, arrivalRate, averageWaitMillis, averageServiceMillis, queueDepth, activeCount);
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.anthem37.easy.ddd.infrastructure.executor;
+
+/**
+ * 带优先级的任务
+ * 优先级以级别表示，0为最高级别，数值越大级别越低
+ *
+ * @author anthem37
+ * @since 2026/10/19 21:58:14
+ */
+public interface PrioritizedTask extends Runnable {
+
+    /**
+     * 未指定优先级，由队列按默认级别处理
+     */
+    int UNSPECIFIED = -1;
+
+    /**
+     * 获取优先级级别
+     */
+    int getPriorityLevel();
+
+    /**
+     * 为任务附加优先级
+     *
+     * @param task  任务
+     * @param level 优先级级别
+     * @return 带优先级的任务
+     */
+    static PrioritizedTask of(Runnable task, int level) {
+        return new PrioritizedTask() {
+            @Override
+            public int getPriorityLevel() {
+                return level;
+            }
+
+            @Override
+            public void run() {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * 获取任务的优先级级别
+     *
+     * @param task 任务
+     * @return 优先级级别，未指定时返回 {@link #UNSPECIFIED}
+     */
+    static int levelOf(Runnable task) {
+        return task instanceof PrioritizedTask prioritized ? prioritized.getPriorityLevel() : UNSPECIFIED;
+    }
+}
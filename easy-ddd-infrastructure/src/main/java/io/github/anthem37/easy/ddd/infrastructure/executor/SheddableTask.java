@@ -0,0 +1,33 @@
+package io.github.anthem37.easy.ddd.infrastructure.executor;
+
+import io.github.anthem37.easy.ddd.common.exception.LoadSheddingException;
+
+/**
+ * 可被负载卸除的任务
+ * 启用截止时间感知的准入控制后，此类任务在开始执行前若已过期或队列持续积压，
+ * 将不再执行，而是通过 {@link #shed(LoadSheddingException)} 通知提交方
+ *
+ * @author anthem37
+ * @since 2026/10/19 22:33:26
+ */
+public interface SheddableTask extends Runnable {
+
+    /**
+     * 未指定截止时间，由执行器按最大排队时间计算
+     */
+    long NO_DEADLINE = Long.MAX_VALUE;
+
+    /**
+     * 获取任务的截止时间（{@link System#nanoTime()} 时间基准）
+     */
+    default long getDeadlineNanos() {
+        return NO_DEADLINE;
+    }
+
+    /**
+     * 任务被丢弃，以给定异常完成任务的结果
+     *
+     * @param exception 负载卸除异常
+     */
+    void shed(LoadSheddingException exception);
+}
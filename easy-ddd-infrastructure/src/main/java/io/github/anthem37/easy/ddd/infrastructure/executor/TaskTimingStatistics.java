@@ -0,0 +1,252 @@
+package io.github.anthem37.easy.ddd.infrastructure.executor;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程池任务计时统计
+ * 累计提交、开始、完成的任务数，以直方图记录排队等待与执行耗时，并跟踪执行中的任务
+ *
+ * <p>执行中的任务记录在每个线程独占的槽位中（一次普通写与一次 release 写），
+ * 查询最长执行中任务时才扫描全部槽位，并清理已结束线程的槽位。</p>
+ *
+ * @author anthem37
+ * @since 2026/10/19 20:41:18
+ */
+public class TaskTimingStatistics {
+
+    private final LongAdder submitted = new LongAdder();
+
+    /**
+     * 排队等待时间直方图
+     */
+    @Getter
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+
+    /**
+     * 执行时间直方图
+     */
+    @Getter
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+
+    private final Set<InFlightSlot> slots = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<InFlightSlot> currentSlot = ThreadLocal.withInitial(this::registerSlot);
+
+    /**
+     * 包装任务：提交时记录提交，执行时记录排队时间、执行时间与执行中状态
+     *
+     * @param task 原始任务
+     * @return 计时包装后的任务
+     */
+    public Runnable wrap(Runnable task) {
+        return wrap(task, PrioritizedTask.UNSPECIFIED);
+    }
+
+    /**
+     * 包装任务并保留其优先级，供优先级队列识别
+     *
+     * @param task          原始任务
+     * @param priorityLevel 优先级级别，{@link PrioritizedTask#UNSPECIFIED} 表示未指定
+     * @return 计时包装后的任务
+     */
+    public Runnable wrap(Runnable task, int priorityLevel) {
+        return wrap(task, priorityLevel, null);
+    }
+
+    /**
+     * 包装任务并保留其优先级，开始执行前先经过准入判断，未准入的任务不计入排队与执行统计（由准入控制计数）
+     *
+     * @param task          原始任务
+     * @param priorityLevel 优先级级别，{@link PrioritizedTask#UNSPECIFIED} 表示未指定
+     * @param gate          准入判断，null表示总是执行
+     * @return 计时包装后的任务
+     */
+    public Runnable wrap(Runnable task, int priorityLevel, StartGate gate) {
+        Runnable timed = timed(task, gate);
+        return priorityLevel == PrioritizedTask.UNSPECIFIED ? timed : PrioritizedTask.of(timed, priorityLevel);
+    }
+
+    private Runnable timed(Runnable task, StartGate gate) {
+        long submittedAt = System.nanoTime();
+        submitted.increment();
+        return () -> {
+            long startedAt = System.nanoTime();
+            if (gate != null && !gate.admit(submittedAt, startedAt)) {
+                return;
+            }
+            waitTime.record(startedAt - submittedAt);
+            InFlightSlot slot = currentSlot.get();
+            // 调用者执行策略下任务可能嵌套在同一线程的另一个任务中运行，结束后恢复外层任务
+            long outerStartedAt = slot.startedAt;
+            Runnable outerTask = slot.task;
+            slot.enter(startedAt, task);
+            try {
+                task.run();
+            } finally {
+                slot.enter(outerStartedAt, outerTask);
+                serviceTime.record(System.nanoTime() - startedAt);
+            }
+        };
+    }
+
+    /**
+     * 获取计数快照，各项为启动以来的累计值
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(submitted.sum(), waitTime.getCount(), serviceTime.getCount(), waitTime.getTotalNanos(), serviceTime.getTotalNanos());
+    }
+
+    /**
+     * 当前执行时间最长的任务
+     *
+     * @return 执行中的任务，没有执行中的任务时返回null
+     */
+    public InFlightTask longestInFlight() {
+        long now = System.nanoTime();
+        InFlightTask longest = null;
+        for (InFlightSlot slot : slots) {
+            Runnable task = slot.currentTask();
+            if (task == null) {
+                if (!slot.thread.isAlive()) {
+                    slots.remove(slot);
+                }
+                continue;
+            }
+            long elapsed = now - slot.startedAt;
+            if (longest == null || elapsed > longest.getElapsedNanos()) {
+                longest = new InFlightTask(slot.thread.getName(), task.getClass().getName(), elapsed);
+            }
+        }
+        return longest;
+    }
+
+    private InFlightSlot registerSlot() {
+        InFlightSlot slot = new InFlightSlot(Thread.currentThread());
+        slots.add(slot);
+        return slot;
+    }
+
+    /**
+     * 单个线程的执行中任务槽位，task 为null表示空闲
+     *
+     * <p>只由所属线程写入：先普通写开始时间，再以 release 语义发布任务；
+     * 读取方以 acquire 语义读到任务后，看到的开始时间不早于该任务的开始时间。</p>
+     */
+    private static final class InFlightSlot {
+        private static final VarHandle TASK;
+
+        static {
+            try {
+                TASK = MethodHandles.lookup().findVarHandle(InFlightSlot.class, "task", Runnable.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        final Thread thread;
+        long startedAt;
+        Runnable task;
+
+        InFlightSlot(Thread thread) {
+            this.thread = thread;
+        }
+
+        void enter(long startedAt, Runnable task) {
+            this.startedAt = startedAt;
+            TASK.setRelease(this, task);
+        }
+
+        Runnable currentTask() {
+            return (Runnable) TASK.getAcquire(this);
+        }
+    }
+
+    /**
+     * 任务开始执行前的准入判断
+     */
+    @FunctionalInterface
+    public interface StartGate {
+        /**
+         * 判断任务能否执行
+         *
+         * @param submittedAt 提交时间
+         * @param startedAt   开始执行时间
+         * @return 是否执行
+         */
+        boolean admit(long submittedAt, long startedAt);
+    }
+
+    /**
+     * 执行中的任务
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class InFlightTask {
+        /**
+         * 执行任务的线程名
+         */
+        private final String threadName;
+
+        /**
+         * 任务类名
+         */
+        private final String taskType;
+
+        /**
+         * 已执行时间（纳秒）
+         */
+        private final long elapsedNanos;
+    }
+
+    /**
+     * 计数快照
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Snapshot {
+        /**
+         * 提交的任务数
+         */
+        private final long submitted;
+
+        /**
+         * 开始执行的任务数
+         */
+        private final long started;
+
+        /**
+         * 执行结束的任务数（不含开始前被准入控制丢弃的任务）
+         */
+        private final long completed;
+
+        /**
+         * 累计排队等待时间（纳秒）
+         */
+        private final long totalWaitNanos;
+
+        /**
+         * 累计执行时间（纳秒）
+         */
+        private final long totalServiceNanos;
+
+        /**
+         * 平均排队等待时间（毫秒）
+         */
+        public double getAverageWaitMillis() {
+            return started == 0 ? 0.0 : totalWaitNanos / 1_000_000.0 / started;
+        }
+
+        /**
+         * 平均执行时间（毫秒）
+         */
+        public double getAverageServiceMillis() {
+            return completed == 0 ? 0.0 : totalServiceNanos / 1_000_000.0 / completed;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.anthem37.easy.ddd.infrastructure.repository;
+
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
+import io.github.anthem37.easy.ddd.common.exception.BusinessException;
+import io.github.anthem37.easy.ddd.common.exception.ConcurrencyConflictException;
+import io.github.anthem37.easy.ddd.domain.event.DomainEventPublisher;
+import io.github.anthem37.easy.ddd.domain.event.IDomainEvent;
+import io.github.anthem37.easy.ddd.domain.model.AbstractAggregateRoot;
+import io.github.anthem37.easy.ddd.domain.repository.IAsyncDomainRepository;
+import io.github.anthem37.easy.ddd.infrastructure.event.DeferredPhaseDispatch;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步仓储基础实现类
+ * 与 {@link AbstractDomainRepository} 保持相同的事件发布语义：只有持久化成功后才发布并清空领域事件，
+ * 失败时事件保留在聚合上。异步操作没有跨越 Future 的 Spring 事务，持久化完成即视为提交，
+ * 提交后阶段的事件通过 {@link DeferredPhaseDispatch} 补发给事件处理器
+ *
+ * @param <T>  聚合根类型
+ * @param <ID> 聚合根标识类型
+ * @author anthem37
+ * @since 2026/10/19 11:58:40
+ */
+@Slf4j
+public abstract class AbstractAsyncDomainRepository<T extends AbstractAggregateRoot<ID>, ID> implements IAsyncDomainRepository<T, ID> {
+
+    @Override
+    public CompletableFuture<Optional<T>> findByIdAsync(ID id) {
+        Assert.notNull(id, "ID不能为空");
+        return doFindByIdAsync(id);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveAsync(T aggregate) {
+        Assert.notNull(aggregate, "聚合不能为空");
+        //插入
+        log.debug("异步插入聚合: {}", aggregate.getId());
+        return doInsertAsync(aggregate).thenRun(() -> publishDomainEvents(aggregate));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateAsync(T aggregate) {
+        Assert.notNull(aggregate, "聚合不能为空");
+        //更新
+        log.debug("异步更新聚合: {}", aggregate.getId());
+        Long expectedVersion = aggregate.getVersion();
+        CompletableFuture<Void> update = expectedVersion == null ? doUpdateByIdAsync(aggregate) : updateWithVersion(aggregate, expectedVersion);
+        return update.thenRun(() -> publishDomainEvents(aggregate));
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(T aggregate) {
+        Assert.notNull(aggregate, "聚合不能为空");
+        //删除
+        log.debug("异步删除聚合: {}", aggregate.getId());
+        return doDeleteByIdAsync(aggregate).thenRun(() -> publishDomainEvents(aggregate));
+    }
+
+    // 子类需要实现的抽象方法
+    protected abstract CompletableFuture<Optional<T>> doFindByIdAsync(ID id);
+
+    protected abstract CompletableFuture<Void> doInsertAsync(T aggregate);
+
+    protected abstract CompletableFuture<Void> doUpdateByIdAsync(T aggregate);
+
+    protected abstract CompletableFuture<Void> doDeleteByIdAsync(T aggregate);
+
+    /**
+     * 按版本异步更新聚合（乐观锁），语义同 {@link AbstractDomainRepository#doUpdateByIdAndVersion}
+     *
+     * @param aggregate       聚合（版本号已为 expectedVersion + 1）
+     * @param expectedVersion 读取聚合时的版本号
+     * @return 是否更新成功
+     */
+    protected CompletableFuture<Boolean> doUpdateByIdAndVersionAsync(T aggregate, long expectedVersion) {
+        return CompletableFuture.failedFuture(new BusinessException("仓储未实现版本化更新: " + getClass().getSimpleName()));
+    }
+
+    /**
+     * 带版本校验的异步更新，失败时恢复聚合原版本号
+     */
+    private CompletableFuture<Void> updateWithVersion(T aggregate, long expectedVersion) {
+        aggregate.setVersion(expectedVersion + 1);
+        CompletableFuture<Boolean> update;
+        try {
+            update = doUpdateByIdAndVersionAsync(aggregate, expectedVersion);
+        } catch (RuntimeException e) {
+            aggregate.setVersion(expectedVersion);
+            throw e;
+        }
+        return update.handle((updated, error) -> {
+            if (error == null && Boolean.TRUE.equals(updated)) {
+                return null;
+            }
+            aggregate.setVersion(expectedVersion);
+            if (error != null) {
+                throw error instanceof RuntimeException re ? re : new BusinessException(error.getMessage(), error);
+            }
+            log.debug("聚合版本冲突: {}, 期望版本: {}", aggregate.getId(), expectedVersion);
+            throw new ConcurrencyConflictException("聚合已被并发修改: " + aggregate.getClass().getSimpleName() + "#" + aggregate.getId() + ", 期望版本: " + expectedVersion, aggregate.getId(), expectedVersion);
+        });
+    }
+
+    /**
+     * 发布领域事件
+     */
+    protected void publishDomainEvents(T aggregate) {
+        List<IDomainEvent> events = aggregate.getDomainEvents();
+        DeferredPhaseDispatch.afterCommit(() -> {
+            for (IDomainEvent event : events) {
+                DomainEventPublisher.publish(event);
+            }
+        });
+        aggregate.clearDomainEvents();
+    }
+}
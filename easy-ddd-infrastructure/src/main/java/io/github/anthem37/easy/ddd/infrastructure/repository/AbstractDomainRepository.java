@@ -1,15 +1,23 @@
 package io.github.anthem37.easy.ddd.infrastructure.repository;
 
 import io.github.anthem37.easy.ddd.common.assertion.Assert;
+import io.github.anthem37.easy.ddd.common.exception.BusinessException;
+import io.github.anthem37.easy.ddd.common.exception.ConcurrencyConflictException;
 import io.github.anthem37.easy.ddd.domain.event.DomainEventPublisher;
 import io.github.anthem37.easy.ddd.domain.event.IDomainEvent;
 import io.github.anthem37.easy.ddd.domain.model.AbstractAggregateRoot;
-import io.github.anthem37.easy.ddd.domain.repository.IDomainRepository;
+import io.github.anthem37.easy.ddd.domain.repository.IScannableDomainRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 仓储基础实现类
@@ -21,7 +29,7 @@ import java.util.Optional;
  * @since 2025/8/14 16:52:19
  */
 @Slf4j
-public abstract class AbstractDomainRepository<T extends AbstractAggregateRoot<ID>, ID> implements IDomainRepository<T, ID> {
+public abstract class AbstractDomainRepository<T extends AbstractAggregateRoot<ID>, ID> implements IScannableDomainRepository<T, ID> {
 
     @Override
     public Optional<T> findById(ID id) {
@@ -46,7 +54,12 @@ public abstract class AbstractDomainRepository<T extends AbstractAggregateRoot<I
         Assert.notNull(aggregate, "聚合不能为空");
         //更新
         log.debug("更新聚合: {}", aggregate.getId());
-        doUpdateById(aggregate);
+        Long expectedVersion = aggregate.getVersion();
+        if (expectedVersion == null) {
+            doUpdateById(aggregate);
+        } else {
+            updateWithVersion(aggregate, expectedVersion);
+        }
         // 发布领域事件
         publishDomainEvents(aggregate);
     }
@@ -62,6 +75,36 @@ public abstract class AbstractDomainRepository<T extends AbstractAggregateRoot<I
         publishDomainEvents(aggregate);
     }
 
+    @Override
+    public Stream<T> scan(ID afterId, int fetchSize) {
+        Assert.isTrue(fetchSize > 0, "批大小必须大于0");
+        return StreamSupport.stream(new KeysetSpliterator(afterId, fetchSize), false);
+    }
+
+    @Override
+    public long scanInChunks(ID afterId, int chunkSize, Consumer<List<T>> chunkHandler) {
+        Assert.isTrue(chunkSize > 0, "块大小必须大于0");
+        Assert.notNull(chunkHandler, "分块处理回调不能为空");
+
+        ID cursor = afterId;
+        long total = 0;
+        while (true) {
+            List<T> chunk = doFindPageAfter(cursor, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            chunkHandler.accept(chunk);
+            total += chunk.size();
+            cursor = chunk.get(chunk.size() - 1).getId();
+            flushAndClear();
+            log.debug("分块扫描进度: 已处理 {} 个聚合, 游标: {}", total, cursor);
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
     // 子类需要实现的抽象方法
     protected abstract Optional<T> doFindById(ID id);
 
@@ -71,6 +114,57 @@ public abstract class AbstractDomainRepository<T extends AbstractAggregateRoot<I
 
     protected abstract void doDeleteById(T aggregate);
 
+    /**
+     * 按版本更新聚合（乐观锁）
+     * 调用时聚合的版本号已递增为新版本，实现应以 id 与 expectedVersion 同时作为更新条件，
+     * 影响行数为0时返回false。使用版本号的聚合必须重写此方法
+     *
+     * @param aggregate       聚合（版本号已为 expectedVersion + 1）
+     * @param expectedVersion 读取聚合时的版本号
+     * @return 是否更新成功
+     */
+    protected boolean doUpdateByIdAndVersion(T aggregate, long expectedVersion) {
+        throw new BusinessException("仓储未实现版本化更新: " + getClass().getSimpleName());
+    }
+
+    /**
+     * 按键集游标查询一批聚合，支持扫描的仓储必须重写此方法
+     * 实现应执行形如 SELECT ... WHERE id > #{afterId} ORDER BY id LIMIT #{limit} 的查询
+     *
+     * @param afterId 游标（不包含），null表示从头开始
+     * @param limit   最大返回数量
+     * @return 按ID递增排列的聚合
+     */
+    protected List<T> doFindPageAfter(ID afterId, int limit) {
+        throw new BusinessException("仓储未实现游标扫描: " + getClass().getSimpleName());
+    }
+
+    /**
+     * 每个分块处理完成后（流式扫描时为每批消费完、加载下一批前）调用，用于刷新并清理持久化上下文（如 JPA 的 flush/clear），默认空实现
+     */
+    protected void flushAndClear() {
+        // 默认无持久化上下文需要清理
+    }
+
+    /**
+     * 带版本校验的更新，失败时恢复聚合原版本号并抛出并发冲突异常
+     */
+    private void updateWithVersion(T aggregate, long expectedVersion) {
+        aggregate.setVersion(expectedVersion + 1);
+        boolean updated;
+        try {
+            updated = doUpdateByIdAndVersion(aggregate, expectedVersion);
+        } catch (RuntimeException e) {
+            aggregate.setVersion(expectedVersion);
+            throw e;
+        }
+        if (!updated) {
+            aggregate.setVersion(expectedVersion);
+            log.debug("聚合版本冲突: {}, 期望版本: {}", aggregate.getId(), expectedVersion);
+            throw new ConcurrencyConflictException("聚合已被并发修改: " + aggregate.getClass().getSimpleName() + "#" + aggregate.getId() + ", 期望版本: " + expectedVersion, aggregate.getId(), expectedVersion);
+        }
+    }
+
     /**
      * 发布领域事件
      */
@@ -81,4 +175,50 @@ public abstract class AbstractDomainRepository<T extends AbstractAggregateRoot<I
         }
         aggregate.clearDomainEvents();
     }
+
+    /**
+     * 键集游标分批加载的 Spliterator，任一时刻只持有当前一批聚合
+     * 上一批全部交给下游后、加载下一批之前刷新并清理持久化上下文，已处理的聚合不再被持久化上下文引用
+     * 不支持拆分：默认拆分会把元素缓冲进逐次增大的数组并绕过逐批清理，parallel() 的流仍按顺序逐批加载
+     */
+    private final class KeysetSpliterator extends Spliterators.AbstractSpliterator<T> {
+
+        private final int fetchSize;
+        private ID cursor;
+        private Iterator<T> page;
+        private boolean lastPage;
+
+        KeysetSpliterator(ID afterId, int fetchSize) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.cursor = afterId;
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (page == null || !page.hasNext()) {
+                if (page != null) {
+                    flushAndClear();
+                    page = null;
+                }
+                if (lastPage) {
+                    return false;
+                }
+                List<T> next = doFindPageAfter(cursor, fetchSize);
+                lastPage = next.size() < fetchSize;
+                if (next.isEmpty()) {
+                    return false;
+                }
+                cursor = next.get(next.size() - 1).getId();
+                page = next.iterator();
+            }
+            action.accept(page.next());
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,188 @@
+package io.github.anthem37.easy.ddd.infrastructure.repository;
+
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
+import io.github.anthem37.easy.ddd.domain.event.DomainEventPublisher;
+import io.github.anthem37.easy.ddd.domain.event.IDomainEvent;
+import io.github.anthem37.easy.ddd.domain.model.AbstractAggregateRoot;
+import io.github.anthem37.easy.ddd.domain.repository.IDomainRepository;
+import io.github.anthem37.easy.ddd.infrastructure.repository.eventsourcing.AggregateSnapshot;
+import io.github.anthem37.easy.ddd.infrastructure.repository.eventsourcing.EventSourcingStatistics;
+import io.github.anthem37.easy.ddd.infrastructure.repository.eventsourcing.IEventStore;
+import io.github.anthem37.easy.ddd.infrastructure.repository.eventsourcing.ISnapshotStore;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 事件溯源仓储基础实现类
+ * 通过重放聚合的领域事件流重建聚合，并每隔 snapshotInterval 个事件写入一次快照，
+ * 加载时只需从最近的快照开始重放尾部事件。
+ * 聚合的版本号即最后一个已应用事件的序号，追加事件时以此做乐观并发校验
+ *
+ * @param <T>  聚合根类型
+ * @param <ID> 聚合根标识类型
+ * @author anthem37
+ * @since 2026/10/19 11:03:47
+ */
+@Slf4j
+public abstract class AbstractEventSourcedRepository<T extends AbstractAggregateRoot<ID>, ID> implements IDomainRepository<T, ID> {
+
+    /**
+     * 默认快照间隔
+     */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 100;
+
+    private final IEventStore<ID> eventStore;
+    private final ISnapshotStore<ID> snapshotStore;
+    private final int snapshotInterval;
+
+    @Getter
+    private final EventSourcingStatistics statistics = new EventSourcingStatistics();
+
+    protected AbstractEventSourcedRepository(IEventStore<ID> eventStore, ISnapshotStore<ID> snapshotStore) {
+        this(eventStore, snapshotStore, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * @param eventStore       事件存储
+     * @param snapshotStore    快照存储
+     * @param snapshotInterval 快照间隔（事件数），小于等于0表示不写快照
+     */
+    protected AbstractEventSourcedRepository(IEventStore<ID> eventStore, ISnapshotStore<ID> snapshotStore, int snapshotInterval) {
+        Assert.notNull(eventStore, "事件存储不能为空");
+        Assert.notNull(snapshotStore, "快照存储不能为空");
+        this.eventStore = eventStore;
+        this.snapshotStore = snapshotStore;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        Assert.notNull(id, "ID不能为空");
+        long start = System.nanoTime();
+
+        Optional<AggregateSnapshot<ID>> snapshot = snapshotStore.load(id);
+        long fromSequence = snapshot.map(AggregateSnapshot::getSequence).orElse(0L);
+        List<IDomainEvent<ID>> events = eventStore.load(id, fromSequence);
+        if (snapshot.isEmpty() && events.isEmpty()) {
+            statistics.recordLoad(System.nanoTime() - start, 0, false);
+            return Optional.empty();
+        }
+
+        T aggregate = snapshot.map(s -> restoreSnapshot(id, s.getState())).orElseGet(() -> newAggregate(id));
+        for (IDomainEvent<ID> event : events) {
+            applyEvent(aggregate, event);
+        }
+        aggregate.setVersion(fromSequence + events.size());
+
+        statistics.recordLoad(System.nanoTime() - start, events.size(), snapshot.isPresent());
+        log.debug("重建聚合: {}, 快照序号: {}, 重放事件数: {}", id, fromSequence, events.size());
+        return Optional.of(aggregate);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void save(T aggregate) {
+        Assert.notNull(aggregate, "聚合不能为空");
+        log.debug("插入聚合: {}", aggregate.getId());
+        appendPendingEvents(aggregate);
+        publishDomainEvents(aggregate);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void update(T aggregate) {
+        Assert.notNull(aggregate, "聚合不能为空");
+        log.debug("更新聚合: {}", aggregate.getId());
+        appendPendingEvents(aggregate);
+        publishDomainEvents(aggregate);
+    }
+
+    /**
+     * 删除聚合：追加待发布事件后删除事件流与快照
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void remove(T aggregate) {
+        Assert.notNull(aggregate, "聚合不能为空");
+        log.debug("删除聚合: {}", aggregate.getId());
+        appendPendingEvents(aggregate);
+        eventStore.delete(aggregate.getId());
+        snapshotStore.delete(aggregate.getId());
+        publishDomainEvents(aggregate);
+    }
+
+    // 子类需要实现的抽象方法
+
+    /**
+     * 创建空聚合，作为重放的起点
+     */
+    protected abstract T newAggregate(ID id);
+
+    /**
+     * 将单个事件应用到聚合（只改变状态，不得再产生领域事件）
+     */
+    protected abstract void applyEvent(T aggregate, IDomainEvent<ID> event);
+
+    /**
+     * 生成聚合快照状态，返回的对象在写入后不应再被修改
+     */
+    protected abstract Serializable takeSnapshot(T aggregate);
+
+    /**
+     * 由快照状态恢复聚合
+     */
+    protected abstract T restoreSnapshot(ID id, Serializable state);
+
+    /**
+     * 追加聚合上尚未持久化的领域事件，并在跨越快照间隔时写入快照
+     */
+    @SuppressWarnings("unchecked")
+    private void appendPendingEvents(T aggregate) {
+        Assert.notNull(aggregate.getId(), "聚合ID不能为空");
+        List<IDomainEvent<ID>> pending = new ArrayList<>();
+        for (IDomainEvent event : aggregate.getDomainEvents()) {
+            pending.add((IDomainEvent<ID>) event);
+        }
+        long expected = aggregate.getVersion() == null ? 0 : aggregate.getVersion();
+        if (pending.isEmpty()) {
+            return;
+        }
+        long sequence = eventStore.append(aggregate.getId(), expected, pending);
+        aggregate.setVersion(sequence);
+
+        if (snapshotInterval > 0 && sequence / snapshotInterval > expected / snapshotInterval) {
+            writeSnapshot(aggregate, sequence);
+        }
+    }
+
+    /**
+     * 写入快照，失败不影响事件追加结果
+     */
+    private void writeSnapshot(T aggregate, long sequence) {
+        try {
+            snapshotStore.save(new AggregateSnapshot<>(aggregate.getId(), sequence, takeSnapshot(aggregate)));
+            statistics.recordSnapshotWritten();
+            log.debug("写入聚合快照: {}, 序号: {}", aggregate.getId(), sequence);
+        } catch (Exception e) {
+            statistics.recordSnapshotFailure();
+            log.warn("写入聚合快照失败: {}, 序号: {} - {}", aggregate.getId(), sequence, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 发布领域事件
+     */
+    protected void publishDomainEvents(T aggregate) {
+        List<IDomainEvent> events = aggregate.getDomainEvents();
+        for (IDomainEvent event : events) {
+            DomainEventPublisher.publish(event);
+        }
+        aggregate.clearDomainEvents();
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.anthem37.easy.ddd.infrastructure.repository.eventsourcing;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 聚合快照
+ * 记录聚合在某个事件序号时的状态，加载时只需重放该序号之后的事件
+ *
+ * @param <ID> 聚合根标识类型
+ * @author anthem37
+ * @since 2026/10/19 10:09:12
+ */
+@Getter
+@RequiredArgsConstructor
+public class AggregateSnapshot<ID> implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 聚合标识
+     *
+     * <p>ID 与领域层的聚合根标识类型一致，不限定为 {@link Serializable}；只有文件快照存储需要序列化快照，
+     * 标识不可序列化时在写入时以 {@code BusinessException} 失败，因此这里按约定抑制 serial 警告。</p>
+     */
+    @SuppressWarnings("serial")
+    private final ID aggregateId;
+
+    /**
+     * 快照对应的事件序号
+     */
+    private final long sequence;
+
+    /**
+     * 聚合状态
+     */
+    private final Serializable state;
+}
@@ -0,0 +1,126 @@
+package io.github.anthem37.easy.ddd.infrastructure.repository.eventsourcing;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 事件溯源仓储统计
+ * 记录加载耗时、重放事件数与快照写入情况
+ *
+ * @author anthem37
+ * @since 2026/10/19 10:52:33
+ */
+public class EventSourcingStatistics {
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder snapshotHits = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+    private final LongAccumulator maxLoadNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder replayedEvents = new LongAdder();
+    private final LongAccumulator maxReplayLength = new LongAccumulator(Math::max, 0);
+    private final LongAdder snapshotsWritten = new LongAdder();
+    private final LongAdder snapshotFailures = new LongAdder();
+
+    /**
+     * 记录一次聚合加载
+     *
+     * @param elapsedNanos 加载耗时
+     * @param replayLength 重放的事件数
+     * @param fromSnapshot 是否从快照开始重放
+     */
+    public void recordLoad(long elapsedNanos, int replayLength, boolean fromSnapshot) {
+        loads.increment();
+        totalLoadNanos.add(elapsedNanos);
+        maxLoadNanos.accumulate(elapsedNanos);
+        replayedEvents.add(replayLength);
+        maxReplayLength.accumulate(replayLength);
+        if (fromSnapshot) {
+            snapshotHits.increment();
+        }
+    }
+
+    /**
+     * 记录一次快照写入
+     */
+    public void recordSnapshotWritten() {
+        snapshotsWritten.increment();
+    }
+
+    /**
+     * 记录一次快照写入失败
+     */
+    public void recordSnapshotFailure() {
+        snapshotFailures.increment();
+    }
+
+    /**
+     * 获取统计快照
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(loads.sum(), snapshotHits.sum(), totalLoadNanos.sum(), maxLoadNanos.get(), replayedEvents.sum(), maxReplayLength.get(), snapshotsWritten.sum(), snapshotFailures.sum());
+    }
+
+    /**
+     * 统计快照
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Snapshot {
+        /**
+         * 加载次数
+         */
+        private final long loads;
+
+        /**
+         * 命中快照的加载次数
+         */
+        private final long snapshotHits;
+
+        /**
+         * 累计加载耗时（纳秒）
+         */
+        private final long totalLoadNanos;
+
+        /**
+         * 最大加载耗时（纳秒）
+         */
+        private final long maxLoadNanos;
+
+        /**
+         * 累计重放事件数
+         */
+        private final long replayedEvents;
+
+        /**
+         * 单次加载最大重放事件数
+         */
+        private final long maxReplayLength;
+
+        /**
+         * 已写入快照数
+         */
+        private final long snapshotsWritten;
+
+        /**
+         * 快照写入失败数
+         */
+        private final long snapshotFailures;
+
+        /**
+         * 平均加载耗时（毫秒）
+         */
+        public double getAverageLoadMillis() {
+            return loads == 0 ? 0.0 : totalLoadNanos / 1_000_000.0 / loads;
+        }
+
+        /**
+         * 平均重放事件数
+         */
+        public double getAverageReplayLength() {
+            return loads == 0 ? 0.0 : (double) replayedEvents / loads;
+        }
+    }
+}
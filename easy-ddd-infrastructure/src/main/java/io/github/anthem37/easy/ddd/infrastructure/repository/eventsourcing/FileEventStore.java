@@ -0,0 +1,230 @@
+package io.github.anthem37.easy.ddd.infrastructure.repository.eventsourcing;
+
+import io.github.anthem37.easy.ddd.common.exception.BusinessException;
+import io.github.anthem37.easy.ddd.common.exception.ConcurrencyConflictException;
+import io.github.anthem37.easy.ddd.domain.event.IDomainEvent;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于本地文件的事件存储
+ * 每个聚合一个追加写文件，记录格式为 [长度(int)][Java序列化的事件]，
+ * 按序号跳读时无需反序列化前面的事件。仅保证单进程内的并发安全
+ * 追加失败时截断回写入前的长度；进程崩溃留下的末尾半条记录读取时视为流结束，下次追加前截掉
+ *
+ * @param <ID> 聚合根标识类型
+ * @author anthem37
+ * @since 2026/10/19 10:31:18
+ */
+public class FileEventStore<ID> implements IEventStore<ID> {
+
+    private static final String SUFFIX = ".events";
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path directory;
+    private final boolean syncOnAppend;
+    private final Map<String, Long> sequences = new ConcurrentHashMap<>();
+
+    /**
+     * 分段锁：聚合数量不受限，按聚合逐个建锁会无限增长
+     */
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * @param directory 存储目录
+     */
+    public FileEventStore(Path directory) {
+        this(directory, false);
+    }
+
+    /**
+     * @param directory    存储目录
+     * @param syncOnAppend 追加后是否强制刷盘
+     */
+    public FileEventStore(Path directory, boolean syncOnAppend) {
+        this.directory = directory;
+        this.syncOnAppend = syncOnAppend;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new BusinessException("创建事件存储目录失败: " + directory, e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<IDomainEvent<ID>> load(ID aggregateId, long afterSequence) {
+        String name = FileStoreSupport.fileName(aggregateId, SUFFIX);
+        synchronized (lockFor(name)) {
+            Path file = directory.resolve(name);
+            if (!Files.exists(file)) {
+                return Collections.emptyList();
+            }
+            List<IDomainEvent<ID>> events = new ArrayList<>();
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                long sequence = 0;
+                while (true) {
+                    int length;
+                    try {
+                        length = in.readInt();
+                    } catch (EOFException eof) {
+                        break;
+                    }
+                    sequence++;
+                    try {
+                        if (sequence <= afterSequence) {
+                            in.skipNBytes(length);
+                            continue;
+                        }
+                        byte[] data = new byte[length];
+                        in.readFully(data);
+                        events.add((IDomainEvent<ID>) FileStoreSupport.deserialize(data));
+                    } catch (EOFException eof) {
+                        // 末尾半条记录（写入中途崩溃），视为流结束
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                throw new BusinessException("读取事件流失败: " + aggregateId, e);
+            }
+            return events;
+        }
+    }
+
+    @Override
+    public long append(ID aggregateId, long expectedSequence, List<? extends IDomainEvent<ID>> events) {
+        String name = FileStoreSupport.fileName(aggregateId, SUFFIX);
+        synchronized (lockFor(name)) {
+            long current = sequenceOf(name);
+            if (current != expectedSequence) {
+                throw new ConcurrencyConflictException("事件流已被并发修改: " + aggregateId + ", 期望序号: " + expectedSequence + ", 实际序号: " + current, aggregateId, expectedSequence);
+            }
+            if (events.isEmpty()) {
+                return current;
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(buffer);
+            try {
+                for (IDomainEvent<ID> event : events) {
+                    byte[] data = FileStoreSupport.serialize(event);
+                    out.writeInt(data.length);
+                    out.write(data);
+                }
+            } catch (IOException e) {
+                throw new BusinessException("序列化事件失败: " + aggregateId, e);
+            }
+            try (FileChannel channel = FileChannel.open(directory.resolve(name), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                long size = channel.size();
+                channel.position(size);
+                try {
+                    ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                    if (syncOnAppend) {
+                        channel.force(false);
+                    }
+                } catch (IOException e) {
+                    // 截断回写入前的长度，避免留下半条记录
+                    truncateQuietly(channel, size, e);
+                    throw e;
+                }
+            } catch (IOException e) {
+                // 截断也可能失败，下次访问时重新扫描文件获取序号
+                sequences.remove(name);
+                throw new BusinessException("追加事件失败: " + aggregateId, e);
+            }
+            long next = current + events.size();
+            sequences.put(name, next);
+            return next;
+        }
+    }
+
+    @Override
+    public long currentSequence(ID aggregateId) {
+        String name = FileStoreSupport.fileName(aggregateId, SUFFIX);
+        synchronized (lockFor(name)) {
+            return sequenceOf(name);
+        }
+    }
+
+    @Override
+    public void delete(ID aggregateId) {
+        String name = FileStoreSupport.fileName(aggregateId, SUFFIX);
+        synchronized (lockFor(name)) {
+            try {
+                Files.deleteIfExists(directory.resolve(name));
+            } catch (IOException e) {
+                throw new BusinessException("删除事件流失败: " + aggregateId, e);
+            } finally {
+                sequences.remove(name);
+            }
+        }
+    }
+
+    private Object lockFor(String name) {
+        return locks[Math.floorMod(name.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static void truncateQuietly(FileChannel channel, long size, IOException cause) {
+        try {
+            channel.truncate(size);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * 获取序号，首次访问时扫描文件记录数（调用方需持有锁）
+     * 扫描到末尾半条记录时截掉，保证后续追加的记录边界正确
+     */
+    private long sequenceOf(String name) {
+        Long cached = sequences.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        Path file = directory.resolve(name);
+        long count = 0;
+        if (Files.exists(file)) {
+            long validEnd = 0;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                while (true) {
+                    try {
+                        int length = in.readInt();
+                        in.skipNBytes(length);
+                        validEnd += Integer.BYTES + length;
+                    } catch (EOFException eof) {
+                        break;
+                    }
+                    count++;
+                }
+            } catch (IOException e) {
+                throw new BusinessException("读取事件流失败: " + file, e);
+            }
+            try {
+                if (Files.size(file) > validEnd) {
+                    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                        channel.truncate(validEnd);
+                    }
+                }
+            } catch (IOException e) {
+                throw new BusinessException("截断事件流末尾半条记录失败: " + file, e);
+            }
+        }
+        sequences.put(name, count);
+        return count;
+    }
+}
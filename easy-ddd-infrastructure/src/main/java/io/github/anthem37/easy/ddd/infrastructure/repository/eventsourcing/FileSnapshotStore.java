@@ -0,0 +1,91 @@
+package io.github.anthem37.easy.ddd.infrastructure.repository.eventsourcing;
+
+import io.github.anthem37.easy.ddd.common.exception.BusinessException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于本地文件的快照存储
+ * 每个聚合一个快照文件，先写临时文件再原子替换，避免读到半写的快照
+ *
+ * @param <ID> 聚合根标识类型
+ * @author anthem37
+ * @since 2026/10/19 10:44:09
+ */
+public class FileSnapshotStore<ID> implements ISnapshotStore<ID> {
+
+    private static final String SUFFIX = ".snapshot";
+
+    private final Path directory;
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    public FileSnapshotStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new BusinessException("创建快照存储目录失败: " + directory, e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<AggregateSnapshot<ID>> load(ID aggregateId) {
+        String name = FileStoreSupport.fileName(aggregateId, SUFFIX);
+        synchronized (lockFor(name)) {
+            return read(directory.resolve(name)).map(snapshot -> (AggregateSnapshot<ID>) snapshot);
+        }
+    }
+
+    @Override
+    public void save(AggregateSnapshot<ID> snapshot) {
+        String name = FileStoreSupport.fileName(snapshot.getAggregateId(), SUFFIX);
+        synchronized (lockFor(name)) {
+            Path file = directory.resolve(name);
+            Optional<AggregateSnapshot<?>> existing = read(file);
+            if (existing.isPresent() && existing.get().getSequence() >= snapshot.getSequence()) {
+                return;
+            }
+            try {
+                Path temp = Files.createTempFile(directory, name, ".tmp");
+                Files.write(temp, FileStoreSupport.serialize(snapshot));
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new BusinessException("写入快照失败: " + snapshot.getAggregateId(), e);
+            }
+        }
+    }
+
+    @Override
+    public void delete(ID aggregateId) {
+        String name = FileStoreSupport.fileName(aggregateId, SUFFIX);
+        synchronized (lockFor(name)) {
+            try {
+                Files.deleteIfExists(directory.resolve(name));
+            } catch (IOException e) {
+                throw new BusinessException("删除快照失败: " + aggregateId, e);
+            }
+        }
+    }
+
+    private Optional<AggregateSnapshot<?>> read(Path file) {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((AggregateSnapshot<?>) FileStoreSupport.deserialize(Files.readAllBytes(file)));
+        } catch (IOException e) {
+            throw new BusinessException("读取快照失败: " + file, e);
+        }
+    }
+
+    private Object lockFor(String name) {
+        return locks.computeIfAbsent(name, k -> new Object());
+    }
+}
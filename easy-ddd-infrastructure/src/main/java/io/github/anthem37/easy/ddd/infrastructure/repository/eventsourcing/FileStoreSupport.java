@@ -0,0 +1,54 @@
+package io.github.anthem37.easy.ddd.infrastructure.repository.eventsourcing;
+
+import io.github.anthem37.easy.ddd.common.assertion.Assert;
+import io.github.anthem37.easy.ddd.common.exception.BusinessException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 本地文件存储的公共工具
+ *
+ * @author anthem37
+ * @since 2026/10/19 10:22:40
+ */
+final class FileStoreSupport {
+
+    private FileStoreSupport() {
+        // 工具类，禁止实例化
+    }
+
+    /**
+     * 将聚合标识编码为安全的文件名
+     */
+    static String fileName(Object aggregateId, String suffix) {
+        Assert.notNull(aggregateId, "聚合标识不能为空");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(aggregateId.toString().getBytes(StandardCharsets.UTF_8)) + suffix;
+    }
+
+    /**
+     * Java序列化
+     */
+    static byte[] serialize(Object value) {
+        Assert.isTrue(value instanceof Serializable, "对象未实现Serializable，无法写入文件存储: " + (value == null ? null : value.getClass().getName()));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new BusinessException("序列化失败: " + value.getClass().getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Java反序列化
+     */
+    static Object deserialize(byte[] data) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new BusinessException("反序列化失败: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.anthem37.easy.ddd.infrastructure.repository.eventsourcing;
+
+import io.github.anthem37.easy.ddd.domain.event.IDomainEvent;
+
+import java.util.List;
+
+/**
+ * 事件存储SPI
+ * 按聚合保存有序的领域事件流，事件序号从1开始连续递增
+ *
+ * @param <ID> 聚合根标识类型
+ * @author anthem37
+ * @since 2026/10/19 10:05:21
+ */
+public interface IEventStore<ID> {
+
+    /**
+     * 读取序号大于 afterSequence 的全部事件
+     *
+     * @param aggregateId   聚合标识
+     * @param afterSequence 起始序号（不包含），0表示从头读取
+     * @return 按序号排列的事件
+     */
+    List<IDomainEvent<ID>> load(ID aggregateId, long afterSequence);
+
+    /**
+     * 追加事件
+     *
+     * @param aggregateId      聚合标识
+     * @param expectedSequence 期望的当前序号，与实际不一致时抛出并发冲突异常
+     * @param events           待追加的事件
+     * @return 追加后的序号
+     * @throws io.github.anthem37.easy.ddd.common.exception.ConcurrencyConflictException 当序号不一致时
+     */
+    long append(ID aggregateId, long expectedSequence, List<? extends IDomainEvent<ID>> events);
+
+    /**
+     * 获取聚合当前序号
+     *
+     * @param aggregateId 聚合标识
+     * @return 当前序号，不存在时返回0
+     */
+    long currentSequence(ID aggregateId);
+
+    /**
+     * 删除聚合的事件流
+     *
+     * @param aggregateId 聚合标识
+     */
+    void delete(ID aggregateId);
+}
@@ -0,0 +1,36 @@
+package io.github.anthem37.easy.ddd.infrastructure.repository.eventsourcing;
+
+import java.util.Optional;
+
+/**
+ * 快照存储SPI
+ * 每个聚合只保留最新的一份快照
+ *
+ * @param <ID> 聚合根标识类型
+ * @author anthem37
+ * @since 2026/10/19 10:07:46
+ */
+public interface ISnapshotStore<ID> {
+
+    /**
+     * 读取聚合最新快照
+     *
+     * @param aggregateId 聚合标识
+     * @return 快照
+     */
+    Optional<AggregateSnapshot<ID>> load(ID aggregateId);
+
+    /**
+     * 保存快照，序号不大于已有快照时忽略
+     *
+     * @param snapshot 快照
+     */
+    void save(AggregateSnapshot<ID> snapshot);
+
+    /**
+     * 删除聚合快照
+     *
+     * @param aggregateId 聚合标识
+     */
+    void delete(ID aggregateId);
+}
@@ -0,0 +1,63 @@
+package io.github.anthem37.easy.ddd.infrastructure.repository.eventsourcing;
+
+import io.github.anthem37.easy.ddd.common.exception.ConcurrencyConflictException;
+import io.github.anthem37.easy.ddd.domain.event.IDomainEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于内存的事件存储
+ * 适用于测试与单机场景，进程退出后数据丢失
+ *
+ * @param <ID> 聚合根标识类型
+ * @author anthem37
+ * @since 2026/10/19 10:14:37
+ */
+public class InMemoryEventStore<ID> implements IEventStore<ID> {
+
+    private final Map<ID, List<IDomainEvent<ID>>> streams = new ConcurrentHashMap<>();
+
+    @Override
+    public List<IDomainEvent<ID>> load(ID aggregateId, long afterSequence) {
+        List<IDomainEvent<ID>> stream = streams.get(aggregateId);
+        if (stream == null) {
+            return Collections.emptyList();
+        }
+        synchronized (stream) {
+            int from = (int) Math.min(Math.max(afterSequence, 0), stream.size());
+            return new ArrayList<>(stream.subList(from, stream.size()));
+        }
+    }
+
+    @Override
+    public long append(ID aggregateId, long expectedSequence, List<? extends IDomainEvent<ID>> events) {
+        List<IDomainEvent<ID>> stream = streams.computeIfAbsent(aggregateId, k -> new ArrayList<>());
+        synchronized (stream) {
+            if (stream.size() != expectedSequence) {
+                throw new ConcurrencyConflictException("事件流已被并发修改: " + aggregateId + ", 期望序号: " + expectedSequence + ", 实际序号: " + stream.size(), aggregateId, expectedSequence);
+            }
+            stream.addAll(events);
+            return stream.size();
+        }
+    }
+
+    @Override
+    public long currentSequence(ID aggregateId) {
+        List<IDomainEvent<ID>> stream = streams.get(aggregateId);
+        if (stream == null) {
+            return 0;
+        }
+        synchronized (stream) {
+            return stream.size();
+        }
+    }
+
+    @Override
+    public void delete(ID aggregateId) {
+        streams.remove(aggregateId);
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.anthem37.easy.ddd.infrastructure.repository.eventsourcing;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于内存的快照存储
+ *
+ * @param <ID> 聚合根标识类型
+ * @author anthem37
+ * @since 2026/10/19 10:18:05
+ */
+public class InMemorySnapshotStore<ID> implements ISnapshotStore<ID> {
+
+    private final Map<ID, AggregateSnapshot<ID>> snapshots = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<AggregateSnapshot<ID>> load(ID aggregateId) {
+        return Optional.ofNullable(snapshots.get(aggregateId));
+    }
+
+    @Override
+    public void save(AggregateSnapshot<ID> snapshot) {
+        snapshots.merge(snapshot.getAggregateId(), snapshot, (old, fresh) -> fresh.getSequence() > old.getSequence() ? fresh : old);
+    }
+
+    @Override
+    public void delete(ID aggregateId) {
+        snapshots.remove(aggregateId);
+    }
+}
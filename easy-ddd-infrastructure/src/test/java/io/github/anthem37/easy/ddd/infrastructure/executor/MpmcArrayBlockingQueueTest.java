@@ -0,0 +1,217 @@
+package io.github.anthem37.easy.ddd.infrastructure.executor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 无锁多生产者多消费者队列测试
+ * 并发用例以多个生产者、消费者（及删除者）同时操作小容量队列，校验每个元素恰好被取走或删除一次
+ *
+ * @author anthem37
+ * @since 2026/10/19 23:41:08
+ */
+class MpmcArrayBlockingQueueTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int CONSUMERS = 4;
+    private static final int TASKS_PER_PRODUCER = 50_000;
+
+    @Test
+    void capacityIsExactWhenNotPowerOfTwo() {
+        MpmcArrayBlockingQueue queue = new MpmcArrayBlockingQueue(500);
+        for (int i = 0; i < 500; i++) {
+            assertTrue(queue.offer(new IdTask(i)));
+        }
+        assertFalse(queue.offer(new IdTask(500)));
+        assertEquals(500, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+
+        assertEquals(0, ((IdTask) queue.poll()).id());
+        assertTrue(queue.offer(new IdTask(500)));
+        assertFalse(queue.offer(new IdTask(501)));
+    }
+
+    @Test
+    void rejectsNullAndOversizedCapacity() {
+        MpmcArrayBlockingQueue queue = new MpmcArrayBlockingQueue(4);
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+        assertThrows(NullPointerException.class, () -> queue.put(null));
+        assertThrows(RuntimeException.class, () -> new MpmcArrayBlockingQueue(MpmcArrayBlockingQueue.MAX_CAPACITY + 1));
+    }
+
+    @Test
+    void removedElementIsSkippedByConsumers() {
+        MpmcArrayBlockingQueue queue = new MpmcArrayBlockingQueue(4);
+        IdTask first = new IdTask(1);
+        IdTask second = new IdTask(2);
+        IdTask third = new IdTask(3);
+        queue.offer(first);
+        queue.offer(second);
+        queue.offer(third);
+
+        assertTrue(queue.remove(second));
+        assertFalse(queue.remove(second));
+        assertEquals(List.of(first, third), iterate(queue));
+
+        assertSame(first, queue.poll());
+        assertSame(third, queue.peek());
+        assertSame(third, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @Timeout(30)
+    void threadPoolExecutorCanRemoveQueuedTasks() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new MpmcArrayBlockingQueue(8));
+        try {
+            executor.execute(() -> awaitQuietly(release));
+            IdTask queued = new IdTask(1);
+            executor.execute(queued);
+
+            assertTrue(executor.remove(queued));
+            assertEquals(0, executor.getQueue().size());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    void everyTaskIsTakenExactlyOnceUnderContention() throws Exception {
+        MpmcArrayBlockingQueue queue = new MpmcArrayBlockingQueue(100);
+        int total = PRODUCERS * TASKS_PER_PRODUCER;
+        AtomicIntegerArray delivered = new AtomicIntegerArray(total);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int base = p * TASKS_PER_PRODUCER;
+            threads.add(start(() -> {
+                for (int i = 0; i < TASKS_PER_PRODUCER; i++) {
+                    queue.put(new IdTask(base + i));
+                }
+            }));
+        }
+        for (int c = 0; c < CONSUMERS; c++) {
+            threads.add(start(() -> {
+                for (int i = 0; i < TASKS_PER_PRODUCER; i++) {
+                    delivered.incrementAndGet(((IdTask) queue.take()).id());
+                }
+            }));
+        }
+        joinAll(threads);
+
+        assertTrue(queue.isEmpty());
+        for (int id = 0; id < total; id++) {
+            assertEquals(1, delivered.get(id), "任务 " + id + " 的交付次数");
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    void concurrentRemoveAndTakeNeverLoseOrDuplicateTasks() throws Exception {
+        MpmcArrayBlockingQueue queue = new MpmcArrayBlockingQueue(64);
+        int total = PRODUCERS * TASKS_PER_PRODUCER;
+        IdTask[] tasks = new IdTask[total];
+        for (int id = 0; id < total; id++) {
+            tasks[id] = new IdTask(id);
+        }
+        AtomicIntegerArray outcomes = new AtomicIntegerArray(total);
+        CountDownLatch produced = new CountDownLatch(PRODUCERS);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int base = p * TASKS_PER_PRODUCER;
+            threads.add(start(() -> {
+                for (int i = 0; i < TASKS_PER_PRODUCER; i++) {
+                    queue.put(tasks[base + i]);
+                }
+                produced.countDown();
+            }));
+        }
+        // 删除者按编号顺序尝试删除偶数任务，删除成功计一次结果
+        threads.add(start(() -> {
+            for (int id = 0; id < total; id += 2) {
+                if (queue.remove(tasks[id])) {
+                    outcomes.incrementAndGet(id);
+                }
+            }
+        }));
+        for (int c = 0; c < CONSUMERS; c++) {
+            threads.add(start(() -> {
+                while (produced.getCount() > 0 || !queue.isEmpty()) {
+                    Runnable task = queue.poll(10, TimeUnit.MILLISECONDS);
+                    if (task != null) {
+                        outcomes.incrementAndGet(((IdTask) task).id());
+                    }
+                }
+            }));
+        }
+        joinAll(threads);
+
+        assertNull(queue.poll());
+        for (int id = 0; id < total; id++) {
+            assertEquals(1, outcomes.get(id), "任务 " + id + " 的取走与删除次数");
+        }
+    }
+
+    private static List<Runnable> iterate(MpmcArrayBlockingQueue queue) {
+        List<Runnable> result = new ArrayList<>();
+        queue.iterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    private static Thread start(Action action) {
+        Thread thread = new Thread(() -> {
+            try {
+                action.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void joinAll(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run() throws InterruptedException;
+    }
+
+    private record IdTask(int id) implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+}